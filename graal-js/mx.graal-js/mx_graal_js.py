@@ -48,7 +48,7 @@ def _graal_js_gate_runner(args, tasks):
 
     with Task('UnitTests', tasks, tags=[GraalJsDefaultTags.default, GraalJsDefaultTags.all]) as t:
         if t:
-            unittest(['--enable-timing', '--very-verbose', 'com.oracle.truffle.js.scriptengine.test'])
+            unittest(['--enable-timing', '--very-verbose', 'com.oracle.truffle.js.scriptengine.test', 'com.oracle.truffle.js.stats.test'])
 
     gateTestConfigs = {
         GraalJsDefaultTags.default: ['gate'],
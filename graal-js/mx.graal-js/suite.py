@@ -358,6 +358,7 @@ suite = {
         "NETBEANS_PROFILER",
         "com.oracle.truffle.js",
       ],
+      "annotationProcessors" : ["truffle:TRUFFLE_DSL_PROCESSOR"],
       "jacoco" : "include",
       "checkstyle" : "com.oracle.truffle.js",
       "javaCompliance" : "8+",
@@ -435,6 +436,20 @@ suite = {
       "testProject" : True,
     },
 
+    "com.oracle.truffle.js.stats.test" : {
+      "subDir" : "src",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.js.stats",
+        "sdk:GRAAL_SDK",
+        "mx:JUNIT",
+      ],
+      "checkstyle" : "com.oracle.truffle.js",
+      "javaCompliance" : "8+",
+      "workingSets" : "Truffle,JavaScript",
+      "testProject" : True,
+    },
+
     "com.oracle.truffle.js.test.external" : {
       "subDir" : "src",
       "sourceDirs" : ["src"],
@@ -585,6 +600,17 @@ suite = {
       "maven" : False,
     },
 
+    "TRUFFLE_STATS_TESTS" : {
+      "subDir" : "src",
+      "dependencies" : ["com.oracle.truffle.js.stats.test"],
+      "distDependencies" : [
+        "mx:JUNIT",
+        "sdk:GRAAL_SDK",
+        "TRUFFLE_STATS",
+      ],
+      "maven" : False,
+    },
+
     "TRUFFLE_JS_TESTS" : {
       "dependencies" : ["com.oracle.truffle.js.test", "com.oracle.truffle.js.test.external", "com.oracle.truffle.js.test.instrumentation", "com.oracle.truffle.js.test.threading"],
       "exclude" : [
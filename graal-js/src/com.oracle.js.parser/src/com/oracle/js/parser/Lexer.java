@@ -121,6 +121,9 @@ public class Lexer extends Scanner {
     /** Map to intern strings during parsing (memory footprint). */
     private final Map<String, String> internedStrings;
 
+    /** Table to intern identifiers by source range without creating substrings. */
+    private final IdentifierTable identifierTable;
+
     private static final String MESSAGE_INVALID_HEX = "invalid.hex";
 
     //@formatter:off
@@ -148,6 +151,49 @@ public class Lexer extends Scanner {
 
     private static final int JAVASCRIPT_WHITESPACE_HIGH_START = JAVASCRIPT_WHITESPACE_HIGH.charAt(0);
 
+    /** Size of the ASCII character class table. */
+    private static final int ASCII_LIMIT = 128;
+
+    /** ASCII character class: JavaScript whitespace, including line terminators. */
+    private static final byte CC_WHITESPACE = 1 << 0;
+    /** ASCII character class: JavaScript line terminator. */
+    private static final byte CC_EOL = 1 << 1;
+    /** ASCII character class: may start an identifier. */
+    private static final byte CC_ID_START = 1 << 2;
+    /** ASCII character class: may be part of an identifier. */
+    private static final byte CC_ID_PART = 1 << 3;
+    /** ASCII character class: may end a multi-line comment run ('*' or line terminator). */
+    private static final byte CC_COMMENT_STOP = 1 << 4;
+
+    /** Character classes of ASCII characters. */
+    private static final byte[] ASCII_CHAR_CLASS = new byte[ASCII_LIMIT];
+
+    static {
+        for (char ch = 0; ch < ASCII_LIMIT; ch++) {
+            byte cc = 0;
+            if ((ch >= 0x0009 && ch <= 0x000d) || ch == ' ') {
+                cc |= CC_WHITESPACE;
+            }
+            if (ch == '\n' || ch == '\r') {
+                cc |= CC_EOL | CC_COMMENT_STOP;
+            }
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '$' || ch == '_') {
+                cc |= CC_ID_START | CC_ID_PART;
+            }
+            if (ch >= '0' && ch <= '9') {
+                cc |= CC_ID_PART;
+            }
+            if (ch == '*') {
+                cc |= CC_COMMENT_STOP;
+            }
+            ASCII_CHAR_CLASS[ch] = cc;
+        }
+    }
+
+    private static boolean isASCIIClass(final char ch, final byte charClass) {
+        return (ASCII_CHAR_CLASS[ch] & charClass) != 0;
+    }
+
     public static String unicodeEscape(final char ch) {
         final StringBuilder sb = new StringBuilder();
 
@@ -208,6 +254,7 @@ public class Lexer extends Scanner {
 
         this.pauseOnFunctionBody = pauseOnFunctionBody;
         this.internedStrings = new HashMap<>();
+        this.identifierTable = new IdentifierTable();
     }
 
     private Lexer(final Lexer lexer, final State state) {
@@ -227,6 +274,7 @@ public class Lexer extends Scanner {
         last = EOL;
         pauseOnFunctionBody = false;
         internedStrings = lexer.internedStrings;
+        identifierTable = lexer.identifierTable;
     }
 
     static class State extends Scanner.State {
@@ -374,10 +422,10 @@ public class Lexer extends Scanner {
      * @return true if valid JavaScript whitespace
      */
     public static boolean isJSWhitespace(final char ch) {
-        if (ch <= 0x000d) {
-            return (ch >= 0x0009); // \t\n\u000b\u000c\r
+        if (ch < ASCII_LIMIT) {
+            return isASCIIClass(ch, CC_WHITESPACE);
         } else if (ch < JAVASCRIPT_WHITESPACE_HIGH_START) {
-            return (ch == ' ' || ch == 0x00a0);
+            return ch == 0x00a0;
         } else {
             return isWhitespaceHigh(ch);
         }
@@ -402,6 +450,9 @@ public class Lexer extends Scanner {
      * @return true if valid JavaScript end of line
      */
     public static boolean isJSEOL(final char ch) {
+        if (ch < ASCII_LIMIT) {
+            return isASCIIClass(ch, CC_EOL);
+        }
         return ch == '\n' || ch == '\r' || ch == '\u2028' || ch == '\u2029';
     }
 
@@ -469,10 +520,32 @@ public class Lexer extends Scanner {
     }
 
     private void skipUntilEOL() {
-        // Scan for EOL.
-        while (!atEOF() && !isEOL(ch0)) {
-            skip(1);
+        // Scan for EOL directly in the content array.
+        int pos = position;
+        while (pos < limit) {
+            final char ch = content[pos];
+            if (ch < ASCII_LIMIT ? isASCIIClass(ch, CC_EOL) : isEOL(ch)) {
+                break;
+            }
+            pos++;
+        }
+        reset(pos);
+    }
+
+    /**
+     * Skip over the current character and all following characters that can neither end a
+     * multi-line comment nor a line.
+     */
+    private void skipMultiLineCommentRun() {
+        int pos = position + 1;
+        while (pos < limit) {
+            final char ch = content[pos];
+            if (ch < ASCII_LIMIT ? isASCIIClass(ch, CC_COMMENT_STOP) : isEOL(ch)) {
+                break;
+            }
+            pos++;
         }
+        reset(pos);
     }
 
     private void skipSingleLineComment() {
@@ -503,11 +576,11 @@ public class Lexer extends Scanner {
         skip(2);
         // Scan for */.
         while (!atEOF() && !(ch0 == '*' && ch1 == '/')) {
-            // If end of line handle else skip character.
+            // If end of line handle else skip characters.
             if (isEOL(ch0)) {
                 skipEOL(true);
             } else {
-                skip(1);
+                skipMultiLineCommentRun();
             }
         }
 
@@ -950,6 +1023,12 @@ public class Lexer extends Scanner {
     private String valueOfIdent(final int start, final int length, final boolean convertUnicode) {
         // End of scan.
         final int end = start + length;
+
+        if (!convertUnicode || !containsBackslash(start, end)) {
+            // No escapes: intern directly from the source range.
+            return identifierTable.intern(content, start, length);
+        }
+
         // Buffer for recording characters.
         final StringBuilder sb = new StringBuilder(length);
 
@@ -987,6 +1066,15 @@ public class Lexer extends Scanner {
         return stringIntern(sb.toString());
     }
 
+    private boolean containsBackslash(final int start, final int end) {
+        for (int pos = start; pos < end; pos++) {
+            if (content[pos] == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Scan over and identifier or keyword. Handles identifiers containing encoded Unicode chars.
      *
@@ -1549,6 +1637,9 @@ public class Lexer extends Scanner {
      * @return true if the character may start an ECMAScript identifier; false otherwise
      */
     private static boolean isJSIdentifierStart(int codePoint) {
+        if (codePoint >= 0 && codePoint < ASCII_LIMIT) {
+            return isASCIIClass((char) codePoint, CC_ID_START);
+        }
         return (Character.isUnicodeIdentifierStart(codePoint) && codePoint != '\u2e2f') ||
                         codePoint == '$' ||
                         codePoint == '_' ||
@@ -1578,6 +1669,9 @@ public class Lexer extends Scanner {
      * @return true if the character may be part of an ECMAScript identifier; false otherwise
      */
     private static boolean isJSIdentifierPart(int codePoint) {
+        if (codePoint >= 0 && codePoint < ASCII_LIMIT) {
+            return isASCIIClass((char) codePoint, CC_ID_PART);
+        }
         return (Character.isUnicodeIdentifierPart(codePoint) && !Character.isIdentifierIgnorable(codePoint) && codePoint != '\u2e2f') ||
                         codePoint == '$' ||
                         codePoint == '\u200c' ||  // <ZWNJ>
@@ -1635,7 +1729,10 @@ public class Lexer extends Scanner {
 
         // Make sure remaining characters are valid part characters.
         while (!atEOF()) {
-            if (ch0 == '\\' && ch1 == 'u') {
+            if (ch0 < ASCII_LIMIT && isASCIIClass(ch0, CC_ID_PART)) {
+                // Fast path: skip a run of ASCII identifier characters.
+                skipASCIIIdentifierPartRun();
+            } else if (ch0 == '\\' && ch1 == 'u') {
                 skip(2);
                 final int codePoint = unicodeEscapeSequence(TokenType.IDENT);
 
@@ -1655,6 +1752,21 @@ public class Lexer extends Scanner {
         return position - start;
     }
 
+    /**
+     * Skip over the current character and all following ASCII identifier part characters.
+     */
+    private void skipASCIIIdentifierPartRun() {
+        int pos = position + 1;
+        while (pos < limit) {
+            final char ch = content[pos];
+            if (ch >= ASCII_LIMIT || !isASCIIClass(ch, CC_ID_PART)) {
+                break;
+            }
+            pos++;
+        }
+        reset(pos);
+    }
+
     /**
      * Compare two identifiers (in content) for equality.
      *
@@ -2106,7 +2218,7 @@ public class Lexer extends Scanner {
                 }
                 return value;
             case STRING:
-                return stringIntern(source.getString(start, len)); // String
+                return identifierTable.intern(content, start, len); // String
             case ESCSTRING:
                 return valueOfString(start, len, strict); // String
             case IDENT:
@@ -2193,6 +2305,80 @@ public class Lexer extends Scanner {
         return interned == null ? candidate : interned;
     }
 
+    /**
+     * Open addressing hash table that interns strings keyed by a range of the source content, so
+     * that repeated occurrences of a name share one String and do not allocate substrings. Entries
+     * are also registered in {@link #internedStrings} so that both tables return the same
+     * instance for equal strings.
+     */
+    private final class IdentifierTable {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private String[] entries = new String[INITIAL_CAPACITY];
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int size;
+
+        String intern(final char[] chars, final int start, final int length) {
+            // Same hash function as String.hashCode().
+            int hash = 0;
+            for (int i = start; i < start + length; i++) {
+                hash = 31 * hash + chars[i];
+            }
+
+            final int mask = entries.length - 1;
+            int index = mix(hash) & mask;
+            String entry;
+            while ((entry = entries[index]) != null) {
+                if (hashes[index] == hash && regionEquals(entry, chars, start, length)) {
+                    return entry;
+                }
+                index = (index + 1) & mask;
+            }
+
+            final String interned = stringIntern(new String(chars, start, length));
+            entries[index] = interned;
+            hashes[index] = hash;
+            if (++size * 2 > entries.length) {
+                rehash();
+            }
+            return interned;
+        }
+
+        private boolean regionEquals(final String entry, final char[] chars, final int start, final int length) {
+            if (entry.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (entry.charAt(i) != chars[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            final String[] oldEntries = entries;
+            final int[] oldHashes = hashes;
+            entries = new String[oldEntries.length * 2];
+            hashes = new int[oldEntries.length * 2];
+            final int mask = entries.length - 1;
+            for (int i = 0; i < oldEntries.length; i++) {
+                if (oldEntries[i] != null) {
+                    int index = mix(oldHashes[i]) & mask;
+                    while (entries[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    entries[index] = oldEntries[i];
+                    hashes[index] = oldHashes[i];
+                }
+            }
+        }
+
+        private int mix(final int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
     /**
      * Get the correctly localized error message for a given message id format arguments
      *
@@ -44,6 +44,8 @@ package com.oracle.js.parser;
 import static com.oracle.js.parser.TokenKind.SPECIAL;
 import static com.oracle.js.parser.TokenType.IDENT;
 
+import java.util.Arrays;
+
 /**
  * Fast lookup of operators and keywords.
  */
@@ -68,6 +70,32 @@ public final class TokenLookup {
      */
     private static final int tableLength = tableLimit - tableBase + 1;
 
+    /**
+     * Perfect hash table of keywords, indexed by {@link #keywordHash}.
+     */
+    private static final TokenType[] keywordTable;
+
+    /**
+     * Keyword names, parallel to {@link #keywordTable}.
+     */
+    private static final char[][] keywordNames;
+
+    /**
+     * Keyword hash table size (power of two).
+     */
+    private static final int keywordTableLength = 256;
+
+    /**
+     * Multiplier of the keyword hash function, chosen so that no two keywords collide.
+     */
+    private static final int keywordHashMultiplier;
+
+    /**
+     * Length of the shortest and the longest keyword.
+     */
+    private static final int keywordMinLength;
+    private static final int keywordMaxLength;
+
     static {
         // Construct the table.
         table = new TokenType[tableLength];
@@ -112,6 +140,68 @@ public final class TokenLookup {
                 }
             }
         }
+
+        // Construct the keyword perfect hash table.
+        keywordTable = new TokenType[keywordTableLength];
+        keywordNames = new char[keywordTableLength][];
+        keywordHashMultiplier = findKeywordHashMultiplier();
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = 0;
+        for (final TokenType tokenType : TokenType.getValues()) {
+            if (isKeywordEntry(tokenType)) {
+                final char[] name = tokenType.getName().toCharArray();
+                minLength = Math.min(minLength, name.length);
+                maxLength = Math.max(maxLength, name.length);
+                final int index = keywordHash(keywordHashMultiplier, name, 0, name.length);
+                assert keywordTable[index] == null;
+                keywordTable[index] = tokenType;
+                keywordNames[index] = name;
+            }
+        }
+        assert minLength >= 2 : "keyword hash function needs at least two characters";
+        keywordMinLength = minLength;
+        keywordMaxLength = maxLength;
+    }
+
+    /**
+     * Is this token type a keyword that can be found by {@link #lookupKeyword}.
+     */
+    private static boolean isKeywordEntry(final TokenType tokenType) {
+        final String name = tokenType.getName();
+        return name != null && tokenType.getKind() != SPECIAL && 'a' <= name.charAt(0) && name.charAt(0) <= 'z';
+    }
+
+    /**
+     * Search for a hash multiplier that maps all keywords to distinct table slots.
+     */
+    private static int findKeywordHashMultiplier() {
+        final boolean[] used = new boolean[keywordTableLength];
+        search: for (int attempt = 0; attempt < keywordTableLength * keywordTableLength; attempt++) {
+            // Odd multipliers near the golden ratio spread the high bits well.
+            final int multiplier = 0x9E3779B9 + 2 * attempt;
+            Arrays.fill(used, false);
+            for (final TokenType tokenType : TokenType.getValues()) {
+                if (isKeywordEntry(tokenType)) {
+                    final char[] name = tokenType.getName().toCharArray();
+                    final int index = keywordHash(multiplier, name, 0, name.length);
+                    if (used[index]) {
+                        continue search;
+                    }
+                    used[index] = true;
+                }
+            }
+            return multiplier;
+        }
+        throw new AssertionError("No perfect keyword hash found");
+    }
+
+    /**
+     * Keyword hash function, combining the first two characters, the last character and the
+     * length.
+     */
+    private static int keywordHash(final int multiplier, final char[] content, final int position, final int length) {
+        final int h = (content[position] << 16) ^ (content[position + 1] << 8) ^ content[position + length - 1] ^ (length << 24);
+        return ((h * multiplier) >>> 24) & (keywordTableLength - 1);
     }
 
     private TokenLookup() {
@@ -127,42 +217,27 @@ public final class TokenLookup {
      * @return token type for keyword
      */
     public static TokenType lookupKeyword(final char[] content, final int position, final int length) {
+        // The hash function needs at least two characters.
+        if (length < keywordMinLength || length > keywordMaxLength) {
+            return IDENT;
+        }
         // First character of keyword.
         final char first = content[position];
 
         // Must be lower case character.
         if ('a' <= first && first <= 'z') {
-            // Convert to table index.
-            final int index = first - tableBase;
-            // Get first bucket entry.
-            TokenType tokenType = table[index];
-
-            // Search bucket list.
-            while (tokenType != null) {
-                final int tokenLength = tokenType.getLength();
-
-                // if we have a length match maybe a keyword.
-                if (tokenLength == length) {
-                    // Do an exact compare of string.
-                    final String name = tokenType.getName();
-                    int i;
-                    for (i = 0; i < length; i++) {
-                        if (content[position + i] != name.charAt(i)) {
-                            break;
-                        }
-                    }
+            final int index = keywordHash(keywordHashMultiplier, content, position, length);
+            final char[] name = keywordNames[index];
 
-                    if (i == length) {
-                        // Found a match.
-                        return tokenType;
+            // Do an exact compare of the only candidate.
+            if (name != null && name.length == length) {
+                for (int i = 0; i < length; i++) {
+                    if (content[position + i] != name[i]) {
+                        return IDENT;
                     }
-                } else if (tokenLength < length) {
-                    // Rest of tokens are shorter.
-                    break;
                 }
-
-                // Try next token.
-                tokenType = tokenType.getNext();
+                // Found a match.
+                return keywordTable[index];
             }
         }
 
@@ -59,6 +59,7 @@ import java.util.function.Predicate;
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
 public class TestBindings {
@@ -416,4 +417,19 @@ public class TestBindings {
         // should not throw
         engine.eval("JavaImporter");
     }
+
+    @Test
+    public void resetGlobalState() {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            Context context = engine.getPolyglotContext();
+            Value jsBindings = context.getBindings("js");
+            jsBindings.getMember("snapshotScriptEngineGlobalState").execute();
+            context.eval("js", "var a = 1; let b = 2; function f() {} parseInt = null; delete Math;");
+            jsBindings.getMember("resetScriptEngineGlobalState").execute();
+            assertTrue(context.eval("js", "typeof a === 'undefined' && typeof b === 'undefined' && typeof f === 'undefined'").asBoolean());
+            assertTrue(context.eval("js", "typeof parseInt === 'function' && typeof Math === 'object'").asBoolean());
+            // lexical declarations can be repeated after a reset
+            assertEquals(3, context.eval("js", "let b = 3; b;").asInt());
+        }
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestContextPool {
+
+    private static GraalJSScriptEngine createEngine(int size, String resetStrategy) {
+        GraalJSEngineFactory factory = new GraalJSEngineFactory();
+        factory.setContextPool(size, resetStrategy);
+        return factory.getScriptEngine();
+    }
+
+    private static Context getContext(GraalJSScriptEngine engine, Bindings bindings) {
+        ScriptContext scriptContext = new SimpleScriptContext();
+        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        return engine.getPolyglotContext(scriptContext);
+    }
+
+    private static void close(Bindings bindings) throws Exception {
+        ((AutoCloseable) bindings).close();
+    }
+
+    private static boolean isClosed(Context context) {
+        try {
+            context.eval("js", "1");
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    @Test
+    public void reuse() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "globals")) {
+            Bindings first = engine.createBindings();
+            Context context = getContext(engine, first);
+            close(first);
+            assertFalse(isClosed(context));
+            Bindings second = engine.createBindings();
+            assertSame(context, getContext(engine, second));
+            close(second);
+        }
+    }
+
+    @Test
+    public void discard() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "discard")) {
+            Bindings first = engine.createBindings();
+            Context context = getContext(engine, first);
+            close(first);
+            assertTrue(isClosed(context));
+            Bindings second = engine.createBindings();
+            Context replacement = getContext(engine, second);
+            assertNotSame(context, replacement);
+            assertFalse(isClosed(replacement));
+            close(second);
+        }
+    }
+
+    @Test
+    public void closedBindings() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "globals")) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("x", 1);
+            close(bindings);
+            try {
+                bindings.get("x");
+                fail("expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                // the context may already be used by other bindings
+            }
+        }
+    }
+
+    @Test
+    public void fullPool() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "globals")) {
+            Bindings first = engine.createBindings();
+            Bindings second = engine.createBindings();
+            Context firstContext = getContext(engine, first);
+            Context secondContext = getContext(engine, second);
+            close(first);
+            close(second);
+            assertFalse(isClosed(firstContext));
+            assertTrue(isClosed(secondContext));
+            Bindings third = engine.createBindings();
+            assertSame(firstContext, getContext(engine, third));
+            close(third);
+        }
+    }
+
+    @Test
+    public void concurrentRelease() throws Exception {
+        int capacity = 2;
+        int threadCount = 8;
+        try (GraalJSScriptEngine engine = createEngine(capacity, "globals")) {
+            List<Bindings> bindings = new ArrayList<>();
+            List<Context> contexts = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                Bindings b = engine.createBindings();
+                bindings.add(b);
+                contexts.add(getContext(engine, b));
+            }
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+            for (Bindings b : bindings) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        close(b);
+                    } catch (Throwable t) {
+                        synchronized (errors) {
+                            errors.add(t);
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(errors.toString(), errors.isEmpty());
+            int open = 0;
+            for (Context context : contexts) {
+                if (!isClosed(context)) {
+                    open++;
+                }
+            }
+            assertEquals(capacity, open);
+        }
+    }
+
+    @Test
+    public void noLeaksBetweenUses() throws Exception {
+        for (String resetStrategy : new String[]{"globals", "discard"}) {
+            try (GraalJSScriptEngine engine = createEngine(1, resetStrategy)) {
+                Bindings first = engine.createBindings();
+                engine.eval("var leakedVar = 1; let leakedLet = 2; function leakedFunction() {}\n" +
+                                "Object.prototype.leakedProto = 3; Array.prototype.map = null; Math.leakedMath = 4; delete JSON.parse; parseInt = null;", first);
+                close(first);
+                Bindings second = engine.createBindings();
+                assertNoLeaks(engine, second);
+                close(second);
+            }
+        }
+    }
+
+    @Test
+    public void discardByDefault() throws Exception {
+        GraalJSEngineFactory factory = new GraalJSEngineFactory();
+        factory.setContextPool(1);
+        try (GraalJSScriptEngine engine = factory.getScriptEngine()) {
+            Bindings first = engine.createBindings();
+            Context context = getContext(engine, first);
+            close(first);
+            assertTrue(isClosed(context));
+        }
+    }
+
+    @Test
+    public void resetIntrinsics() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "globals")) {
+            Bindings first = engine.createBindings();
+            Context context = getContext(engine, first);
+            engine.eval("Object.getPrototypeOf(Int8Array.prototype).leakedTypedArray = 1; Object.getPrototypeOf([][Symbol.iterator]()).next = null;\n" +
+                            "Object.setPrototypeOf(Math, null);", first);
+            close(first);
+            Bindings second = engine.createBindings();
+            assertSame(context, getContext(engine, second));
+            assertEquals(true, engine.eval("!('leakedTypedArray' in new Int8Array(1)) && [1][Symbol.iterator]().next().value === 1", second));
+            assertEquals(true, engine.eval("Object.getPrototypeOf(Math) === Object.prototype", second));
+            close(second);
+        }
+    }
+
+    @Test
+    public void discardFrozenBuiltins() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine(1, "globals")) {
+            Bindings first = engine.createBindings();
+            Context context = getContext(engine, first);
+            engine.eval("Object.freeze(Array.prototype);", first);
+            close(first);
+            assertTrue(isClosed(context));
+            Bindings second = engine.createBindings();
+            assertNotSame(context, getContext(engine, second));
+            assertEquals(true, engine.eval("Object.isExtensible(Array.prototype)", second));
+            close(second);
+        }
+    }
+
+    private static void assertNoLeaks(GraalJSScriptEngine engine, Bindings bindings) throws ScriptException {
+        assertEquals(true, engine.eval("typeof leakedVar === 'undefined' && typeof leakedLet === 'undefined' && typeof leakedFunction === 'undefined'", bindings));
+        assertEquals(true, engine.eval("!('leakedProto' in {}) && typeof [].map === 'function' && !('leakedMath' in Math)", bindings));
+        assertEquals(true, engine.eval("typeof JSON.parse === 'function' && typeof parseInt === 'function'", bindings));
+        // lexical declarations of the previous use can be repeated
+        assertEquals(2, ((Number) engine.eval("let leakedLet = 2; leakedLet;", bindings)).intValue());
+    }
+}
@@ -42,11 +42,13 @@ package com.oracle.truffle.js.scriptengine.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -85,6 +87,43 @@ public class TestEngine {
         assertEquals(true, ((Compilable) getEngine()).compile("true").eval());
     }
 
+    @Test
+    public void compileSyntaxError() {
+        try {
+            ((Compilable) getEngine()).compile("var x = ;");
+            fail("expected ScriptException");
+        } catch (ScriptException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("SyntaxError"));
+        }
+    }
+
+    @Test
+    public void compileAndEvalInBindings() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("var y = x * 2; y;");
+        for (int i = 0; i < 3; i++) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("x", i);
+            assertEquals(i * 2, ((Number) script.eval(bindings)).intValue());
+            assertEquals(i * 2, ((Number) bindings.get("y")).intValue());
+        }
+    }
+
+    @Test
+    public void compileOnceEvalMany() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        engine.eval("var sites = []; function tag(strings) { sites.push(strings); return sites.length; }");
+        String code = "tag`x`";
+        CompiledScript script = ((Compilable) engine).compile(code);
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, ((Number) script.eval()).intValue());
+        }
+        assertEquals(11, ((Number) engine.eval(code)).intValue());
+        // a template object is created once per parsed call site, so all evaluations of the
+        // compiled script and the plain eval of the same code must have run the same parse
+        assertEquals(true, engine.eval("sites.every(function(s) { return s === sites[0]; })"));
+    }
+
     @Test
     public void declareVar() throws ScriptException {
         // @formatter:off
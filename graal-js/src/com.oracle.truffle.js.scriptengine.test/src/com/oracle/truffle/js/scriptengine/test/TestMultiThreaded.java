@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestMultiThreaded {
+
+    private static GraalJSScriptEngine createEngine() {
+        GraalJSEngineFactory factory = new GraalJSEngineFactory();
+        factory.setMultiThreaded(true);
+        return factory.getScriptEngine();
+    }
+
+    private static <T> T runInThread(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(task).get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void threadingParameter() {
+        assertEquals(null, new GraalJSEngineFactory().getParameter("THREADING"));
+        try (GraalJSScriptEngine engine = createEngine()) {
+            assertEquals("MULTITHREADED", engine.getFactory().getParameter("THREADING"));
+        }
+    }
+
+    @Test
+    public void concurrentEval() throws Exception {
+        int threadCount = 4;
+        int iterations = 100;
+        try (GraalJSScriptEngine engine = createEngine()) {
+            engine.put("shared", 1000);
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++) {
+                    int id = i;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        engine.eval("var id = " + id + "; var sum = 0;");
+                        for (int j = 0; j < iterations; j++) {
+                            engine.eval("sum += shared + id;");
+                        }
+                        // globals of the other threads must not have been visible
+                        assertEquals(id, ((Number) engine.eval("id")).intValue());
+                        return ((Number) engine.eval("sum")).intValue();
+                    }));
+                }
+                start.countDown();
+                for (int i = 0; i < threadCount; i++) {
+                    assertEquals(iterations * (1000 + i), results.get(i).get().intValue());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void globalsAreThreadLocal() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            engine.eval("var mainOnly = 1;");
+            assertEquals("undefined", runInThread(() -> engine.eval("typeof mainOnly")));
+            runInThread(() -> engine.eval("var otherOnly = 2;"));
+            assertEquals("undefined", engine.eval("typeof otherOnly"));
+        }
+    }
+
+    @Test
+    public void hostBindingsAreShared() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            engine.eval("1");
+            engine.put("x", 42);
+            assertEquals(42, ((Number) runInThread(() -> engine.eval("x"))).intValue());
+            engine.getBindings(ScriptContext.ENGINE_SCOPE).remove("x");
+            assertEquals("undefined", runInThread(() -> engine.eval("typeof x")));
+        }
+    }
+
+    @Test
+    public void clearIsShared() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            engine.put("x", 42);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertEquals(42, ((Number) executor.submit(() -> engine.eval("x")).get()).intValue());
+                engine.getBindings(ScriptContext.ENGINE_SCOPE).clear();
+                // the thread has seen the value before, it must see the removal as well
+                assertEquals("undefined", executor.submit(() -> engine.eval("typeof x")).get());
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals("undefined", runInThread(() -> engine.eval("typeof x")));
+            engine.put("x", 43);
+            assertEquals(43, ((Number) runInThread(() -> engine.eval("x"))).intValue());
+        }
+    }
+
+    @Test
+    public void foreignObject() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            Object object = runInThread(() -> engine.eval("({f: function() { return 1; }})"));
+            try {
+                engine.invokeMethod(object, "f");
+                fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("thread that created them"));
+            }
+        }
+    }
+
+    @Test
+    public void terminatedThreadContextIsClosed() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            Context[] terminatedContext = new Context[1];
+            Thread thread = new Thread(() -> {
+                terminatedContext[0] = engine.getPolyglotContext();
+            });
+            thread.start();
+            thread.join();
+            assertFalse(isClosed(terminatedContext[0]));
+            // the next thread that starts using the engine cleans up
+            runInThread(() -> engine.eval("1"));
+            assertTrue(isClosed(terminatedContext[0]));
+        }
+    }
+
+    @Test
+    public void terminatedThreadContextIsClosedOnPut() throws Exception {
+        try (GraalJSScriptEngine engine = createEngine()) {
+            engine.eval("1");
+            Context[] terminatedContext = new Context[1];
+            Thread thread = new Thread(() -> {
+                terminatedContext[0] = engine.getPolyglotContext();
+            });
+            thread.start();
+            thread.join();
+            assertFalse(isClosed(terminatedContext[0]));
+            // a host update from a thread that already uses the engine cleans up, too
+            engine.put("x", 1);
+            assertTrue(isClosed(terminatedContext[0]));
+        }
+    }
+
+    private static boolean isClosed(Context context) {
+        try {
+            context.eval("js", "1");
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    @Test
+    public void close() throws Exception {
+        GraalJSScriptEngine engine = createEngine();
+        engine.eval("1");
+        Context threadContext = runInThread(() -> {
+            engine.eval("1");
+            return engine.getPolyglotContext();
+        });
+        Context mainContext = engine.getPolyglotContext();
+        engine.close();
+        assertTrue(isClosed(mainContext));
+        assertTrue(isClosed(threadContext));
+        try {
+            engine.eval("1");
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException | ScriptException e) {
+            // expected
+        }
+    }
+}
@@ -62,9 +62,16 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Value deleteProperty;
     private Value clear;
     private Context.Builder contextBuilder;
+    private GraalJSContextPool contextPool;
+    private boolean released;
 
     GraalJSBindings(Context.Builder contextBuilder) {
+        this(contextBuilder, null);
+    }
+
+    GraalJSBindings(Context.Builder contextBuilder, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context) {
@@ -73,13 +80,20 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void requireContext() {
+        if (released) {
+            throw new IllegalStateException("Bindings already closed.");
+        }
         if (context == null) {
             initContext();
         }
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null) {
+            context = contextPool.acquire();
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -109,7 +123,12 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
-                    contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    // pooled contexts are created without binding-specific options
+                    contextPool = null;
+                    synchronized (contextBuilder) {
+                        // the builder may be shared with other bindings that are building a context
+                        contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    }
                     return true;
                 }
             } else {
@@ -152,10 +171,23 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return global.entrySet();
     }
 
+    /**
+     * Closes the context of these bindings, or returns it to the context pool it was taken from.
+     */
     @Override
     public void close() {
         if (context != null) {
-            context.close();
+            if (contextPool != null) {
+                // the context may be handed out again, so these bindings must not use it anymore
+                contextPool.release(context);
+                context = null;
+                global = null;
+                deleteProperty = null;
+                clear = null;
+                released = true;
+            } else {
+                context.close();
+            }
         }
     }
 
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+
+/**
+ * A pool of pre-initialized polyglot contexts that back the {@link javax.script.Bindings} created
+ * by {@link GraalJSScriptEngine#createBindings()}. Contexts are returned to the pool when their
+ * bindings are closed and are reset according to the pool's {@link ResetStrategy} before they are
+ * handed out again.
+ */
+final class GraalJSContextPool {
+
+    private static final String SNAPSHOT_FUNCTION_NAME = "snapshotScriptEngineGlobalState";
+    private static final String RESET_FUNCTION_NAME = "resetScriptEngineGlobalState";
+
+    enum ResetStrategy {
+        /**
+         * Reuse the context after restoring its global object, the builtins and intrinsics and its
+         * global lexical scope to the state after initialization. A context in which a builtin has
+         * been made non-extensible (e.g. frozen) is discarded instead. Changes to other objects,
+         * e.g. objects created by scripts and stored in the builtins' internal state, and the
+         * {@code Symbol.for} registry survive.
+         */
+        GLOBALS,
+        /**
+         * Never reuse a context; close it and replace it with a freshly initialized one. This is
+         * the default.
+         */
+        DISCARD;
+
+        static ResetStrategy fromString(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("unknown context pool reset strategy \"%s\", expected \"globals\" or \"discard\"", value));
+            }
+        }
+    }
+
+    private final Context.Builder contextBuilder;
+    private final int capacity;
+    private final ResetStrategy resetStrategy;
+    private final ConcurrentLinkedQueue<Context> idle = new ConcurrentLinkedQueue<>();
+    /** Number of idle contexts, including slots reserved for contexts about to be offered. */
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    GraalJSContextPool(Context.Builder contextBuilder, int capacity, ResetStrategy resetStrategy) {
+        assert capacity > 0;
+        this.contextBuilder = contextBuilder;
+        this.capacity = capacity;
+        this.resetStrategy = resetStrategy;
+    }
+
+    /**
+     * Returns an initialized context from the pool, or a new one if the pool is empty.
+     */
+    Context acquire() {
+        Context context = idle.poll();
+        if (context != null) {
+            idleCount.decrementAndGet();
+            return context;
+        }
+        return createContext();
+    }
+
+    /**
+     * Returns a context that is no longer used by its bindings to the pool. The context is reset
+     * or replaced, or closed if the pool is full.
+     */
+    void release(Context context) {
+        if (closed) {
+            context.close();
+            return;
+        }
+        if (!reserveSlot()) {
+            context.close();
+            return;
+        }
+        Context replacement = null;
+        try {
+            if (resetStrategy == ResetStrategy.GLOBALS && resetContext(context)) {
+                replacement = context;
+            } else {
+                context.close();
+                replacement = createContext();
+            }
+        } finally {
+            if (replacement == null) {
+                idleCount.decrementAndGet();
+            }
+        }
+        offer(replacement);
+    }
+
+    void close() {
+        closed = true;
+        for (Context context = idle.poll(); context != null; context = idle.poll()) {
+            idleCount.decrementAndGet();
+            context.close();
+        }
+    }
+
+    int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Atomically reserves a place for an idle context, so that concurrent releases cannot grow the
+     * pool beyond its capacity.
+     */
+    private boolean reserveSlot() {
+        int count;
+        do {
+            count = idleCount.get();
+            if (count >= capacity) {
+                return false;
+            }
+        } while (!idleCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Makes a context available to {@link #acquire()}; its slot must have been reserved.
+     */
+    private void offer(Context context) {
+        idle.offer(context);
+        if (closed) {
+            close();
+        }
+    }
+
+    private Context createContext() {
+        Context context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (resetStrategy == ResetStrategy.GLOBALS) {
+            context.getBindings(GraalJSScriptEngine.ID).getMember(SNAPSHOT_FUNCTION_NAME).execute();
+        } else {
+            context.initialize(GraalJSScriptEngine.ID);
+        }
+        return context;
+    }
+
+    /**
+     * Returns {@code false} if the context cannot be reset and should be discarded.
+     */
+    private static boolean resetContext(Context context) {
+        try {
+            return context.getBindings(GraalJSScriptEngine.ID).getMember(RESET_FUNCTION_NAME).execute().asBoolean();
+        } catch (PolyglotException | IllegalStateException e) {
+            // context was closed or cancelled by its user
+            return false;
+        }
+    }
+}
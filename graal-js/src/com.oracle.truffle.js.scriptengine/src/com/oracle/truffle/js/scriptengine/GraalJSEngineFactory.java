@@ -60,6 +60,8 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
     private static final String LANGUAGE_VERSION = "ECMA - 262 Edition 9";
 
     private static final String NASHORN_ENGINE_NAME = "Oracle Nashorn";
+    private static final String THREADING = "THREADING";
+    private static final String MULTITHREADED = "MULTITHREADED";
     private static final List<String> names = new ArrayList<>(Arrays.asList("Graal.js", "graal.js", "Graal-js", "graal-js", "Graal.JS", "Graal-JS", "GraalJS", "GraalJSPolyglot", "js", "JS",
                     "JavaScript", "javascript", "ECMAScript", "ecmascript"));
     private static final List<String> mimeTypes = new ArrayList<>(Arrays.asList("application/javascript", "application/ecmascript", "text/javascript", "text/ecmascript"));
@@ -90,6 +92,9 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
     }
 
     private final Engine engine;
+    private int contextPoolSize;
+    private String contextPoolReset = "discard";
+    private boolean multiThreaded;
 
     public GraalJSEngineFactory() {
         this.engine = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -99,6 +104,13 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
         this.engine = engine;
     }
 
+    GraalJSEngineFactory(Engine engine, GraalJSEngineFactory settings) {
+        this.engine = engine;
+        this.contextPoolSize = settings.contextPoolSize;
+        this.contextPoolReset = settings.contextPoolReset;
+        this.multiThreaded = settings.multiThreaded;
+    }
+
     /**
      * Returns the underlying polyglot engine.
      */
@@ -106,6 +118,61 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
         return engine;
     }
 
+    /**
+     * Enables a pool of polyglot contexts for the bindings created by
+     * {@link GraalJSScriptEngine#createBindings()} of script engines created afterwards by this
+     * factory, replacing every returned context with a new one.
+     *
+     * @param size the maximum number of idle contexts kept, or 0 to disable the pool
+     * @see #setContextPool(int, String)
+     */
+    public void setContextPool(int size) {
+        setContextPool(size, "discard");
+    }
+
+    /**
+     * Enables a pool of polyglot contexts for the bindings created by
+     * {@link GraalJSScriptEngine#createBindings()} of script engines created afterwards by this
+     * factory. Contexts are returned to the pool when their bindings are
+     * {@link AutoCloseable#close() closed}. The reset strategy selects how a returned context is
+     * reset: {@code discard} (the default) replaces the context with a new one, {@code globals}
+     * restores the global object, the builtins and the intrinsics and reuses the context unless a
+     * builtin has been made non-extensible. With {@code globals}, state held by other objects and
+     * the {@code Symbol.for} registry is shared by the successive users of a context.
+     *
+     * @param size the maximum number of idle contexts kept, or 0 to disable the pool
+     * @param resetStrategy {@code "globals"} or {@code "discard"}
+     */
+    public void setContextPool(int size, String resetStrategy) {
+        if (size < 0) {
+            throw new IllegalArgumentException("context pool size must not be negative: " + size);
+        }
+        GraalJSContextPool.ResetStrategy.fromString(resetStrategy);
+        this.contextPoolSize = size;
+        this.contextPoolReset = resetStrategy;
+    }
+
+    /**
+     * Makes the bindings of script engines created afterwards by this factory usable from several
+     * threads concurrently: each thread gets its own polyglot context, values put by the host are
+     * visible in all of them, and globals defined by scripts are local to the thread.
+     */
+    public void setMultiThreaded(boolean multiThreaded) {
+        this.multiThreaded = multiThreaded;
+    }
+
+    int getContextPoolSize() {
+        return contextPoolSize;
+    }
+
+    String getContextPoolReset() {
+        return contextPoolReset;
+    }
+
+    boolean isMultiThreaded() {
+        return multiThreaded;
+    }
+
     @Override
     public String getEngineName() {
         return ENGINE_NAME;
@@ -154,6 +221,8 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
                 return getLanguageName();
             case ScriptEngine.LANGUAGE_VERSION:
                 return getLanguageVersion();
+            case THREADING:
+                return multiThreaded ? MULTITHREADED : null;
             default:
                 return null;
         }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.script.Bindings;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * Engine bindings for the multi-threaded mode of {@link GraalJSScriptEngine}. Every thread that
+ * uses the bindings gets its own {@link GraalJSBindings} and thus its own polyglot context, all
+ * created from the same engine so that parsed code is shared. Values put into the bindings by the
+ * host are propagated to the contexts of all threads; globals defined by scripts remain local to
+ * the thread that ran the script. The context of a thread that has terminated is closed when
+ * another thread starts using the bindings or when the host updates them.
+ */
+final class GraalJSMultiThreadedBindings extends AbstractMap<String, Object> implements Bindings, AutoCloseable {
+
+    private static final Object REMOVED = new Object();
+
+    private final Context.Builder contextBuilder;
+    /** Host puts and removals, replayed into the bindings of threads that have not seen them. */
+    private final Map<String, Object> hostBindings = new LinkedHashMap<>();
+    private int hostBindingsVersion;
+    private final ThreadLocal<ThreadBindings> threadBindings = new ThreadLocal<>();
+    /** The bindings of all threads, guarded by itself. */
+    private final Map<Thread, GraalJSBindings> allBindings = new HashMap<>();
+    private volatile boolean closed;
+
+    private static final class ThreadBindings {
+        final GraalJSBindings bindings;
+        int version;
+
+        ThreadBindings(GraalJSBindings bindings) {
+            this.bindings = bindings;
+        }
+    }
+
+    GraalJSMultiThreadedBindings(Context.Builder contextBuilder) {
+        this.contextBuilder = contextBuilder;
+    }
+
+    private ThreadBindings getThreadBindingsState() {
+        if (closed) {
+            throw new IllegalStateException("Bindings already closed.");
+        }
+        ThreadBindings state = threadBindings.get();
+        if (state == null) {
+            state = new ThreadBindings(new GraalJSBindings(contextBuilder));
+            synchronized (allBindings) {
+                if (closed) {
+                    throw new IllegalStateException("Bindings already closed.");
+                }
+                closeTerminatedThreadBindings();
+                allBindings.put(Thread.currentThread(), state.bindings);
+            }
+            threadBindings.set(state);
+        }
+        return state;
+    }
+
+    /**
+     * Closes the contexts of threads that have terminated, e.g. threads that were removed from a
+     * thread pool, so that they do not accumulate in long-running applications.
+     */
+    private void closeTerminatedThreadBindings() {
+        assert Thread.holdsLock(allBindings);
+        for (Iterator<Map.Entry<Thread, GraalJSBindings>> iterator = allBindings.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<Thread, GraalJSBindings> entry = iterator.next();
+            if (!entry.getKey().isAlive()) {
+                iterator.remove();
+                entry.getValue().close();
+            }
+        }
+    }
+
+    /**
+     * Returns the bindings of the current thread, updated with all values put by the host.
+     */
+    GraalJSBindings getThreadBindings() {
+        ThreadBindings state = getThreadBindingsState();
+        List<Map.Entry<String, Object>> pending = null;
+        synchronized (hostBindings) {
+            if (state.version != hostBindingsVersion) {
+                pending = new ArrayList<>(hostBindings.entrySet().size());
+                for (Map.Entry<String, Object> entry : hostBindings.entrySet()) {
+                    pending.add(new SimpleImmutableEntry<>(entry));
+                }
+                state.version = hostBindingsVersion;
+            }
+        }
+        if (pending != null) {
+            for (Map.Entry<String, Object> entry : pending) {
+                if (entry.getValue() == REMOVED) {
+                    state.bindings.remove(entry.getKey());
+                } else {
+                    state.bindings.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return state.bindings;
+    }
+
+    @Override
+    public Object put(String name, Object v) {
+        if (name.startsWith(GraalJSScriptEngine.MAGIC_OPTION_PREFIX)) {
+            // options apply to the shared context builder, they are not replayed
+            return getThreadBindingsState().bindings.put(name, v);
+        }
+        GraalJSBindings bindings = getThreadBindings();
+        recordHostBinding(name, v);
+        return bindings.put(name, v);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        GraalJSBindings bindings = getThreadBindings();
+        if (key instanceof String) {
+            recordHostBinding((String) key, REMOVED);
+        }
+        return bindings.remove(key);
+    }
+
+    private void recordHostBinding(String name, Object value) {
+        ThreadBindings state = threadBindings.get();
+        synchronized (hostBindings) {
+            boolean upToDate = state.version == hostBindingsVersion;
+            // re-insert to keep the replay order consistent with the order of updates
+            hostBindings.remove(name);
+            hostBindings.put(name, value);
+            hostBindingsVersion++;
+            if (upToDate) {
+                // the current thread applies the update itself
+                state.version = hostBindingsVersion;
+            }
+        }
+        sweepTerminatedThreadBindings();
+    }
+
+    /**
+     * Clears the bindings of the current thread and removes all values put by the host from the
+     * bindings of the other threads. Globals defined by scripts in other threads are kept.
+     */
+    @Override
+    public void clear() {
+        GraalJSBindings bindings = getThreadBindings();
+        ThreadBindings state = threadBindings.get();
+        synchronized (hostBindings) {
+            boolean upToDate = state.version == hostBindingsVersion;
+            for (Map.Entry<String, Object> entry : hostBindings.entrySet()) {
+                entry.setValue(REMOVED);
+            }
+            hostBindingsVersion++;
+            if (upToDate) {
+                state.version = hostBindingsVersion;
+            }
+        }
+        sweepTerminatedThreadBindings();
+        bindings.clear();
+    }
+
+    private void sweepTerminatedThreadBindings() {
+        synchronized (allBindings) {
+            closeTerminatedThreadBindings();
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        return getThreadBindings().get(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return getThreadBindings().entrySet();
+    }
+
+    /**
+     * Closes the contexts of all threads.
+     */
+    @Override
+    public void close() {
+        synchronized (allBindings) {
+            closed = true;
+            for (GraalJSBindings bindings : allBindings.values()) {
+                bindings.close();
+            }
+            allBindings.clear();
+        }
+    }
+}
@@ -73,7 +73,7 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
@@ -83,6 +83,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_LOAD_OPTION = "js.load";
     private static final String JS_PRINT_OPTION = "js.print";
     private static final String SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME = "importScriptEngineGlobalBindings";
+    private static final String SCRIPT_ENGINE_PARSE_FUNCTION_NAME = "parseScriptEngineSource";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
 
@@ -224,15 +225,21 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final GraalJSContextPool contextPool;
+    private final boolean multiThreaded;
 
     private volatile boolean closed;
     private boolean evalCalled;
 
     GraalJSScriptEngine(GraalJSEngineFactory factory) {
-        this(factory.getPolyglotEngine(), null);
+        this(factory.getPolyglotEngine(), null, factory);
     }
 
     GraalJSScriptEngine(Engine engine, Context.Builder contextConfig) {
+        this(engine, contextConfig, null);
+    }
+
+    private GraalJSScriptEngine(Engine engine, Context.Builder contextConfig, GraalJSEngineFactory settings) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -245,17 +252,27 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 contextConfigToUse.allowAllAccess(true);
             }
         }
-        this.factory = new GraalJSEngineFactory(engineToUse);
+        this.factory = settings != null ? new GraalJSEngineFactory(engineToUse, settings) : new GraalJSEngineFactory(engineToUse);
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig), ScriptContext.ENGINE_SCOPE);
+        int contextPoolSize = this.factory.getContextPoolSize();
+        this.contextPool = contextPoolSize > 0 ? new GraalJSContextPool(this.contextConfig, contextPoolSize, GraalJSContextPool.ResetStrategy.fromString(this.factory.getContextPoolReset())) : null;
+        this.multiThreaded = this.factory.isMultiThreaded();
+        this.context.setBindings(multiThreaded ? new GraalJSMultiThreadedBindings(this.contextConfig) : new GraalJSBindings(this.contextConfig), ScriptContext.ENGINE_SCOPE);
     }
 
+    /**
+     * Creates a context from a builder that may be shared by several bindings and threads. The
+     * builder is locked while it is configured with the streams of the new context and built.
+     */
     static Context createDefaultContext(Context.Builder builder) {
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
@@ -268,7 +285,15 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
      */
     @Override
     public void close() {
-        getPolyglotContext().close();
+        Bindings engineBindings = context.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (engineBindings instanceof GraalJSMultiThreadedBindings) {
+            ((GraalJSMultiThreadedBindings) engineBindings).close();
+        } else {
+            getPolyglotContext().close();
+        }
+        if (contextPool != null) {
+            contextPool.close();
+        }
         closed = true;
     }
 
@@ -302,9 +327,22 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return context.eval(Source.newBuilder(ID, script, "internal-script").internal(true).buildLiteral());
     }
 
+    /**
+     * Creates new bindings backed by their own polyglot context. If a context pool is configured
+     * using {@link GraalJSEngineFactory#setContextPool(int, String)}, the context is taken from
+     * the pool and returned to it when the bindings are {@link AutoCloseable#close() closed}.
+     * <p>
+     * If the engine was created by a factory {@link GraalJSEngineFactory#setMultiThreaded(boolean)
+     * in multi-threaded mode}, the bindings can be used from several threads concurrently: each
+     * thread gets its own polyglot context, values put by the host are visible in all of them, and
+     * globals defined by scripts are local to the thread.
+     */
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig);
+        if (multiThreaded) {
+            return new GraalJSMultiThreadedBindings(contextConfig);
+        }
+        return new GraalJSBindings(contextConfig, contextPool);
     }
 
     @Override
@@ -364,6 +402,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         Bindings engineB = scriptContext.getBindings(ScriptContext.ENGINE_SCOPE);
         if (engineB instanceof GraalJSBindings) {
             return ((GraalJSBindings) engineB);
+        } else if (engineB instanceof GraalJSMultiThreadedBindings) {
+            return ((GraalJSMultiThreadedBindings) engineB).getThreadBindings();
         } else {
             GraalJSBindings bindings = new GraalJSBindings(createContext(engineB));
             bindings.putAll(engineB);
@@ -400,9 +440,13 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(context);
         importGlobalBindings(context, engineBindings);
-        Value value = engineBindings.getContext().asValue(thiz);
+        Value value = asValue(engineBindings.getContext(), thiz);
         Value function = value.getMember(name);
-        return invokeInternal(name, function, args);
+        try {
+            return invokeInternal(name, function, args);
+        } catch (IllegalArgumentException e) {
+            throw foreignValueError(e);
+        }
     }
 
     @Override
@@ -410,7 +454,30 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(context);
         importGlobalBindings(context, engineBindings);
         Value value = engineBindings.getContext().getBindings(ID).getMember(name);
-        return invokeInternal(name, value, args);
+        try {
+            return invokeInternal(name, value, args);
+        } catch (IllegalArgumentException e) {
+            throw foreignValueError(e);
+        }
+    }
+
+    private Value asValue(Context polyglotContext, Object object) {
+        try {
+            return polyglotContext.asValue(object);
+        } catch (IllegalArgumentException e) {
+            throw foreignValueError(e);
+        }
+    }
+
+    /**
+     * In multi-threaded mode, every thread has its own polyglot context, and the polyglot API
+     * rejects values that are passed from one context to another. Explains such a failure.
+     */
+    private IllegalArgumentException foreignValueError(IllegalArgumentException e) {
+        if (multiThreaded) {
+            return new IllegalArgumentException("script objects of a multi-threaded script engine can only be used by the thread that created them: " + e.getMessage(), e);
+        }
+        return e;
     }
 
     @Deprecated
@@ -438,7 +505,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public <T> T getInterface(Object thiz, Class<T> clasz) {
-        return getPolyglotContext().asValue(thiz).as(clasz);
+        return asValue(getPolyglotContext(), thiz).as(clasz);
     }
 
     @Override
@@ -446,18 +513,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         if (closed) {
             throw new IllegalStateException("Context already closed.");
         }
-        Source source = createSource(script, getContext());
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
-
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
-            }
-        };
+        return compile(createSource(script, getContext()));
     }
 
     @Override
@@ -465,7 +521,11 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         if (closed) {
             throw new IllegalStateException("Context already closed.");
         }
-        Source source = createSource(reader, getContext());
+        return compile(createSource(reader, getContext()));
+    }
+
+    private CompiledScript compile(Source source) throws ScriptException {
+        parseSource(source);
         return new CompiledScript() {
             @Override
             public ScriptEngine getEngine() {
@@ -479,6 +539,25 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         };
     }
 
+    /**
+     * Parses the source in the polyglot context of the default ScriptContext without running it.
+     * Syntax errors are reported at compile time, and the parsed code is kept in the code cache of
+     * the polyglot engine, so evaluating the compiled script in any context created from the same
+     * configuration does not parse it again. The language builds its source from all attributes of
+     * {@code source} that take part in the cache lookup, so that it matches the source that
+     * {@link CompiledScript#eval(ScriptContext)} evaluates. The default context is the one
+     * {@link CompiledScript#eval()} runs in, so parsing in it only initializes it earlier.
+     */
+    private void parseSource(Source source) throws ScriptException {
+        Context polyglotContext = getPolyglotContext();
+        try {
+            polyglotContext.getBindings(ID).getMember(SCRIPT_ENGINE_PARSE_FUNCTION_NAME).execute(source.getCharacters().toString(), source.getName(), source.getMimeType(), source.isInteractive(),
+                            source.isInternal());
+        } catch (PolyglotException e) {
+            throw new ScriptException(e);
+        }
+    }
+
     private static class DelegatingInputStream extends InputStream implements Proxy {
 
         private Reader reader;
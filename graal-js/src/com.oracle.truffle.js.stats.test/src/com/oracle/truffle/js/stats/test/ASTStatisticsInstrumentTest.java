@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.stats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.stats.ast.ASTStatisticsInstrument;
+import com.oracle.truffle.js.stats.ast.ASTStatisticsInstrument.FunctionStatistics;
+
+public class ASTStatisticsInstrumentTest {
+
+    private static final String CODE = "function empty() {}\n" +
+                    "function inc1(x) { return x + 1; }\n" +
+                    "function inc2(x) { return x + 1; }\n" +
+                    "function loop(n) { var s = 0; for (var i = 0; i < n; i++) { s += inc1(i); } return s; }\n" +
+                    "empty(); inc1(1); inc2(1); loop(10);";
+
+    private static FunctionStatistics find(List<FunctionStatistics> functions, String name) {
+        for (FunctionStatistics function : functions) {
+            if (name.equals(function.getName())) {
+                return function;
+            }
+        }
+        fail("no statistics for " + name);
+        return null;
+    }
+
+    private static List<FunctionStatistics> collect(String code, boolean trackCompilation) {
+        try (Context context = Context.newBuilder("js").option(ASTStatisticsInstrument.ID + ".Compilation", String.valueOf(trackCompilation)).build()) {
+            ASTStatisticsInstrument instrument = context.getEngine().getInstruments().get(ASTStatisticsInstrument.ID).lookup(ASTStatisticsInstrument.class);
+            context.eval(Source.create("js", code));
+            return instrument.collect();
+        }
+    }
+
+    @Test
+    public void testNodeCounts() {
+        List<FunctionStatistics> functions = collect(CODE, false);
+        FunctionStatistics empty = find(functions, "empty");
+        FunctionStatistics inc1 = find(functions, "inc1");
+        FunctionStatistics inc2 = find(functions, "inc2");
+        FunctionStatistics loop = find(functions, "loop");
+
+        for (FunctionStatistics function : new FunctionStatistics[]{empty, inc1, loop}) {
+            // the root node and at least its body
+            assertTrue(function.getName(), function.getNodeCount() >= 2);
+            // every node, including the root node, is counted in the cost histogram
+            int costs = 0;
+            for (int count : function.getNodeCosts().values()) {
+                costs += count;
+            }
+            assertEquals(function.getNodeCount(), costs);
+            assertTrue(function.getEstimatedBytes() >= 16L * function.getNodeCount());
+            // not tracked by default
+            assertNull(function.hasRunCompiledCode());
+        }
+        // functions with the same code have the same footprint, no matter how often they ran
+        assertEquals(inc1.getNodeCount(), inc2.getNodeCount());
+        assertEquals(inc1.getEstimatedBytes(), inc2.getEstimatedBytes());
+        assertEquals(inc1.getNodeCosts(), inc2.getNodeCosts());
+        assertTrue(empty.getNodeCount() < inc1.getNodeCount());
+        assertTrue(inc1.getNodeCount() < loop.getNodeCount());
+        assertEquals(2, inc1.getLine());
+        assertEquals(4, loop.getLine());
+    }
+
+    @Test
+    public void testCompilationTracking() {
+        List<FunctionStatistics> functions = collect(CODE, true);
+        for (String name : new String[]{"empty", "inc1", "inc2", "loop"}) {
+            // the functions run just a few times, not long enough to be compiled
+            assertEquals(name, Boolean.FALSE, find(functions, name).hasRunCompiledCode());
+        }
+    }
+}
@@ -51,10 +51,12 @@ import org.graalvm.polyglot.Context;
 import com.oracle.truffle.js.builtins.helper.HeapDump;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.shell.RepeatingLauncher;
+import com.oracle.truffle.js.stats.ast.ASTStatisticsInstrument;
 import com.oracle.truffle.js.stats.heap.HeapDumpAnalyzer;
 
 public class ShellWithStats extends RepeatingLauncher {
     private boolean heapDump = JSTruffleOptions.DumpHeapOnExit;
+    private boolean astStats;
 
     public static void main(String[] args) {
         new ShellWithStats().launch(args);
@@ -66,6 +68,10 @@ public class ShellWithStats extends RepeatingLauncher {
             heapDump = true;
             return Consumed;
         }
+        if (argument.equals("ast-stats")) {
+            astStats = true;
+            return Consumed;
+        }
         return super.preprocessArgument(argument);
     }
 
@@ -73,10 +79,14 @@ public class ShellWithStats extends RepeatingLauncher {
     protected void printHelp(OptionCategory maxCategory) {
         super.printHelp(maxCategory);
         printOption("--heap-dump", "take a heap dump at the end of the execution");
+        printOption("--ast-stats", "print AST node statistics of all loaded functions as JSON at the end of the execution");
     }
 
     @Override
     protected int executeScripts(Context.Builder contextBuilder) {
+        if (astStats) {
+            contextBuilder.allowExperimentalOptions(true).option(ASTStatisticsInstrument.ID, "true");
+        }
         int result = super.executeScripts(contextBuilder);
         if (!JSTruffleOptions.SubstrateVM && heapDump) {
             try {
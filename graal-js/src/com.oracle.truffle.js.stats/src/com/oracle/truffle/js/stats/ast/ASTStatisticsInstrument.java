@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.stats.ast;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionDescriptors;
+import org.graalvm.options.OptionKey;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Option;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventContext;
+import com.oracle.truffle.api.instrumentation.ExecutionEventNode;
+import com.oracle.truffle.api.instrumentation.ExecutionEventNodeFactory;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode.WrapperNode;
+import com.oracle.truffle.api.instrumentation.LoadSourceSectionEvent;
+import com.oracle.truffle.api.instrumentation.LoadSourceSectionListener;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument.Registration;
+import com.oracle.truffle.api.nodes.LanguageInfo;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeCost;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.JSNodeUtil;
+import com.oracle.truffle.js.runtime.JSRuntime;
+
+/**
+ * Instrument that reports the AST footprint of all loaded JavaScript functions: node counts,
+ * estimated node memory, specialization state and (optionally) whether the function has executed
+ * compiled code. The report is written as JSON when the engine is closed, or on demand via
+ * {@link #writeReport}.
+ *
+ * Usage: {@code --js-ast-stats [--js-ast-stats.Output=<file>] [--js-ast-stats.Compilation]}.
+ */
+@Registration(id = ASTStatisticsInstrument.ID, name = "JavaScript AST Statistics", services = {ASTStatisticsInstrument.class})
+public final class ASTStatisticsInstrument extends TruffleInstrument {
+
+    public static final String ID = "js-ast-stats";
+
+    @Option(name = "", category = OptionCategory.EXPERT, help = "Report AST node statistics of all loaded functions as JSON.") //
+    static final OptionKey<Boolean> ENABLED = new OptionKey<>(false);
+
+    @Option(name = "Output", category = OptionCategory.EXPERT, help = "File to write the report to (default: standard output).") //
+    static final OptionKey<String> OUTPUT = new OptionKey<>("");
+
+    @Option(name = "Compilation", category = OptionCategory.EXPERT, help = "Track whether functions have executed compiled code (adds a probe to every function).") //
+    static final OptionKey<Boolean> COMPILATION = new OptionKey<>(false);
+
+    /** Assumed object header size in bytes (64-bit VM with compressed class pointers). */
+    private static final int OBJECT_HEADER_SIZE = 12;
+    /** Assumed reference size in bytes (compressed oops). */
+    private static final int REFERENCE_SIZE = 4;
+    private static final int OBJECT_ALIGNMENT = 8;
+
+    private final Set<RootNode> loadedRoots = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Map<Class<?>, Integer> shallowSizeCache = new HashMap<>();
+    /**
+     * Compilation state per function, keyed by the source and the character range of the root
+     * node, so that split copies of a function share the state of the original. The source is held
+     * weakly, i.e., the states are dropped together with the code of the source. {@code null} when
+     * the compilation state is not tracked.
+     */
+    private Map<Source, Map<Long, CompilationState>> compilationStates;
+
+    @Override
+    protected void onCreate(Env env) {
+        env.registerService(this);
+        SourceSectionFilter filter = SourceSectionFilter.newBuilder().tagIs(RootTag.class).build();
+        env.getInstrumenter().attachLoadSourceSectionListener(filter, new LoadSourceSectionListener() {
+            @Override
+            public void onLoad(LoadSourceSectionEvent event) {
+                RootNode rootNode = event.getNode().getRootNode();
+                if (isJavaScript(rootNode)) {
+                    synchronized (loadedRoots) {
+                        loadedRoots.add(rootNode);
+                    }
+                }
+            }
+        }, true);
+        if (env.getOptions().get(COMPILATION)) {
+            compilationStates = new WeakHashMap<>();
+            env.getInstrumenter().attachExecutionEventFactory(filter, new ExecutionEventNodeFactory() {
+                @Override
+                public ExecutionEventNode create(EventContext context) {
+                    RootNode rootNode = context.getInstrumentedNode().getRootNode();
+                    CompilationState state = isJavaScript(rootNode) ? getCompilationState(rootNode) : null;
+                    return state == null ? null : new CompilationProbeNode(state);
+                }
+            });
+        }
+    }
+
+    private static boolean isJavaScript(RootNode rootNode) {
+        LanguageInfo language = rootNode == null ? null : rootNode.getLanguageInfo();
+        return language != null && JavaScriptLanguage.ID.equals(language.getId());
+    }
+
+    private CompilationState getCompilationState(RootNode rootNode) {
+        SourceSection sourceSection = rootNode.getSourceSection();
+        if (compilationStates == null || sourceSection == null) {
+            return null;
+        }
+        long range = ((long) sourceSection.getCharIndex() << 32) | sourceSection.getCharLength();
+        synchronized (compilationStates) {
+            return compilationStates.computeIfAbsent(sourceSection.getSource(), k -> new HashMap<>()).computeIfAbsent(range, k -> new CompilationState());
+        }
+    }
+
+    /** Whether any copy of a function has executed compiled code. */
+    private static final class CompilationState {
+        boolean ranCompiledCode;
+    }
+
+    /**
+     * Detects compiled code with the public {@link CompilerDirectives#inCompiledCode()}, which
+     * folds to a constant, so that the probe costs a single store in compiled code.
+     */
+    private static final class CompilationProbeNode extends ExecutionEventNode {
+        private final CompilationState state;
+
+        CompilationProbeNode(CompilationState state) {
+            this.state = state;
+        }
+
+        @Override
+        protected void onEnter(VirtualFrame frame) {
+            if (CompilerDirectives.inCompiledCode()) {
+                state.ranCompiledCode = true;
+            }
+        }
+    }
+
+    @Override
+    protected OptionDescriptors getOptionDescriptors() {
+        return new ASTStatisticsInstrumentOptionDescriptors();
+    }
+
+    @Override
+    protected void onDispose(Env env) {
+        if (!env.getOptions().get(ENABLED)) {
+            return;
+        }
+        String output = env.getOptions().get(OUTPUT);
+        try {
+            if (output.isEmpty()) {
+                writeReport(env.out());
+            } else {
+                try (OutputStream out = new FileOutputStream(output)) {
+                    writeReport(out);
+                }
+            }
+        } catch (IOException e) {
+            PrintStream err = new PrintStream(env.err());
+            err.println("[" + ID + "] Failed to write the report" + (output.isEmpty() ? "" : " to " + output) + ": " + e.getMessage());
+            err.flush();
+        }
+    }
+
+    /**
+     * Collects the statistics of all currently loaded functions, ordered by estimated node memory
+     * (largest first).
+     */
+    public List<FunctionStatistics> collect() {
+        List<RootNode> roots;
+        synchronized (loadedRoots) {
+            roots = new ArrayList<>(loadedRoots);
+        }
+        List<FunctionStatistics> result = new ArrayList<>(roots.size());
+        for (RootNode root : roots) {
+            result.add(collect(root));
+        }
+        result.sort((a, b) -> Long.compare(b.estimatedBytes, a.estimatedBytes));
+        return result;
+    }
+
+    private FunctionStatistics collect(RootNode root) {
+        CompilationState state = getCompilationState(root);
+        FunctionStatistics stats = new FunctionStatistics(root, state == null ? null : state.ranCompiledCode);
+        count(stats, root);
+        NodeUtil.forEachChild(root, new NodeVisitor() {
+            @Override
+            public boolean visit(Node node) {
+                if (node instanceof WrapperNode) {
+                    // inserted by instrumentation (e.g. our own probes), not part of the AST
+                    return visit(((WrapperNode) node).getDelegateNode());
+                }
+                count(stats, node);
+                return NodeUtil.forEachChild(node, this);
+            }
+        });
+        return stats;
+    }
+
+    private void count(FunctionStatistics stats, Node node) {
+        stats.nodeCount++;
+        stats.estimatedBytes += estimateShallowSize(node.getClass());
+        stats.nodeCosts.merge(node.getCost(), 1, Integer::sum);
+    }
+
+    /**
+     * Writes the statistics as JSON, with per-function entries and a per-source summary.
+     */
+    public void writeReport(OutputStream out) {
+        List<FunctionStatistics> functions = collect();
+        Map<String, long[]> sources = new LinkedHashMap<>();
+        for (FunctionStatistics function : functions) {
+            long[] totals = sources.computeIfAbsent(function.sourceName, k -> new long[3]);
+            totals[0]++;
+            totals[1] += function.nodeCount;
+            totals[2] += function.estimatedBytes;
+        }
+        List<Map.Entry<String, long[]>> sortedSources = new ArrayList<>(sources.entrySet());
+        sortedSources.sort((a, b) -> Long.compare(b.getValue()[2], a.getValue()[2]));
+
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.println("{");
+        writer.println("  \"sources\": [");
+        for (int i = 0; i < sortedSources.size(); i++) {
+            Map.Entry<String, long[]> entry = sortedSources.get(i);
+            long[] totals = entry.getValue();
+            writer.print("    {\"name\": " + JSRuntime.quote(entry.getKey()) + ", \"functions\": " + totals[0] + ", \"nodes\": " + totals[1] + ", \"estimatedBytes\": " + totals[2] + "}");
+            writer.println(i < sortedSources.size() - 1 ? "," : "");
+        }
+        writer.println("  ],");
+        writer.println("  \"functions\": [");
+        for (int i = 0; i < functions.size(); i++) {
+            writer.print("    ");
+            writer.print(functions.get(i).toJSON());
+            writer.println(i < functions.size() - 1 ? "," : "");
+        }
+        writer.println("  ]");
+        writer.println("}");
+        writer.flush();
+    }
+
+    /**
+     * Estimates the shallow size of an instance of the given class from its declared instance
+     * fields, assuming compressed oops.
+     */
+    private int estimateShallowSize(Class<?> clazz) {
+        synchronized (shallowSizeCache) {
+            Integer cached = shallowSizeCache.get(clazz);
+            if (cached != null) {
+                return cached;
+            }
+            int size = OBJECT_HEADER_SIZE;
+            for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            size = (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+            shallowSizeCache.put(clazz, size);
+            return size;
+        }
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        } else {
+            return REFERENCE_SIZE;
+        }
+    }
+
+    /**
+     * AST statistics of a single function.
+     */
+    public static final class FunctionStatistics {
+        final String name;
+        final String sourceName;
+        final int line;
+        final Boolean ranCompiledCode;
+        int nodeCount;
+        long estimatedBytes;
+        final Map<NodeCost, Integer> nodeCosts = new EnumMap<>(NodeCost.class);
+
+        FunctionStatistics(RootNode root, Boolean ranCompiledCode) {
+            this.name = JSNodeUtil.resolveName(root);
+            SourceSection sourceSection = root.getSourceSection();
+            this.sourceName = sourceSection == null ? "<unknown>" : sourceSection.getSource().getName();
+            this.line = sourceSection == null || !sourceSection.isAvailable() ? -1 : sourceSection.getStartLine();
+            this.ranCompiledCode = ranCompiledCode;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSourceName() {
+            return sourceName;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Whether the function has ever executed compiled code since the instrument was created
+         * (the code may have been invalidated since then), or {@code null} if unknown (when the
+         * {@code Compilation} option is not set or for functions without a source section). Always
+         * {@code false} when running without an optimizing runtime.
+         */
+        public Boolean hasRunCompiledCode() {
+            return ranCompiledCode;
+        }
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        public Map<NodeCost, Integer> getNodeCosts() {
+            return Collections.unmodifiableMap(nodeCosts);
+        }
+
+        String toJSON() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{\"name\": ").append(JSRuntime.quote(name));
+            sb.append(", \"source\": ").append(JSRuntime.quote(sourceName));
+            sb.append(", \"line\": ").append(line);
+            sb.append(", \"nodes\": ").append(nodeCount);
+            sb.append(", \"estimatedBytes\": ").append(estimatedBytes);
+            sb.append(", \"ranCompiledCode\": ").append(ranCompiledCode);
+            sb.append(", \"nodeCost\": {");
+            boolean first = true;
+            for (Map.Entry<NodeCost, Integer> entry : nodeCosts.entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                sb.append('"').append(entry.getKey().name()).append("\": ").append(entry.getValue());
+            }
+            sb.append("}}");
+            return sb.toString();
+        }
+    }
+}
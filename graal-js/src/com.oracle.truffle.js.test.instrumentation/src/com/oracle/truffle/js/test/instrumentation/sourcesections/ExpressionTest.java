@@ -58,6 +58,28 @@ public class ExpressionTest extends SourceSectionInstrumentationTest {
         });
     }
 
+    @Test
+    public void localComparison() {
+        // comparisons of locals are fused; the operands must keep their own source sections
+        evalExpressions("function f(i, n) { i < n; i < 3; i === n; } f(1, 2);");
+
+        assertSourceSections(new String[]{
+                        "f",
+                        "1",
+                        "2",
+                        "i",
+                        "n",
+                        "i < n",
+                        "i",
+                        "3",
+                        "i < 3",
+                        "i",
+                        "n",
+                        "i === n",
+                        "f(1, 2)",
+        });
+    }
+
     @Test
     public void callExpression() {
         evalExpressions("String('bla');");
@@ -49,6 +49,7 @@ import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
 
 public class ArrayBufferViewTest {
 
@@ -83,4 +84,79 @@ public class ArrayBufferViewTest {
         }
     }
 
+    private static String evalToString(String code) {
+        try (Context context = Context.newBuilder().build()) {
+            return context.eval(JavaScriptLanguage.ID, code).asString();
+        }
+    }
+
+    @Test
+    public void testSetConvertingTypedArray() {
+        assertEquals("1.5,-2,300", evalToString("var f = new Float32Array(3); f.set(new Float64Array([1.5, -2, 300])); f.join()"));
+        assertEquals("1,0,44", evalToString("var i = new Int8Array(3); i.set(new Float64Array([1.9, NaN, 300])); i.join()"));
+        assertEquals("255,0,2,255", evalToString("var c = new Uint8ClampedArray(4); c.set(new Float32Array([300, -5, 1.5, Infinity])); c.join()"));
+        assertEquals("255,0", evalToString("var c = new Uint8ClampedArray(2); c.set(new Uint32Array([0xFFFFFFFF, 0])); c.join()"));
+        assertEquals("4294967295,-1", evalToString("var d = new Float64Array(2); d.set(new Uint32Array([0xFFFFFFFF])); d.set(new Int32Array([-1]), 1); d.join()"));
+        assertEquals("0,-1,2", evalToString("var t = new Int16Array([0, 0, 2]); t.set(new Uint16Array([65535]), 1); t.join()"));
+    }
+
+    @Test
+    public void testConstructConvertingTypedArray() {
+        assertEquals("0,255,128", evalToString("new Uint8Array(new Int16Array([256, -1, 128])).join()"));
+        assertEquals("3,4", evalToString("new Float64Array(new Uint8Array([1, 2, 3, 4]).subarray(2)).join()"));
+    }
+
+    @Test
+    public void testConstructFromTypedArrayDetachedByPrototypeGetter() {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.TEST262_MODE_NAME, "true").build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "var src = new Int16Array([1, 2, 3]);\n" +
+                            "var newTarget = function() {}.bind();\n" +
+                            "Object.defineProperty(newTarget, 'prototype', { get() { $262.detachArrayBuffer(src.buffer); return Uint8Array.prototype; } });\n" +
+                            "try { Reflect.construct(Uint8Array, [src], newTarget); 'no error'; } catch (e) { e instanceof TypeError ? 'TypeError' : String(e); }");
+            assertEquals("TypeError", value.asString());
+        }
+    }
+
+    @Test
+    public void testSetFromNumberArray() {
+        assertEquals("0,1,2,255", evalToString("var c = new Uint8ClampedArray(4); c.set([1, 2, 1000], 1); c.join()"));
+        assertEquals("0.5,1,0", evalToString("var f = new Float32Array(3); var a = []; a.push(0.5); a.push(1); f.set(a); f.join()"));
+        assertEquals("1,2,7", evalToString("var i = new Int8Array(3); var a = [1.5, 2.5, 263.25]; i.set(a); i.join()"));
+        assertEquals("1,9,3", evalToString("var i = new Int32Array(3); var a = [1, , 3]; Array.prototype[1] = 9; i.set(a); delete Array.prototype[1]; i.join()"));
+        assertEquals("1,2,3", evalToString("new Float64Array([1, 2, 3]).join()"));
+        assertEquals("255,0", evalToString("new Uint8ClampedArray([1e9, -1e9]).join()"));
+    }
+
+    @Test
+    public void testSortWithoutComparator() {
+        assertEquals("-Infinity,-1,0,0,2.5,Infinity,NaN", evalToString("new Float64Array([NaN, 2.5, 0, -1, -0, Infinity, -Infinity]).sort().join()"));
+        assertEquals("-Infinity,true,true", evalToString("var f = new Float32Array([0, -0, -Infinity]).sort(); [f[0], Object.is(f[1], -0), Object.is(f[2], 0)].join()"));
+        assertEquals("1,2,4294967295", evalToString("new Uint32Array([0xFFFFFFFF, 2, 1]).sort().join()"));
+        assertEquals("-128,-1,0,127", evalToString("new Int8Array([127, 0, -1, -128]).sort().join()"));
+        assertEquals("9,1,2,3,9", evalToString("var a = new Uint16Array([9, 3, 2, 1, 9]); a.subarray(1, 4).sort(); a.join()"));
+        assertEquals("1,2,18446744073709551615", evalToString("new BigUint64Array([2n ** 64n - 1n, 2n, 1n]).sort().join()"));
+        assertEquals("-5,1", evalToString("new BigInt64Array([1n, -5n]).sort().join()"));
+        assertEquals("3,2,1", evalToString("new Int32Array([1, 2, 3]).sort((a, b) => b - a).join()"));
+    }
+
+    @Test
+    public void testSearchNumber() {
+        assertEquals("-1,true,-1", evalToString("var f = new Float64Array([1, NaN, 2]); [f.indexOf(NaN), f.includes(NaN), f.lastIndexOf(NaN)].join()"));
+        assertEquals("0,0,-1", evalToString("var f = new Float32Array([-0, 0.5]); [f.indexOf(0), f.lastIndexOf(+0), f.indexOf(0.1)].join()"));
+        assertEquals("1,-1,-1,false", evalToString("var u = new Uint32Array([1, 0xFFFFFFFF]); [u.indexOf(4294967295), u.indexOf(-1), u.indexOf(1.5), u.includes(NaN)].join()"));
+        assertEquals("3,3,0,false", evalToString("var i = new Int8Array([5, 6, 7, 5]); [i.lastIndexOf(5), i.indexOf(5, 1), i.lastIndexOf(5, -2), i.includes(6, -2)].join()"));
+        assertEquals("-1,false", evalToString("var b = new BigInt64Array([1n]); [b.indexOf(1), b.includes(1)].join()"));
+        assertEquals("0,true", evalToString("var b = new BigInt64Array([1n]); [b.indexOf(1n), b.includes(1n)].join()"));
+    }
+
+    @Test
+    public void testFill() {
+        assertEquals("0,7,7,7,0", evalToString("new Int16Array(5).fill(7, 1, 4).join()"));
+        assertEquals("255,255,255", evalToString("new Uint8ClampedArray(3).fill(300).join()"));
+        assertEquals("0.5,0.5,0.5,0.5,0.5,0.5,0.5", evalToString("new Float64Array(7).fill(0.5).join()"));
+        assertEquals("1,2,2", evalToString("var f = new Float32Array([1, 1, 1, 1]).subarray(1); f.fill(2, -2); f.join()"));
+        assertEquals("1,1", evalToString("new BigInt64Array(2).fill(1n).join()"));
+        assertEquals("0,0", evalToString("new Int32Array(2).fill(1, 2).join()"));
+    }
+
 }
@@ -141,6 +141,27 @@ public class JavaBuiltinsTest extends JSTest {
         test("Java.from({a:'foo'});", "Cannot convert to JavaScript");
     }
 
+    @Test
+    public void testJavaFromNumbers() {
+        assertEquals("9,2,3,4:1", test("var t = Java.from(arg); t[0] = 9; t.push(4); t + ':' + arg[0];", null, true, new int[]{1, 2, 3}));
+        assertEquals("1.5,-2", test("'' + Java.from(arg);", null, true, new double[]{1.5, -2}));
+        assertEquals("1,-1", test("'' + Java.from(arg);", null, true, new byte[]{1, -1}));
+
+        List<Object> list = new ArrayList<>();
+        list.add(1);
+        list.add(2.5);
+        assertEquals("3.5", test("var t = Java.from(arg); '' + (t[0] + t[1]);", null, true, list));
+    }
+
+    @Test
+    public void testJavaToNumbers() {
+        assertEquals("3:6", test("var t = Java.to([1, 2, 3], 'int[]'); t.length + ':' + (t[0] + t[1] + t[2]);"));
+        assertEquals("4", test("var a = []; a.push(1.5); a.push(2.5); '' + (Java.to(a, 'double[]')[0] + Java.to(a, 'double[]')[1]);"));
+        assertEquals("2", test("'' + Java.to([1, 2], 'double[]')[1];"));
+        assertEquals("2", test("'' + Java.to([1, 2])[1];"));
+        assertEquals("3", test("'' + Java.to([1, 2, 3], 'long[]')[2];"));
+    }
+
     @Test
     public void testJavaTo() {
         String result = test("var t = Java.to({a:'foo'}); ''+t;");
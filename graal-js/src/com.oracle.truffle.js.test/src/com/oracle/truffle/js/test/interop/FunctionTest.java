@@ -43,8 +43,21 @@ package com.oracle.truffle.js.test.interop;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
 import org.junit.Test;
 
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
@@ -74,4 +87,59 @@ public class FunctionTest {
         }
     }
 
+    @Test
+    public void testHostMethodInvokePolymorphic() {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).build()) {
+            Value sizes = context.eval(JavaScriptLanguage.ID, "(function(collections) {\n" +
+                            "  var sum = 0;\n" +
+                            "  for (var i = 0; i < collections.length; i++) {\n" +
+                            "    sum += collections[i].size();\n" +
+                            "  }\n" +
+                            "  return sum;\n" +
+                            "})");
+            Object[] collections = {new ArrayList<>(Arrays.asList(1)), new LinkedList<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(1, 2, 3)),
+                            new TreeSet<>(Arrays.asList(1, 2, 3, 4)), new Vector<>(Arrays.asList(1, 2, 3, 4, 5)), new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6))};
+            Value array = context.eval(JavaScriptLanguage.ID, "[]");
+            for (int i = 0; i < collections.length; i++) {
+                array.setArrayElement(i, collections[i]);
+                // grow the set of receiver classes seen by the call site one by one
+                assertEquals((i + 1) * (i + 2) / 2, sizes.execute(array).asInt());
+            }
+
+            Value overloads = context.eval(JavaScriptLanguage.ID, "(function() {\n" +
+                            "  var Math = Java.type('java.lang.Math');\n" +
+                            "  var Integer = Java.type('java.lang.Integer');\n" +
+                            "  var r = '';\n" +
+                            "  var receivers = [Math, Integer, Math, Integer];\n" +
+                            "  for (var i = 0; i < receivers.length; i++) {\n" +
+                            "    r += receivers[i].max(i, 2) + ',';\n" +
+                            "  }\n" +
+                            "  return r;\n" +
+                            "})");
+            assertEquals("2,2,2,3,", overloads.execute().asString());
+        }
+    }
+
+    @Test
+    public void testHostMethodInvokeMixedWithForeign() {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowHostAccess(HostAccess.ALL).build()) {
+            Value sizes = context.eval(JavaScriptLanguage.ID, "(function(collections) {\n" +
+                            "  var r = '';\n" +
+                            "  for (var i = 0; i < collections.length; i++) {\n" +
+                            "    r += collections[i].size() + ',';\n" +
+                            "  }\n" +
+                            "  return r;\n" +
+                            "})");
+            Map<String, Object> members = new HashMap<>();
+            members.put("size", (ProxyExecutable) args -> 42);
+            // a non-host foreign receiver between host receivers keeps the host entries usable
+            Object[] collections = {new ArrayList<>(Arrays.asList(1)), ProxyObject.fromMap(members), new ArrayList<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(1, 2, 3))};
+            Value array = context.eval(JavaScriptLanguage.ID, "[]");
+            for (int i = 0; i < collections.length; i++) {
+                array.setArrayElement(i, collections[i]);
+            }
+            assertEquals("1,42,2,3,", sizes.execute(array).asString());
+            assertEquals("1,42,2,3,", sizes.execute(array).asString());
+        }
+    }
 }
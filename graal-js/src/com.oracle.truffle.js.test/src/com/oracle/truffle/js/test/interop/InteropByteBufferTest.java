@@ -159,4 +159,57 @@ public class InteropByteBufferTest {
             assertEquals(jBuffer.get(2), 43);
         }
     }
+
+    @Test
+    public void testJavaByteArrayToArrayBuffer() {
+        byte[] bytes = {1, 2, 3};
+        try (Context context = Context.create(ID)) {
+            context.getBindings("js").putMember("bytes", bytes);
+            Value sum = context.eval(ID, "var ia = new Int8Array(new ArrayBuffer(bytes)); ia[1] = 42; ia[0] + ia[2];");
+            assertEquals(4, sum.asInt());
+            assertEquals(42, bytes[1]);
+        }
+    }
+
+    @Test
+    public void testJavaPrimitiveArrayToTypedArray() {
+        try (Context context = Context.create(ID)) {
+            Value bindings = context.getBindings("js");
+            bindings.putMember("doubles", new double[]{1.5, -0.0, Double.NaN});
+            bindings.putMember("ints", new int[]{-1, 7});
+            bindings.putMember("chars", new char[]{'5', 'A', 0xFFFF});
+            assertEquals("1.5,true,NaN", context.eval(ID, "var f = new Float64Array(doubles); [f[0], Object.is(f[1], -0), f[2]].join()").asString());
+            assertEquals("4294967295,7", context.eval(ID, "new Uint32Array(ints).join()").asString());
+            // chars are strings in JavaScript, i.e., they are not copied as UTF-16 code units
+            assertEquals("5,0,0", context.eval(ID, "new Int16Array(chars).join()").asString());
+            // element-wise conversion through interop for non-matching element types
+            assertEquals("-1,7", context.eval(ID, "new Float32Array(ints).join()").asString());
+        }
+    }
+
+    @Test
+    public void testTypedArrayToJavaByteBuffer() {
+        try (Context cx = Context.newBuilder(ID).allowHostAccess(HostAccess.ALL).allowHostClassLookup(className -> true).build()) {
+            Value result = cx.eval(ID, "var ta = new Int32Array([0, 1, 2, 3]).subarray(1, 3);" +
+                            "var bb = Java.to(ta, 'java.nio.ByteBuffer');" +
+                            "bb.putInt(4, 42);" +
+                            "[bb.capacity(), bb.getInt(0), ta[1]].join();");
+            assertEquals("8,1,42", result.asString());
+            ByteBuffer buffer = cx.eval(ID, "var ab = new ArrayBuffer(3); new Uint8Array(ab)[2] = 7; Java.to(ab, 'java.nio.ByteBuffer');").as(ByteBuffer.class);
+            assertEquals(3, buffer.capacity());
+            assertEquals(7, buffer.get(2));
+        }
+    }
+
+    @Test
+    public void testTypedArrayToJavaPrimitiveArray() {
+        try (Context cx = Context.newBuilder(ID).allowHostAccess(HostAccess.ALL).allowHostClassLookup(className -> true).build()) {
+            double[] doubles = cx.eval(ID, "Java.to(new Float64Array([1.5, 2.5]), 'double[]');").as(double[].class);
+            assertEquals(2, doubles.length);
+            assertEquals(2.5, doubles[1], 0);
+            int[] ints = cx.eval(ID, "Java.to(new Int32Array([3, 4, 5]).subarray(1), 'int[]');").as(int[].class);
+            assertEquals(2, ints.length);
+            assertEquals(5, ints[1]);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.js.parser.Lexer;
+import com.oracle.js.parser.Token;
+import com.oracle.js.parser.TokenStream;
+import com.oracle.js.parser.TokenType;
+import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.js.parser.ir.IdentNode;
+import com.oracle.js.parser.ir.LexicalContext;
+import com.oracle.js.parser.ir.LiteralNode;
+import com.oracle.js.parser.ir.visitor.NodeVisitor;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.parser.GraalJSParserHelper;
+import com.oracle.truffle.js.runtime.JSErrorType;
+import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSParserOptions;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class LexerTest extends JSTest {
+
+    private static List<TokenType> lex(String code) {
+        TokenStream stream = new TokenStream();
+        Lexer lexer = new Lexer(com.oracle.js.parser.Source.sourceFor("test", code), stream, false, JSTruffleOptions.LatestECMAScriptVersion, false, false, true);
+        List<TokenType> types = new ArrayList<>();
+        for (int i = 0;; i++) {
+            while (i > stream.last()) {
+                if (stream.isFull()) {
+                    stream.grow();
+                }
+                lexer.lexify();
+            }
+            TokenType type = Token.descType(stream.get(i));
+            if (type == TokenType.EOF) {
+                return types;
+            } else if (type != TokenType.EOL && type != TokenType.COMMENT) {
+                types.add(type);
+            }
+        }
+    }
+
+    private FunctionNode parse(String code) {
+        Source source = Source.newBuilder(JavaScriptLanguage.ID, code, "test").build();
+        return GraalJSParserHelper.parseScript(testHelper.getJSContext(), source, new JSParserOptions());
+    }
+
+    private List<String> identifierNames(String code) {
+        List<String> names = new ArrayList<>();
+        parse(code).accept(new NodeVisitor<LexicalContext>(new LexicalContext()) {
+            @Override
+            public boolean enterIdentNode(IdentNode identNode) {
+                names.add(identNode.getName());
+                return true;
+            }
+
+            @Override
+            public boolean enterLiteralNode(LiteralNode<?> literalNode) {
+                if (literalNode.getValue() instanceof String) {
+                    names.add((String) literalNode.getValue());
+                }
+                return true;
+            }
+        });
+        return names;
+    }
+
+    private void assertSyntaxError(String code) {
+        try {
+            parse(code);
+            fail(code);
+        } catch (JSException e) {
+            assertEquals(code, JSErrorType.SyntaxError, e.getErrorType());
+        }
+    }
+
+    @Test
+    public void testKeywordBoundaries() {
+        assertEquals(Arrays.asList(TokenType.IN, TokenType.INSTANCEOF, TokenType.IDENT), lex("in instanceof int"));
+        // prefixes and suffixes of keywords are identifiers
+        for (String ident : new String[]{"i", "ins", "instanceo", "instanceofx", "_in", "in$", "in1", "in\u00c4", "IN", "d", "dox", "newnull", "instanceofinstanceof"}) {
+            assertEquals(ident, Arrays.asList(TokenType.IDENT), lex(ident));
+        }
+        assertEquals(Arrays.asList(TokenType.DO, TokenType.NEW, TokenType.NULL), lex("do new null"));
+        assertEquals(Arrays.asList(TokenType.IDENT, TokenType.IN, TokenType.LPAREN, TokenType.IDENT, TokenType.SEMICOLON), lex("x/*in*/in(int;"));
+        assertEquals(Arrays.asList(TokenType.IDENT, TokenType.IN, TokenType.IDENT), lex("x in y"));
+    }
+
+    @Test
+    public void testEscapedKeywordIsIdentifier() {
+        assertEquals(Arrays.asList(TokenType.IDENT), lex("\\u0069n"));
+        assertEquals(Arrays.asList(TokenType.IDENT), lex("i\\u006e"));
+        assertEquals(Arrays.asList(TokenType.IDENT), lex("\\u{69}nstanceof"));
+
+        assertSyntaxError("var \\u0069n = 1;");
+        assertSyntaxError("var i\\u006e = 1;");
+        assertSyntaxError("\\u0069nstanceof;");
+
+        // escaped names that are not reserved words are ordinary identifiers
+        assertTrue(identifierNames("var \\u0069nt;").contains("int"));
+        assertTrue(identifierNames("var in\\u00c4;").contains("in\u00c4"));
+    }
+
+    @Test
+    public void testInternedIdentifiers() {
+        List<String> names = new ArrayList<>();
+        for (String name : identifierNames("abc; abc; 'abc'; ab\\u0063; abcd;")) {
+            if (name.startsWith("abc")) {
+                names.add(name);
+            }
+        }
+        assertEquals(Arrays.asList("abc", "abc", "abc", "abc", "abcd"), names);
+        String abc = names.get(0);
+        assertSame(abc, names.get(1));
+        assertSame(abc, names.get(2));
+        assertSame(abc, names.get(3));
+    }
+}
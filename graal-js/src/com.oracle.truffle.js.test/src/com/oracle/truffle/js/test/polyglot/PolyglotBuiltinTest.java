@@ -104,6 +104,36 @@ public class PolyglotBuiltinTest extends JSTest {
         test("Polyglot.import({});", "Invalid identifier");
     }
 
+    @Test
+    public void testReadMembers() {
+        assertEquals("1,x,,3", test("var o = {a: 1, b: 'x', c: 3}; ''+Polyglot.readMembers(o, ['a', 'b', 'd', 'c']);"));
+        // repeated reads on the same shape, then a different shape and an accessor
+        assertEquals("0,1,2,3,4,5,42", test("var r = []; for (var i = 0; i < 6; i++) { r.push(Polyglot.readMembers({a: i, b: 0}, ['a'])[0]); } " +
+                        "r.push(Polyglot.readMembers({get a() { return 42; }}, ['a'])[0]); ''+r;"));
+        assertEquals("3", test("''+Polyglot.readMembers(Object.create({p: 3}), ['p']);"));
+        assertEquals("a,b", test("''+Polyglot.readMembers({a: 'a', b: 'b'}, arg);", null, true, new String[]{"a", "b"}));
+        // shapes with accessor and missing keys are cached, too
+        assertEquals("0,0,,1,2,,2,4,", test("var r = []; for (var i = 0; i < 3; i++) { r.push(Polyglot.readMembers({a: i, get b() { return this.a * 2; }}, ['a', 'b', 'c'])); } r.join();"));
+
+        test("Polyglot.readMembers(1, ['a']);", "is not an Object");
+        test("Polyglot.readMembers({}, [{}]);", "Invalid identifier");
+    }
+
+    @Test
+    public void testWriteMembers() {
+        assertEquals("3,y,true", test("var o = {a: 1, b: 'x'}; Polyglot.writeMembers(o, ['a', 'b', 'c'], [3, 'y', true]); [o.a, o.b, o.c].join();"));
+        // values that do not fit the current locations
+        assertEquals("1.5,2,y", test("var o; for (var i = 0; i < 3; i++) { o = {a: 1, b: 2}; Polyglot.writeMembers(o, ['a', 'b'], i < 2 ? [i, i] : [1.5, 'y']); } " +
+                        "var p = {a: 0, b: 0}; Polyglot.writeMembers(p, ['a', 'b'], [2, 'y']); [o.a, p.a, p.b].join();"));
+        assertEquals("5", test("var o = {set a(v) { this.b = v; }}; Polyglot.writeMembers(o, ['a'], [5]); ''+o.b;"));
+        // a setter that changes the shape before the remaining keys are written
+        assertEquals("0,0,0;1,1,1;2,2,2", test("var r = []; for (var i = 0; i < 3; i++) { var o = {set a(v) { this.x = v; }, b: -1}; " +
+                        "Polyglot.writeMembers(o, ['a', 'b', 'c'], [i, i, i]); r.push([o.x, o.b, o.c].join()); } r.join(';');"));
+
+        test("Polyglot.writeMembers(Object.freeze({a: 1}), ['a'], [2]);", "not a writable property");
+        test("Polyglot.writeMembers({}, ['a', 'b'], [2]);", "same length");
+    }
+
     @Test
     public void testIsExecutable() {
         assertEquals("true", test("''+Polyglot.isExecutable(x=>x+1);"));
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the persistent cache of Java adapter bytecode. The cache is configured by a system property
+ * at startup, so these tests drive separate cache instances directly.
+ */
+public class JavaAdapterBytecodeCacheTest {
+
+    private static final String CACHE_CLASS_NAME = "com.oracle.truffle.js.runtime.java.adapter.JavaAdapterBytecodeCache";
+
+    public interface Callback {
+        String call(String argument);
+    }
+
+    public interface Counter {
+        int count();
+    }
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("adapter-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static Object newCache(Path directory) throws ReflectiveOperationException {
+        Constructor<?> constructor = Class.forName(CACHE_CLASS_NAME).getDeclaredConstructor(Path.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(directory);
+    }
+
+    private static byte[] getOrGenerate(Object cache, Class<?> type) throws ReflectiveOperationException {
+        Method getOrGenerate = cache.getClass().getDeclaredMethod("getOrGenerate", Class.class, List.class, ClassLoader.class, boolean.class);
+        getOrGenerate.setAccessible(true);
+        Object adapterLoader = getOrGenerate.invoke(cache, Object.class, Collections.singletonList(type), type.getClassLoader(), false);
+        Method getClassBytes = adapterLoader.getClass().getDeclaredMethod("getClassBytes");
+        getClassBytes.setAccessible(true);
+        return (byte[]) getClassBytes.invoke(adapterLoader);
+    }
+
+    private List<Path> listEntries() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".adapter")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        getOrGenerate(newCache(directory), Callback.class);
+        List<Path> entries = listEntries();
+        assertEquals(1, entries.size());
+        Path callbackEntry = entries.get(0);
+
+        // replace the entry with different, well-formed bytecode to see where it comes from
+        byte[] counterBytes = getOrGenerate(newCache(directory), Counter.class);
+        Files.write(callbackEntry, counterBytes);
+
+        assertArrayEquals(counterBytes, getOrGenerate(newCache(directory), Callback.class));
+        assertEquals(2, listEntries().size());
+    }
+
+    @Test
+    public void testCorruptEntry() throws Exception {
+        byte[] callbackBytes = getOrGenerate(newCache(directory), Callback.class);
+        Path callbackEntry = listEntries().get(0);
+        Files.write(callbackEntry, Arrays.copyOf(callbackBytes, callbackBytes.length / 2));
+
+        assertArrayEquals(callbackBytes, getOrGenerate(newCache(directory), Callback.class));
+        assertArrayEquals(callbackBytes, Files.readAllBytes(callbackEntry));
+    }
+
+    @Test
+    public void testMain() throws Exception {
+        Method main = Class.forName(CACHE_CLASS_NAME).getDeclaredMethod("main", String[].class);
+        main.setAccessible(true);
+        main.invoke(null, (Object) new String[]{directory.toString(), Callback.class.getName() + "," + Counter.class.getName(), Counter.class.getName()});
+        // with and without class-level overrides for each of the two combinations
+        assertEquals(4, listEntries().size());
+
+        byte[] counterBytes = getOrGenerate(newCache(directory), Counter.class);
+        assertEquals(4, listEntries().size());
+        assertArrayEquals(counterBytes, getOrGenerate(newCache(directory), Counter.class));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests the fused comparison of local variables ({@code LocalVarCompareNode}), including the
+ * fallback to the generic comparison for non-numeric operands.
+ */
+public class LocalVarCompareTest extends JSTest {
+
+    private static final String COMPARE_ALL = "function compare(a, b) {" +
+                    "  return [a < b, a <= b, a > b, a >= b, a === b, a !== b].join();" +
+                    "}";
+
+    @Test
+    public void testInt() {
+        assertEquals("true,true,false,false,false,true", testHelper.run(COMPARE_ALL + "compare(1, 2);"));
+        assertEquals("false,true,false,true,true,false", testHelper.run(COMPARE_ALL + "compare(2, 2);"));
+    }
+
+    @Test
+    public void testDouble() {
+        assertEquals("false,true,false,true,true,false", testHelper.run(COMPARE_ALL + "compare(0, -0);"));
+        assertEquals("false,false,false,false,false,true", testHelper.run(COMPARE_ALL + "compare(NaN, NaN);"));
+        assertEquals("true,true,false,false,false,true", testHelper.run(COMPARE_ALL + "compare(1, 1.5);"));
+    }
+
+    @Test
+    public void testTypeChange() {
+        assertEquals("true,true,false,false,false,true|false,false,true,true,false,true|false,true,false,true,false,true",
+                        testHelper.run(COMPARE_ALL + "[compare(1, 2), compare('b', 'a'), compare('1', 1)].join('|');"));
+    }
+
+    @Test
+    public void testLoop() {
+        assertEquals(45, testHelper.run("function sum(n) { var s = 0; for (var i = 0; i < n; i++) { s += i; } return s; } sum(10);"));
+        assertEquals(10, testHelper.run("function count() { var c = 0; for (var i = 0; i < 10; i++) { c++; } return c; } count();"));
+        assertEquals(3, testHelper.run("function count(n) { var c = 0; for (var i = 0; i < n; i++) { c++; } return c; } count(2.5);"));
+    }
+}
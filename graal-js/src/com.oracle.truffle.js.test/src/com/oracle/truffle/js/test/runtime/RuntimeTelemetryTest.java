@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+
+public class RuntimeTelemetryTest {
+
+    private static Context createContext(boolean telemetry) {
+        return Context.newBuilder(JavaScriptLanguage.ID).option(JSContextOptions.TELEMETRY_NAME, String.valueOf(telemetry)).build();
+    }
+
+    private static boolean hasEvent(Context context, String kind, String detail) {
+        Value result = context.eval(JavaScriptLanguage.ID, "Graal.telemetry().some(e => e.kind === '" + kind + "' && e.detail === '" + detail + "' && e.count > 0);");
+        return result.asBoolean();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = createContext(false)) {
+            assertTrue(context.eval(JavaScriptLanguage.ID, "typeof Graal.telemetry === 'undefined'").asBoolean());
+        }
+    }
+
+    @Test
+    public void testPropertyAccess() {
+        try (Context context = createContext(true)) {
+            context.eval(JavaScriptLanguage.ID, "function getX(o) { return o.x; } getX({x: 1}); getX({y: 1, x: 2});");
+            assertTrue(hasEvent(context, "PolymorphicPropertyAccess", "x"));
+            assertFalse(hasEvent(context, "MegamorphicPropertyAccess", "x"));
+
+            context.eval(JavaScriptLanguage.ID, "for (var i = 0; i < 20; i++) { var o = {}; o['p' + i] = i; o.x = i; getX(o); }");
+            assertTrue(hasEvent(context, "MegamorphicPropertyAccess", "x"));
+        }
+    }
+
+    @Test
+    public void testArrayTransition() {
+        try (Context context = createContext(true)) {
+            context.eval(JavaScriptLanguage.ID, "var a = [1, 2, 3]; a[1] = 1.5;");
+            assertTrue(context.eval(JavaScriptLanguage.ID, "Graal.telemetry().some(e => e.kind === 'ArrayTransition')").asBoolean());
+        }
+    }
+
+    @Test
+    public void testArrayTransitionSampling() {
+        try (Context context = createContext(true)) {
+            context.eval(JavaScriptLanguage.ID, "function f() { var a = [1, 2, 3]; a[1] = 1.5; } for (var i = 0; i < 100; i++) { f(); }");
+            int sampled = context.eval(JavaScriptLanguage.ID,
+                            "Graal.telemetry().filter(e => e.kind === 'ArrayTransition').reduce((sum, e) => sum + e.count, 0)").asInt();
+            assertTrue(sampled > 0);
+            assertTrue(sampled < 100);
+        }
+    }
+
+    @Test
+    public void testReset() {
+        try (Context context = createContext(true)) {
+            context.eval(JavaScriptLanguage.ID, "function getX(o) { return o.x; } getX({x: 1}); getX({y: 1, x: 2});");
+            assertTrue(hasEvent(context, "PolymorphicPropertyAccess", "x"));
+            context.eval(JavaScriptLanguage.ID, "Graal.resetTelemetry();");
+            assertEquals(0, context.eval(JavaScriptLanguage.ID, "Graal.telemetry().length").asInt());
+        }
+    }
+}
@@ -357,8 +357,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                     errorBranch.enter();
                     throw Errors.createTypeErrorDetachedBuffer();
                 }
-                TypedArray typedArray = typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(dynObj));
-                return typedArray.length(dynObj);
+                return getTypedArrayType(dynObj).length(dynObj);
             } else {
                 if (getLengthNode == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -368,6 +367,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        protected final TypedArray getTypedArrayType(DynamicObject view) {
+            assert isTypedArrayImplementation;
+            return typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(view));
+        }
+
         protected final boolean isCallable(Object callback) {
             if (isCallableNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1409,6 +1413,8 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         @Child private JSToIntegerSpecialNode toIntegerNode;
         private final BranchProfile arrayWithContentBranch = BranchProfile.create();
         private final BranchProfile fromConversionBranch = BranchProfile.create();
+        private final ConditionProfile typedArrayNumberSearch = ConditionProfile.createBinaryProfile();
+        private final BranchProfile otherNumberBranch = BranchProfile.create();
 
         public JSArrayIndexOfNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation, boolean isForward) {
             super(context, builtin, isTypedArrayImplementation);
@@ -1430,9 +1436,20 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             if (fromIndexValue < 0) {
                 return -1;
             }
+            if (isTypedArrayImplementation && typedArrayNumberSearch.profile(JSRuntime.isNumber(searchElement))) {
+                return typedArrayIndexOf((DynamicObject) thisJSObject, JSRuntime.doubleValue((Number) searchElement, otherNumberBranch), fromIndexValue);
+            }
             return forEachIndexCall(thisJSObject, Undefined.instance, searchElement, fromIndexValue, len, -1);
         }
 
+        private int typedArrayIndexOf(DynamicObject thisObj, double searchElement, long fromIndex) {
+            if (JSArrayBufferView.hasDetachedBuffer(thisObj, getContext())) {
+                // fromIndex conversion detached the buffer, all elements read as undefined
+                return -1;
+            }
+            return getTypedArrayType(thisObj).indexOfNumber(thisObj, searchElement, (int) fromIndex, isForward(), false, true);
+        }
+
         // for indexOf()
         private long calcFromIndexForward(Object[] args, long len, Object fromIndex) {
             if (args.length <= 1) {
@@ -2477,6 +2494,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                         @Cached("createBinaryProfile()") ConditionProfile isJSObject) {
             checkCompareFunction(comparefn);
             Object thisJSObj = toObject(thisObj);
+            if (isTypedArrayImplementation && comparefn == Undefined.instance && JSArrayBufferView.isJSArrayBufferView(thisJSObj)) {
+                return sortTypedArray((DynamicObject) thisJSObj);
+            }
             if (isJSObject.profile(JSObject.isJSObject(thisJSObj))) {
                 return sortJSObject(comparefn, (DynamicObject) thisJSObj);
             } else {
@@ -2484,6 +2504,12 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        private DynamicObject sortTypedArray(DynamicObject thisObj) {
+            validateTypedArray(thisObj);
+            getTypedArrayType(thisObj).sortElements(thisObj, true);
+            return thisObj;
+        }
+
         private DynamicObject sortJSObject(final Object comparefn, DynamicObject thisJSObj) {
             if (JSObject.isFrozen(thisJSObj)) {
                 errorBranch.enter();
@@ -2847,6 +2873,8 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
     }
 
     public abstract static class JSArrayIncludesNode extends JSArrayOperationWithToInt {
+        private final ConditionProfile typedArrayNumberSearch = ConditionProfile.createBinaryProfile();
+        private final BranchProfile otherNumberBranch = BranchProfile.create();
 
         public JSArrayIncludesNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation) {
             super(context, builtin, isTypedArrayImplementation);
@@ -2876,6 +2904,14 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return true;
             }
 
+            if (isTypedArrayImplementation && typedArrayNumberSearch.profile(JSRuntime.isNumber(searchElement))) {
+                DynamicObject typedArrayObj = (DynamicObject) thisObj;
+                if (k >= len || JSArrayBufferView.hasDetachedBuffer(typedArrayObj, getContext())) {
+                    return false;
+                }
+                return getTypedArrayType(typedArrayObj).indexOfNumber(typedArrayObj, JSRuntime.doubleValue((Number) searchElement, otherNumberBranch), (int) k, true, true, true) >= 0;
+            }
+
             while (k < len) {
                 Object currentElement = read(thisObj, k);
 
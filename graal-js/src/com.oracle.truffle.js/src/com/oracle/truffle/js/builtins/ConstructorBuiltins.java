@@ -1644,6 +1644,9 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                 } else {
                     return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), byteBuffer.array()), newTarget);
                 }
+            } else if (maybeBuffer instanceof byte[]) {
+                // shares the Java array, like heap ByteBuffers above
+                return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), (byte[]) maybeBuffer), newTarget);
             } else {
                 errorBranch.enter();
                 throw Errors.createTypeError("Unsupported input data type");
@@ -350,7 +350,10 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             readFully(1),
             exec(1), // $EXEC
             parseToJSON(3),
-            importScriptEngineGlobalBindings(1);
+            importScriptEngineGlobalBindings(1),
+            parseScriptEngineSource(5),
+            snapshotScriptEngineGlobalState(0),
+            resetScriptEngineGlobalState(0);
 
             private final int length;
 
@@ -380,6 +383,12 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                     return GlobalScriptingEXECNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
                 case importScriptEngineGlobalBindings:
                     return JSGlobalImportScriptEngineGlobalBindingsNodeGen.create(context, builtin, args().fixedArgs(1).varArgs().createArgumentNodes(context));
+                case parseScriptEngineSource:
+                    return JSGlobalParseScriptEngineSourceNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+                case snapshotScriptEngineGlobalState:
+                    return JSGlobalScriptEngineGlobalStateNodeGen.create(context, builtin, false, args().createArgumentNodes(context));
+                case resetScriptEngineGlobalState:
+                    return JSGlobalScriptEngineGlobalStateNodeGen.create(context, builtin, true, args().createArgumentNodes(context));
             }
             return null;
         }
@@ -1567,4 +1576,60 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             }
         }
     }
+
+    /**
+     * Parses a script on behalf of the script engine without running it, so that syntax errors are
+     * reported when a script is compiled and the parsed code is cached for all contexts sharing
+     * this language instance.
+     */
+    abstract static class JSGlobalParseScriptEngineSourceNode extends JSBuiltinNode {
+
+        JSGlobalParseScriptEngineSourceNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        final Object parseSource(Object code, Object name, Object mimeType, Object interactive, Object internal) {
+            doParse(JSRuntime.toString(code), JSRuntime.toString(name), JSRuntime.isNullOrUndefined(mimeType) ? null : JSRuntime.toString(mimeType), JSRuntime.toBoolean(interactive),
+                            JSRuntime.toBoolean(internal));
+            return Undefined.instance;
+        }
+
+        /**
+         * Parses the source through the polyglot source cache. The source is built with the same
+         * attributes as the polyglot source the script engine evaluates later, so that it is equal
+         * to it and the evaluation finds the cached parse.
+         */
+        @TruffleBoundary
+        private void doParse(String code, String name, String mimeType, boolean interactive, boolean internal) {
+            Source source = Source.newBuilder(JavaScriptLanguage.ID, code, name).mimeType(mimeType).interactive(interactive).internal(internal).build();
+            getContext().getRealm().getEnv().parsePublic(source);
+        }
+    }
+
+    /**
+     * Records or restores the global state of a script engine context that is kept in a pool.
+     *
+     * @see JSRealm#snapshotGlobalState()
+     * @see JSRealm#resetGlobalState()
+     */
+    abstract static class JSGlobalScriptEngineGlobalStateNode extends JSBuiltinNode {
+        private final boolean reset;
+
+        JSGlobalScriptEngineGlobalStateNode(JSContext context, JSBuiltin builtin, boolean reset) {
+            super(context, builtin);
+            this.reset = reset;
+        }
+
+        @Specialization
+        final Object globalState() {
+            JSRealm realm = getContext().getRealm();
+            if (reset) {
+                return realm.resetGlobalState();
+            } else {
+                realm.snapshotGlobalState();
+                return Undefined.instance;
+            }
+        }
+    }
 }
@@ -45,6 +45,7 @@ import java.util.NoSuchElementException;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -53,6 +54,7 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltins.ArraySpeciesConstructorNode;
 import com.oracle.truffle.js.builtins.JSConstructTypedArrayNodeGen.IntegerIndexedObjectCreateNodeGen;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
@@ -77,6 +79,7 @@ import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
@@ -252,8 +255,9 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
      */
     @SuppressWarnings("unused")
     @Specialization(guards = {"isJSFunction(newTarget)", "isJSArrayBufferView(arrayBufferView)"})
-    protected DynamicObject doArrayBufferView(DynamicObject newTarget, DynamicObject arrayBufferView, Object byteOffset0, Object length0) {
-        TypedArray sourceType = JSArrayBufferView.typedArrayGetArrayType(arrayBufferView);
+    protected DynamicObject doArrayBufferView(DynamicObject newTarget, DynamicObject arrayBufferView, Object byteOffset0, Object length0,
+                    @Cached("createIdentityProfile()") ValueProfile sourceTypeProfile) {
+        TypedArray sourceType = sourceTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(arrayBufferView));
         long length = sourceType.length(arrayBufferView);
 
         DynamicObject srcData = JSArrayBufferView.getArrayBuffer(arrayBufferView);
@@ -277,12 +281,13 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
 
         TypedArray typedArray = factory.createArrayType(getContext().isOptionDirectByteBuffer(), false);
         DynamicObject result = createTypedArray(arrayBuffer, typedArray, 0, (int) length, newTarget);
+        // GetPrototypeFromConstructor(newTarget) may have run user code that detached the source
+        checkDetachedBuffer(srcData);
 
         assert typedArray == JSArrayBufferView.typedArrayGetArrayType(result);
-        for (long i = 0; i < length; i++) {
-            Object element = sourceType.getElement(arrayBufferView, i);
-            typedArray.setElement(result, i, element, false);
-        }
+        Object sourceBuffer = sourceType.getBufferFromTypedArray(arrayBufferView, true);
+        Object targetBuffer = typedArray.getBufferFromTypedArray(result, true);
+        TypedArray.copyElementsConverting(sourceType, sourceBuffer, JSArrayBufferView.typedArrayGetOffset(arrayBufferView), typedArray, targetBuffer, 0, 0, (int) length);
         return result;
     }
 
@@ -300,13 +305,19 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
     @SuppressWarnings("unused")
     @Specialization(guards = {"isJSFunction(newTarget)", "isJSArray(array)"})
     protected DynamicObject doArray(DynamicObject newTarget, DynamicObject array, Object byteOffset0, Object length0,
-                    @Cached("createReadNode()") ReadElementNode readElementNode) {
+                    @Cached("createReadNode()") ReadElementNode readElementNode,
+                    @Cached("createIdentityProfile()") ValueProfile sourceTypeProfile) {
         long length = JSAbstractArray.arrayGetArrayType(array).length(array);
         DynamicObject result = createTypedArrayWithLength(length, newTarget);
         assert length <= Integer.MAX_VALUE;
 
         TypedArray typedArray = factory.createArrayType(getContext().isOptionDirectByteBuffer(), false);
         assert typedArray == JSArrayBufferView.typedArrayGetArrayType(result);
+        // re-read the array type, creating the result may have run user code
+        ScriptArray sourceType = sourceTypeProfile.profile(JSAbstractArray.arrayGetArrayType(array));
+        if (typedArray.setElementsFromNumberArray(result, 0, array, sourceType, (int) length)) {
+            return result;
+        }
         for (int i = 0; i < length; i++) {
             Object element = readElementNode.executeWithTargetAndIndex(array, i);
             typedArray.setElement(result, i, element, false);
@@ -417,7 +428,14 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
     protected DynamicObject doForeignObject(DynamicObject newTarget, Object object, @SuppressWarnings("unused") Object byteOffset0, @SuppressWarnings("unused") Object length0,
                     @CachedLibrary("object") InteropLibrary interop,
                     @Cached("createWriteOwn()") WriteElementNode writeOwnNode,
-                    @Cached JSForeignToJSTypeNode importValue) {
+                    @Cached JSForeignToJSTypeNode importValue,
+                    @Cached("createBinaryProfile()") ConditionProfile bulkCopyProfile) {
+        int bulkCopyLength = getBulkCopyableHostArrayLength(object);
+        if (bulkCopyProfile.profile(bulkCopyLength >= 0)) {
+            DynamicObject obj = createTypedArrayWithLength(bulkCopyLength, newTarget);
+            JSInteropUtil.copyJavaArrayToTypedArray(getContext().getRealm().getEnv().asHostObject(object), obj);
+            return obj;
+        }
         long length;
         if (interop.hasArrayElements(object)) {
             length = toIndex(JSInteropUtil.getArraySize(object, interop, this));
@@ -433,6 +451,18 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         return obj;
     }
 
+    /**
+     * Java primitive arrays whose elements have the bit representation of this typed array's
+     * elements are copied in bulk instead of element by element through interop.
+     */
+    private int getBulkCopyableHostArrayLength(Object object) {
+        TruffleLanguage.Env env = getContext().getRealm().getEnv();
+        if (env.isHostObject(object)) {
+            return JSInteropUtil.getBulkCopyableJavaArrayLength(env.asHostObject(object), factory);
+        }
+        return -1;
+    }
+
     GetMethodNode createGetIteratorMethod() {
         return GetMethodNode.create(getContext(), null, Symbol.SYMBOL_ITERATOR);
     }
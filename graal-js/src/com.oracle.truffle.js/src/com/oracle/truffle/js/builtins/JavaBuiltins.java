@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import com.oracle.truffle.api.CallTarget;
@@ -91,14 +93,23 @@ import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.java.JavaAccess;
 import com.oracle.truffle.js.runtime.java.adapter.JavaAdapterFactory;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
 
 public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuiltins.Java> {
 
@@ -382,6 +393,7 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
     abstract static class JavaFromNode extends JSBuiltinNode {
 
         private final BranchProfile objectListBranch = BranchProfile.create();
+        private final BranchProfile bulkBranch = BranchProfile.create();
         private final BranchProfile needErrorBranches = BranchProfile.create();
 
         @Child private WriteElementNode writeNode;
@@ -413,6 +425,11 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         protected DynamicObject from(Object javaArray) {
             TruffleLanguage.Env env = getContext().getRealm().getEnv();
             if (env.isHostObject(javaArray)) {
+                DynamicObject numberArray = fromNumbers(getContext(), env.asHostObject(javaArray));
+                if (numberArray != null) {
+                    bulkBranch.enter();
+                    return numberArray;
+                }
                 try {
                     long size = interop.getArraySize(javaArray);
                     if (size < 0 || size >= Integer.MAX_VALUE) {
@@ -440,6 +457,67 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
 
+        /**
+         * Imports Java int/double arrays (and their narrower primitive types), and lists consisting
+         * only of Integer or Double elements, directly into int or double array storage.
+         *
+         * @return the new array, or {@code null} if the object is not of a supported type
+         */
+        @TruffleBoundary
+        private static DynamicObject fromNumbers(JSContext context, Object hostObject) {
+            if (hostObject instanceof int[]) {
+                return JSArray.createZeroBasedIntArray(context, ((int[]) hostObject).clone());
+            } else if (hostObject instanceof double[]) {
+                return JSArray.createZeroBasedDoubleArray(context, ((double[]) hostObject).clone());
+            } else if (hostObject instanceof short[] || hostObject instanceof byte[]) {
+                int length = Array.getLength(hostObject);
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = Array.getInt(hostObject, i);
+                }
+                return JSArray.createZeroBasedIntArray(context, values);
+            } else if (hostObject instanceof float[]) {
+                float[] floats = (float[]) hostObject;
+                double[] values = new double[floats.length];
+                for (int i = 0; i < floats.length; i++) {
+                    values[i] = floats[i];
+                }
+                return JSArray.createZeroBasedDoubleArray(context, values);
+            } else if (hostObject instanceof List<?>) {
+                return fromNumberList(context, (List<?>) hostObject);
+            }
+            return null;
+        }
+
+        private static DynamicObject fromNumberList(JSContext context, List<?> javaList) {
+            Object[] elements = javaList.toArray();
+            boolean allInts = true;
+            for (Object element : elements) {
+                if (!(element instanceof Integer)) {
+                    if (element instanceof Double) {
+                        allInts = false;
+                    } else {
+                        return null;
+                    }
+                }
+            }
+            if (elements.length == 0) {
+                return null;
+            } else if (allInts) {
+                int[] values = new int[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    values[i] = (Integer) elements[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, values);
+            } else {
+                double[] values = new double[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    values[i] = ((Number) elements[i]).doubleValue();
+                }
+                return JSArray.createZeroBasedDoubleArray(context, values);
+            }
+        }
+
         private void fromList(List<?> javaList, int len, DynamicObject jsArrayObj) {
             objectListBranch.enter();
             for (int i = 0; i < len; i++) {
@@ -477,7 +555,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         protected Object to(Object jsObj, Object toType) {
             TruffleLanguage.Env env = getContext().getRealm().getEnv();
             if (env.isHostObject(toType)) {
-                if (isJavaArrayClass(toType, env)) {
+                Object buffer = toBuffer(jsObj, toType, env);
+                if (buffer != null) {
+                    return buffer;
+                } else if (isJavaArrayClass(toType, env)) {
                     return toArray(jsObj, toType, env);
                 } else {
                     throw Errors.createTypeErrorFormat("Unsupported type: %s", toType);
@@ -487,7 +568,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             } else {
                 String className = toString(toType);
                 Object javaType = JavaTypeNode.lookupJavaType(className, env);
-                if (isJavaArrayClass(javaType, env)) {
+                Object buffer = toBuffer(jsObj, javaType, env);
+                if (buffer != null) {
+                    return buffer;
+                } else if (isJavaArrayClass(javaType, env)) {
                     return toArray(jsObj, javaType, env);
                 } else {
                     throw Errors.createTypeErrorFormat("Unsupported type: %s", className);
@@ -512,9 +596,104 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             return false;
         }
 
+        /**
+         * Exports a dense JS array with int or double storage into an int[], long[], double[] or
+         * Object[] in one pass, without going through JSToObjectArrayNode and per-element interop
+         * writes.
+         *
+         * @return the Java array, or {@code null} if the array storage or the component type is not
+         *         supported
+         */
+        @TruffleBoundary
+        private static Object toNumberArray(Object jsObj, Class<?> componentType) {
+            if (!JSArray.isJSFastArray(jsObj)) {
+                return null;
+            }
+            DynamicObject array = (DynamicObject) jsObj;
+            ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(array);
+            boolean intStorage = arrayType instanceof AbstractIntArray || arrayType instanceof ConstantIntArray || arrayType instanceof ConstantByteArray;
+            boolean doubleStorage = arrayType instanceof AbstractDoubleArray || arrayType instanceof ConstantDoubleArray;
+            if (!(intStorage || doubleStorage) || arrayType.isHolesType()) {
+                return null;
+            }
+            int length = (int) arrayType.length(array);
+            if (length > 0 && (arrayType.firstElementIndex(array) != 0 || arrayType.lastElementIndex(array) != length - 1)) {
+                return null;
+            }
+            if (componentType == int.class && intStorage) {
+                int[] result = new int[length];
+                for (int i = 0; i < length; i++) {
+                    result[i] = getInt(array, arrayType, i);
+                }
+                return result;
+            } else if (componentType == long.class && intStorage) {
+                long[] result = new long[length];
+                for (int i = 0; i < length; i++) {
+                    result[i] = getInt(array, arrayType, i);
+                }
+                return result;
+            } else if (componentType == double.class) {
+                double[] result = new double[length];
+                for (int i = 0; i < length; i++) {
+                    result[i] = intStorage ? getInt(array, arrayType, i) : getDouble(array, arrayType, i);
+                }
+                return result;
+            } else if (componentType == Object.class) {
+                Object[] result = new Object[length];
+                for (int i = 0; i < length; i++) {
+                    result[i] = intStorage ? (Object) getInt(array, arrayType, i) : (Object) getDouble(array, arrayType, i);
+                }
+                return result;
+            }
+            return null;
+        }
+
+        private static int getInt(DynamicObject array, ScriptArray arrayType, int index) {
+            if (arrayType instanceof ConstantIntArray) {
+                return ConstantIntArray.getElementInt(array, index, true);
+            } else if (arrayType instanceof ConstantByteArray) {
+                return ConstantByteArray.getElementByte(array, index, true);
+            } else {
+                return ((AbstractIntArray) arrayType).getInBoundsFastInt(array, index, true);
+            }
+        }
+
+        private static double getDouble(DynamicObject array, ScriptArray arrayType, int index) {
+            if (arrayType instanceof ConstantDoubleArray) {
+                return ConstantDoubleArray.getElementDouble(array, index, true);
+            } else {
+                return ((AbstractDoubleArray) arrayType).getInBoundsFastDouble(array, index, true);
+            }
+        }
+
+        /**
+         * ArrayBuffers and typed arrays converted to java.nio.ByteBuffer share their memory with
+         * the JS object. Typed arrays converted to a primitive array type with the same element
+         * representation are copied with a single bulk transfer.
+         */
+        @TruffleBoundary
+        private static Object toBuffer(Object jsObj, Object javaType, TruffleLanguage.Env env) {
+            if (!(javaType != null && env.isHostObject(javaType) && jsObj instanceof DynamicObject)) {
+                return null;
+            }
+            Object javaClass = env.asHostObject(javaType);
+            DynamicObject obj = (DynamicObject) jsObj;
+            Object result = null;
+            if (javaClass == ByteBuffer.class) {
+                result = JSInteropUtil.asByteBufferView(obj);
+            } else if (javaClass instanceof Class && ((Class<?>) javaClass).isArray() && JSArrayBufferView.isJSArrayBufferView(obj)) {
+                result = JSInteropUtil.typedArrayToJavaArray(obj, ((Class<?>) javaClass).getComponentType());
+            }
+            return result == null ? null : env.asGuestValue(result);
+        }
+
         private Object toArray(Object jsObj, Object arrayType, TruffleLanguage.Env env) {
             assert isJavaArrayClass(arrayType, env);
 
+            Object numberArray = toNumberArray(jsObj, ((Class<?>) env.asHostObject(arrayType)).getComponentType());
+            if (numberArray != null) {
+                return env.asGuestValue(numberArray);
+            }
             Object[] arr = toObjectArrayNode.executeObjectArray(jsObj);
             try {
                 Object result = newArray.instantiate(arrayType, arr.length);
@@ -61,7 +61,9 @@ import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotConstructNodeGen;
@@ -80,16 +82,20 @@ import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotIsExecutab
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotIsInstantiableNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotIsNullNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotKeysNodeGen;
+import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotReadMembersNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotReadNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotRemoveNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotToJSValueNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotToPolyglotValueNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotUnboxValueNodeGen;
+import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotWriteMembersNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotWriteNodeGen;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.interop.ExportValueNode;
 import com.oracle.truffle.js.nodes.interop.JSForeignToJSTypeNode;
+import com.oracle.truffle.js.nodes.interop.ReadMembersNode;
+import com.oracle.truffle.js.nodes.interop.WriteMembersNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.Evaluator;
 import com.oracle.truffle.js.runtime.JSContext;
@@ -114,7 +120,9 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
         // external
         export(2),
         import_(1),
-        eval(2);
+        eval(2),
+        readMembers(2),
+        writeMembers(3);
 
         private final int length;
 
@@ -137,6 +145,10 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
                 return PolyglotImportNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
             case eval:
                 return PolyglotEvalNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case readMembers:
+                return PolyglotReadMembersNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case writeMembers:
+                return PolyglotWriteMembersNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
         }
         return null;
     }
@@ -332,6 +344,90 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
         }
     }
 
+    /**
+     * Converts an array-like interop value (e.g. a JS array or a Java {@code String[]}) to a Java
+     * array of imported values.
+     */
+    static Object[] toImportedArray(Object array, InteropLibrary arrayInterop, JSForeignToJSTypeNode importValue, Node originatingNode) {
+        if (!arrayInterop.hasArrayElements(array)) {
+            throw Errors.createTypeErrorNotAnObject(array, originatingNode);
+        }
+        try {
+            long size = arrayInterop.getArraySize(array);
+            if (size > Integer.MAX_VALUE) {
+                throw Errors.createRangeErrorInvalidArrayLength();
+            }
+            Object[] result = new Object[(int) size];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = importValue.executeWithTarget(arrayInterop.readArrayElement(array, i));
+            }
+            return result;
+        } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+            throw Errors.createTypeErrorInteropException(array, e, "readArrayElement", originatingNode);
+        }
+    }
+
+    static String[] toKeys(Object keys, InteropLibrary keysInterop, JSForeignToJSTypeNode importValue, Node originatingNode) {
+        Object[] keyValues = toImportedArray(keys, keysInterop, importValue, originatingNode);
+        String[] result = new String[keyValues.length];
+        for (int i = 0; i < keyValues.length; i++) {
+            Object key = keyValues[i];
+            if (!(key instanceof String)) {
+                throw Errors.createTypeErrorInvalidIdentifier(key);
+            }
+            result[i] = (String) key;
+        }
+        return result;
+    }
+
+    abstract static class PolyglotReadMembersNode extends JSBuiltinNode {
+        PolyglotReadMembersNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isJSObject(obj)")
+        protected DynamicObject readMembers(DynamicObject obj, Object keys,
+                        @Cached ReadMembersNode readMembersNode,
+                        @CachedLibrary(limit = "3") InteropLibrary keysInterop,
+                        @Cached JSForeignToJSTypeNode importValue) {
+            String[] keyArray = toKeys(keys, keysInterop, importValue, this);
+            return JSArray.createConstant(getContext(), readMembersNode.execute(obj, keyArray));
+        }
+
+        @Specialization(guards = "!isJSObject(obj)")
+        protected DynamicObject doInvalid(Object obj, @SuppressWarnings("unused") Object keys) {
+            throw Errors.createTypeErrorNotAnObject(obj, this);
+        }
+    }
+
+    abstract static class PolyglotWriteMembersNode extends JSBuiltinNode {
+        PolyglotWriteMembersNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isJSObject(obj)")
+        protected DynamicObject writeMembers(DynamicObject obj, Object keys, Object values,
+                        @Cached WriteMembersNode writeMembersNode,
+                        @CachedLibrary(limit = "3") InteropLibrary keysInterop,
+                        @CachedLibrary(limit = "3") InteropLibrary valuesInterop,
+                        @Cached JSForeignToJSTypeNode importValue,
+                        @Cached("create()") BranchProfile errorBranch) {
+            String[] keyArray = toKeys(keys, keysInterop, importValue, this);
+            Object[] valueArray = toImportedArray(values, valuesInterop, importValue, this);
+            if (keyArray.length != valueArray.length) {
+                errorBranch.enter();
+                throw Errors.createTypeError("keys and values must have the same length", this);
+            }
+            writeMembersNode.execute(obj, keyArray, valueArray);
+            return obj;
+        }
+
+        @Specialization(guards = "!isJSObject(obj)")
+        protected DynamicObject doInvalid(Object obj, @SuppressWarnings("unused") Object keys, @SuppressWarnings("unused") Object values) {
+            throw Errors.createTypeErrorNotAnObject(obj, this);
+        }
+    }
+
     abstract static class PolyglotIsExecutableNode extends JSBuiltinNode {
 
         PolyglotIsExecutableNode(JSContext context, JSBuiltin builtin) {
@@ -45,7 +45,6 @@ import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArra
 import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
@@ -92,7 +91,6 @@ import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
 import com.oracle.truffle.js.nodes.control.DeletePropertyNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
-import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
@@ -321,10 +319,9 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         private final ConditionProfile arrayIsArray = ConditionProfile.createBinaryProfile();
         private final ConditionProfile arrayIsArrayBufferView = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isDirectProf = ConditionProfile.createBinaryProfile();
-        private final BranchProfile intToIntBranch = BranchProfile.create();
-        private final BranchProfile floatToFloatBranch = BranchProfile.create();
-        private final BranchProfile bigIntToBigIntBranch = BranchProfile.create();
-        private final BranchProfile objectToObjectBranch = BranchProfile.create();
+        private final BranchProfile convertingCopyBranch = BranchProfile.create();
+        private final ValueProfile sourceScriptArrayProf = ValueProfile.createIdentityProfile();
+        private final ConditionProfile numberArrayProf = ConditionProfile.createBinaryProfile();
 
         @Child private JSGetLengthNode getLengthNode;
 
@@ -385,11 +382,14 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             assert JSArray.isJSArray(array);
             boolean sourceCondition = JSArray.isJSArray(array);
             boolean targetCondition = JSArrayBufferView.isJSArrayBufferView(thisObj);
-            ScriptArray sourceArray = arrayGetArrayType(array, sourceCondition);
-            TypedArray targetArray = JSArrayBufferView.typedArrayGetArrayType(thisObj, targetCondition);
+            ScriptArray sourceArray = sourceScriptArrayProf.profile(arrayGetArrayType(array, sourceCondition));
+            TypedArray targetArray = targetArrayProf.profile(JSArrayBufferView.typedArrayGetArrayType(thisObj, targetCondition));
             long sourceLen = sourceArray.length(array, sourceCondition);
             rangeCheck(0, sourceLen, offset, targetArray.length(thisObj, targetCondition));
 
+            if (numberArrayProf.profile(targetArray.setElementsFromNumberArray(thisObj, offset, array, sourceArray, (int) sourceLen))) {
+                return;
+            }
             for (int i = 0, j = offset; i < sourceLen; i++, j++) {
                 targetArray.setElement(thisObj, j, sourceArray.getElement(array, i), false);
             }
@@ -440,7 +440,6 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             copyTypedArrayElementsDistinctBuffers(targetBuffer, sourceBuffer, targetArray, sourceArray, offset, targetByteOffset, sourceLen, srcByteIndex);
         }
 
-        @SuppressWarnings("unchecked")
         private void copyTypedArrayElementsDistinctBuffers(DynamicObject targetBuffer, DynamicObject sourceBuffer, TypedArray targetType, TypedArray sourceType,
                         int targetOffset, int targetByteOffset, int sourceLength, int sourceByteIndex) {
             Object targetBackingBuffer = isDirectProf.profile(targetType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(targetBuffer) : JSArrayBuffer.getByteArray(targetBuffer);
@@ -457,33 +456,11 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
                 } else {
                     System.arraycopy(sourceBackingBuffer, sourceByteIndex, targetBackingBuffer, targetByteIndex, sourceByteLength);
                 }
-            } else if (sourceType instanceof TypedArray.TypedIntArray && targetType instanceof TypedArray.TypedIntArray) {
-                intToIntBranch.enter();
-                for (int i = 0; i < sourceLength; i++) {
-                    int value = ((TypedArray.TypedIntArray<Object>) sourceType).getIntImpl(sourceBackingBuffer, sourceByteIndex, i);
-                    ((TypedArray.TypedIntArray<Object>) targetType).setIntImpl(targetBackingBuffer, targetByteOffset, i + targetOffset, value);
-                }
-            } else if (sourceType instanceof TypedArray.TypedFloatArray && targetType instanceof TypedArray.TypedFloatArray) {
-                floatToFloatBranch.enter();
-                for (int i = 0; i < sourceLength; i++) {
-                    double value = ((TypedArray.TypedFloatArray<Object>) sourceType).getDoubleImpl(sourceBackingBuffer, sourceByteIndex, i);
-                    ((TypedArray.TypedFloatArray<Object>) targetType).setDoubleImpl(targetBackingBuffer, targetByteOffset, i + targetOffset, value);
-                }
-            } else if (sourceType instanceof TypedArray.TypedBigIntArray && targetType instanceof TypedArray.TypedBigIntArray) {
-                bigIntToBigIntBranch.enter();
-                for (int i = 0; i < sourceLength; i++) {
-                    BigInt value = ((TypedArray.TypedBigIntArray<Object>) sourceType).getBigIntImpl(sourceBackingBuffer, sourceByteIndex, i);
-                    ((TypedArray.TypedBigIntArray<Object>) targetType).setBigIntImpl(targetBackingBuffer, targetByteOffset, i + targetOffset, value);
-                }
             } else if ((sourceType instanceof TypedArray.TypedBigIntArray) != (targetType instanceof TypedArray.TypedBigIntArray)) {
                 throw Errors.createTypeErrorCannotMixBigIntWithOtherTypes(this);
             } else {
-                objectToObjectBranch.enter();
-                boolean littleEndian = ByteOrder.LITTLE_ENDIAN == ByteOrder.nativeOrder();
-                for (int i = 0; i < sourceLength; i++) {
-                    Object value = sourceType.getBufferElement(sourceBuffer, sourceByteIndex + i * sourceElementSize, littleEndian, false);
-                    targetType.setBufferElement(targetBuffer, targetByteIndex + i * targetElementSize, littleEndian, false, value);
-                }
+                convertingCopyBranch.enter();
+                TypedArray.copyElementsConverting(sourceType, sourceBackingBuffer, sourceByteIndex, targetType, targetBackingBuffer, targetByteOffset, targetOffset, sourceLength);
             }
         }
 
@@ -630,9 +607,7 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             long lStart = JSRuntime.getOffset(toIntegerSpecial(start), len, offsetProfile1);
             long lEnd = end == Undefined.instance ? len : JSRuntime.getOffset(toIntegerSpecial(end), len, offsetProfile2);
             checkHasDetachedBuffer(thisJSObj);
-            for (long idx = lStart; idx < lEnd; idx++) {
-                write(thisJSObj, idx, convValue);
-            }
+            getTypedArrayType(thisJSObj).fillElements(thisJSObj, (int) lStart, (int) lEnd, convValue, true);
             return thisJSObj;
         }
 
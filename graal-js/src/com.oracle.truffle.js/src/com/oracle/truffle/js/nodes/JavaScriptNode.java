@@ -59,7 +59,12 @@ import com.oracle.truffle.js.runtime.LargeInteger;
 
 @GenerateWrapper
 public abstract class JavaScriptNode extends JavaScriptBaseNode implements InstrumentableNode {
-    /** Source or SourceSection. */
+    /**
+     * Source or SourceSection. Available source sections are stored in compact form, i.e., as the
+     * {@link Source} together with {@link #charIndex} and {@link #charLength}, and are only
+     * materialized on demand (e.g. for stack traces, the debugger, or instrumentation) without
+     * being retained by the node.
+     */
     private Object source;
     private int charIndex;
     private int charLength;
@@ -268,9 +273,7 @@ public abstract class JavaScriptNode extends JavaScriptBaseNode implements Instr
             if (src instanceof SourceSection) {
                 return (SourceSection) src;
             } else {
-                SourceSection section = ((Source) src).createSection(charIndex & CHAR_INDEX_MASK, charLength & CHAR_LENGTH_MASK);
-                source = section;
-                return section;
+                return ((Source) src).createSection(charIndex & CHAR_INDEX_MASK, charLength & CHAR_LENGTH_MASK);
             }
         }
         return null;
@@ -278,6 +281,11 @@ public abstract class JavaScriptNode extends JavaScriptBaseNode implements Instr
 
     public final void setSourceSection(SourceSection section) {
         CompilerAsserts.neverPartOfCompilation();
+        if (section != null && section.isAvailable() && section.getCharIndex() <= CHAR_INDEX_MASK && section.getCharLength() <= CHAR_LENGTH_MASK) {
+            // Store in compact form, so that the section object itself is not retained.
+            setSourceSection(section.getSource(), section.getCharIndex(), section.getCharLength());
+            return;
+        }
         if (hasSourceSection()) {
             checkSameSourceSection(section);
         }
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.access;
+
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.StandardTags.ExpressionTag;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.access.JSConstantNode.JSConstantIntegerNode;
+import com.oracle.truffle.js.nodes.binary.JSGreaterOrEqualNodeGen;
+import com.oracle.truffle.js.nodes.binary.JSGreaterThanNodeGen;
+import com.oracle.truffle.js.nodes.binary.JSIdenticalNode;
+import com.oracle.truffle.js.nodes.binary.JSLessOrEqualNodeGen;
+import com.oracle.truffle.js.nodes.binary.JSLessThanNodeGen;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags.BinaryOperationTag;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags.ReadVariableTag;
+import com.oracle.truffle.js.runtime.Errors;
+
+/**
+ * Fused comparison of a local variable with another local variable or an int constant, e.g. the
+ * condition {@code i < n} of a counting loop. Reads the frame slots directly instead of executing
+ * the operand nodes. The operand nodes are kept with their own source sections, and are moved into
+ * the equivalent unfused comparison that replaces this node if an operand is not a number or if
+ * instrumentation needs to observe the operands.
+ */
+public final class LocalVarCompareNode extends JavaScriptNode {
+    public enum Op {
+        LESS("<"),
+        LESS_OR_EQUAL("<="),
+        GREATER(">"),
+        GREATER_OR_EQUAL(">="),
+        IDENTICAL("===");
+
+        final String operator;
+
+        Op(String operator) {
+            this.operator = operator;
+        }
+    }
+
+    private final Op op;
+    @Child private JavaScriptNode left;
+    @Child private JavaScriptNode right;
+    private final FrameSlot leftSlot;
+    /** Right operand frame slot, or {@code null} if the right operand is {@link #rightConstant}. */
+    private final FrameSlot rightSlot;
+    private final int rightConstant;
+
+    @CompilationFinal private boolean seenDouble;
+
+    private LocalVarCompareNode(Op op, JavaScriptNode left, JavaScriptNode right, FrameSlot leftSlot, FrameSlot rightSlot, int rightConstant) {
+        this.op = op;
+        this.left = left;
+        this.right = right;
+        this.leftSlot = leftSlot;
+        this.rightSlot = rightSlot;
+        this.rightConstant = rightConstant;
+    }
+
+    /**
+     * Returns whether the operands can be compared by a {@link LocalVarCompareNode}.
+     */
+    public static boolean isApplicable(JavaScriptNode left, JavaScriptNode right) {
+        return left instanceof JSReadCurrentFrameSlotNode && (right instanceof JSReadCurrentFrameSlotNode || right instanceof JSConstantIntegerNode);
+    }
+
+    public static LocalVarCompareNode create(Op op, JavaScriptNode left, JavaScriptNode right) {
+        assert isApplicable(left, right);
+        FrameSlot leftSlot = ((JSReadCurrentFrameSlotNode) left).getFrameSlot();
+        if (right instanceof JSReadCurrentFrameSlotNode) {
+            return new LocalVarCompareNode(op, left, right, leftSlot, ((JSReadCurrentFrameSlotNode) right).getFrameSlot(), 0);
+        } else {
+            return new LocalVarCompareNode(op, left, right, leftSlot, null, ((JSConstantIntegerNode) right).executeInt(null));
+        }
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    public boolean executeBoolean(VirtualFrame frame) {
+        boolean rightIsInt = rightSlot == null || frame.isInt(rightSlot);
+        if (frame.isInt(leftSlot) && rightIsInt) {
+            int a = FrameUtil.getIntSafe(frame, leftSlot);
+            int b = rightSlot == null ? rightConstant : FrameUtil.getIntSafe(frame, rightSlot);
+            return compareInt(a, b);
+        }
+        if (isNumber(frame, leftSlot) && (rightIsInt || frame.isDouble(rightSlot))) {
+            if (!seenDouble) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                seenDouble = true;
+            }
+            double a = getNumber(frame, leftSlot);
+            double b = rightSlot == null ? rightConstant : getNumber(frame, rightSlot);
+            return compareDouble(a, b);
+        }
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return (boolean) replace(createUnfused(), "non-numeric operand").execute(frame);
+    }
+
+    private static boolean isNumber(VirtualFrame frame, FrameSlot slot) {
+        return frame.isInt(slot) || frame.isDouble(slot);
+    }
+
+    private static double getNumber(VirtualFrame frame, FrameSlot slot) {
+        return frame.isInt(slot) ? FrameUtil.getIntSafe(frame, slot) : FrameUtil.getDoubleSafe(frame, slot);
+    }
+
+    private boolean compareInt(int a, int b) {
+        switch (op) {
+            case LESS:
+                return a < b;
+            case LESS_OR_EQUAL:
+                return a <= b;
+            case GREATER:
+                return a > b;
+            case GREATER_OR_EQUAL:
+                return a >= b;
+            case IDENTICAL:
+                return a == b;
+            default:
+                throw Errors.shouldNotReachHere();
+        }
+    }
+
+    private boolean compareDouble(double a, double b) {
+        switch (op) {
+            case LESS:
+                return a < b;
+            case LESS_OR_EQUAL:
+                return a <= b;
+            case GREATER:
+                return a > b;
+            case GREATER_OR_EQUAL:
+                return a >= b;
+            case IDENTICAL:
+                return a == b;
+            default:
+                throw Errors.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Creates the unfused comparison of the original operand nodes, which keep their own source
+     * sections.
+     */
+    private JavaScriptNode createUnfused() {
+        JavaScriptNode node;
+        switch (op) {
+            case LESS:
+                node = JSLessThanNodeGen.create(left, right);
+                break;
+            case LESS_OR_EQUAL:
+                node = JSLessOrEqualNodeGen.create(left, right);
+                break;
+            case GREATER:
+                node = JSGreaterThanNodeGen.create(left, right);
+                break;
+            case GREATER_OR_EQUAL:
+                node = JSGreaterOrEqualNodeGen.create(left, right);
+                break;
+            case IDENTICAL:
+                node = JSIdenticalNode.createUnoptimized(left, right);
+                break;
+            default:
+                throw Errors.shouldNotReachHere();
+        }
+        transferSourceSectionAndTags(this, node);
+        return node;
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        if (tag == BinaryOperationTag.class) {
+            return true;
+        } else {
+            return super.hasTag(tag);
+        }
+    }
+
+    @Override
+    public Object getNodeObject() {
+        return JSTags.createNodeObjectDescriptor("operator", op.operator);
+    }
+
+    @Override
+    public InstrumentableNode materializeInstrumentableNodes(Set<Class<? extends Tag>> materializedTags) {
+        // the operands are not executed while fused, so they could not report their own events
+        if (materializedTags.contains(BinaryOperationTag.class) || materializedTags.contains(ReadVariableTag.class) || materializedTags.contains(ExpressionTag.class)) {
+            return createUnfused();
+        } else {
+            return this;
+        }
+    }
+
+    @Override
+    public boolean isResultAlwaysOfType(Class<?> clazz) {
+        return clazz == boolean.class;
+    }
+
+    @Override
+    protected JavaScriptNode copyUninitialized() {
+        return new LocalVarCompareNode(op, cloneUninitialized(left), cloneUninitialized(right), leftSlot, rightSlot, rightConstant);
+    }
+
+    @Override
+    public String expressionToString() {
+        String right = rightSlot == null ? String.valueOf(rightConstant) : String.valueOf(rightSlot.getIdentifier());
+        return "(" + leftSlot.getIdentifier() + " " + op.operator + " " + right + ")";
+    }
+}
@@ -82,6 +82,7 @@ import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.RuntimeTelemetry;
 
 /**
  * Common base class for property cache nodes. Unifies the cache handling and receiver checks.
@@ -1295,6 +1296,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             invalidationAssumption.invalidate("PropertyCacheNode invalidation");
             invalidationAssumption = Truffle.getRuntime().createAssumption("PropertyCacheNode");
             cacheAssumptionInvalidatedCount.inc();
+            recordTelemetry(RuntimeTelemetry.EventKind.PropertyCacheInvalidation);
         }
     }
 
@@ -1311,8 +1313,11 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         specialized.setNext(currentHead);
         this.cacheNode = specialized;
         traceRewriteInsert(specialized, cachedCount);
-        if (JSTruffleOptions.TracePolymorphicPropertyAccess && cachedCount > 0) {
-            System.out.printf("POLYMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), specialized.debugString());
+        if (cachedCount > 0) {
+            if (JSTruffleOptions.TracePolymorphicPropertyAccess) {
+                System.out.printf("POLYMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), specialized.debugString());
+            }
+            recordTelemetry(RuntimeTelemetry.EventKind.PolymorphicPropertyAccess);
         }
         return specialized;
     }
@@ -1322,6 +1327,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         if (JSTruffleOptions.TraceMegamorphicPropertyAccess) {
             System.out.printf("MEGAMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), currentHead.debugString());
         }
+        recordTelemetry(RuntimeTelemetry.EventKind.MegamorphicPropertyAccess);
 
         assert currentHead == this.cacheNode;
         // replace the entire cache with the generic case
@@ -1571,6 +1577,13 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         return JSRuntime.INFINITY_STRING.equals(key);
     }
 
+    private void recordTelemetry(RuntimeTelemetry.EventKind kind) {
+        RuntimeTelemetry telemetry = context.getTelemetry();
+        if (telemetry != null) {
+            telemetry.record(kind, this, key);
+        }
+    }
+
     private void traceRewriteInsert(Node newNode, int cacheDepth) {
         if (TruffleOptions.TraceRewrites) {
             PrintStream out = System.out;
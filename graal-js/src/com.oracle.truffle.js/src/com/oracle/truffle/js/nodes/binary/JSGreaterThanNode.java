@@ -44,11 +44,13 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.access.LocalVarCompareNode;
 import com.oracle.truffle.js.nodes.cast.JSToPrimitiveNode;
 import com.oracle.truffle.js.nodes.cast.JSToStringOrNumberNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.LargeInteger;
 
 @NodeInfo(shortName = ">")
@@ -58,7 +60,10 @@ public abstract class JSGreaterThanNode extends JSCompareNode {
         super(left, right);
     }
 
-    public static JSGreaterThanNode create(JavaScriptNode left, JavaScriptNode right) {
+    public static JavaScriptNode create(JavaScriptNode left, JavaScriptNode right) {
+        if (JSTruffleOptions.UseSuperOperations && LocalVarCompareNode.isApplicable(left, right)) {
+            return LocalVarCompareNode.create(LocalVarCompareNode.Op.GREATER, left, right);
+        }
         return JSGreaterThanNodeGen.create(left, right);
     }
 
@@ -57,6 +57,7 @@ import com.oracle.truffle.js.nodes.access.JSConstantNode.JSConstantIntegerNode;
 import com.oracle.truffle.js.nodes.access.JSConstantNode.JSConstantNullNode;
 import com.oracle.truffle.js.nodes.access.JSConstantNode.JSConstantStringNode;
 import com.oracle.truffle.js.nodes.access.JSConstantNode.JSConstantUndefinedNode;
+import com.oracle.truffle.js.nodes.access.LocalVarCompareNode;
 import com.oracle.truffle.js.nodes.unary.IsIdenticalBooleanNode;
 import com.oracle.truffle.js.nodes.unary.IsIdenticalIntegerNode;
 import com.oracle.truffle.js.nodes.unary.IsIdenticalStringNode;
@@ -64,6 +65,7 @@ import com.oracle.truffle.js.nodes.unary.IsIdenticalUndefinedNode;
 import com.oracle.truffle.js.nodes.unary.IsNullNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 
@@ -125,6 +127,8 @@ public abstract class JSIdenticalNode extends JSCompareNode {
             return IsIdenticalUndefinedNode.create(right, true);
         } else if (right instanceof JSConstantUndefinedNode) {
             return IsIdenticalUndefinedNode.create(left, false);
+        } else if (JSTruffleOptions.UseSuperOperations && LocalVarCompareNode.isApplicable(left, right)) {
+            return LocalVarCompareNode.create(LocalVarCompareNode.Op.IDENTICAL, left, right);
         }
         return JSIdenticalNodeGen.create(left, right, STRICT_EQUALITY_COMPARISON);
     }
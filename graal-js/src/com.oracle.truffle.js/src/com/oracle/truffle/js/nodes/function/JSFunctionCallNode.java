@@ -54,6 +54,8 @@ import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.TruffleLanguage.LanguageReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.InstrumentableNode;
@@ -109,6 +111,7 @@ import com.oracle.truffle.js.runtime.java.JavaPackage;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.RuntimeTelemetry;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaScriptFunctionCallNode {
@@ -272,6 +275,10 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
                 if (c == null) {
                     boolean hasCached = cachedCount > 0;
                     if (JSFunction.isJSFunction(function)) {
+                        if (hasCached) {
+                            JSFunctionData functionData = JSFunction.getFunctionData((DynamicObject) function);
+                            recordTelemetry(functionData.getContext(), RuntimeTelemetry.EventKind.FunctionCacheOverflow, functionData.getName());
+                        }
                         c = specializeGenericFunction(currentHead, hasCached);
                     } else if (JSProxy.isProxy(function)) {
                         c = insertAtFront(new JSProxyCacheNode(null, JSFunctionCallNode.isNew(flags), JSFunctionCallNode.isNewTarget(flags)), currentHead);
@@ -292,6 +299,13 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         return c.executeCall(arguments);
     }
 
+    private void recordTelemetry(JSContext context, RuntimeTelemetry.EventKind kind, String functionName) {
+        RuntimeTelemetry telemetry = context.getTelemetry();
+        if (telemetry != null) {
+            telemetry.record(kind, this, functionName);
+        }
+    }
+
     private static boolean isCached(AbstractCacheNode c) {
         return c instanceof JSFunctionCacheNode;
     }
@@ -346,6 +360,7 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
             if (JSTruffleOptions.TraceFunctionCache) {
                 System.out.printf("FUNCTION CACHE changed function instance to function data cache %s (depth=%d)\n", getEncapsulatingSourceSection(), getCachedCount(head));
             }
+            recordTelemetry(functionData.getContext(), RuntimeTelemetry.EventKind.FunctionCacheRewrite, functionData.getName());
             JSFunctionCacheNode newNode;
             if (obsoleteNode instanceof FunctionInstanceCacheNode) {
                 newNode = new FunctionDataCacheNode(functionData, ((FunctionInstanceCacheNode) obsoleteNode).callNode);
@@ -395,7 +410,18 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         } else if (JSGuards.isForeignObject(thisObject)) {
             Object propertyKey = getPropertyKey();
             if (propertyKey != null && propertyKey instanceof String) {
-                newNode = new ForeignInvokeNode((String) propertyKey, userArgumentCount);
+                Object hostType = JSArguments.getFunctionObject(arguments) == thisObject ? getHostType(thisObject, JavaScriptLanguage.getCurrentEnv()) : null;
+                int hostInvokeCount = getHostInvokeCount(head);
+                if (hostType == null) {
+                    // other foreign objects must not shadow the host invoke entries
+                    newNode = new ForeignInvokeNode((String) propertyKey, userArgumentCount);
+                    return insertAfterHostInvokeNodes(newNode, head);
+                } else if (hostInvokeCount < JSTruffleOptions.FunctionCacheLimit) {
+                    newNode = new HostInvokeCacheNode((String) propertyKey, userArgumentCount, thisObject, hostType);
+                } else {
+                    newNode = new ForeignInvokeNode((String) propertyKey, userArgumentCount);
+                    return insertAtFront(newNode, dropHostInvokeNodes(head, hostInvokeCount));
+                }
             }
         }
         if (newNode == null) {
@@ -404,6 +430,76 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         return insertAtFront(newNode, head);
     }
 
+    /**
+     * Returns the key under which method invocations on a host object are cached: the Java class
+     * of the host object, or the class itself if the receiver is a host class. Returns
+     * {@code null} for other foreign objects and for host {@code null}.
+     */
+    static Object getHostType(Object receiver, TruffleLanguage.Env env) {
+        if (env.isHostObject(receiver)) {
+            Object hostObject = env.asHostObject(receiver);
+            if (hostObject instanceof Class<?>) {
+                return hostObject;
+            } else if (hostObject != null) {
+                return hostObject.getClass();
+            }
+        }
+        return null;
+    }
+
+    private static int getHostInvokeCount(AbstractCacheNode head) {
+        int count = 0;
+        for (AbstractCacheNode c = head; c != null; c = c.nextNode) {
+            if (c instanceof HostInvokeCacheNode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static AbstractCacheNode dropHostInvokeNodes(AbstractCacheNode head, int hostInvokeCount) {
+        if (hostInvokeCount == 0) {
+            return head;
+        }
+        AbstractCacheNode rest = null;
+        for (AbstractCacheNode c = head; c != null; c = c.nextNode) {
+            if (c instanceof HostInvokeCacheNode) {
+                continue;
+            }
+            rest = c.withNext(rest);
+        }
+        return rest;
+    }
+
+    /**
+     * Inserts the node behind the last {@link HostInvokeCacheNode}, so that the host invoke entries
+     * are still checked first, or at the front if there are none.
+     */
+    private <T extends AbstractCacheNode> T insertAfterHostInvokeNodes(T newNode, AbstractCacheNode head) {
+        List<AbstractCacheNode> hostInvokePrefix = new ArrayList<>();
+        AbstractCacheNode rest = head;
+        for (AbstractCacheNode c = head; c != null; c = c.nextNode) {
+            if (c instanceof HostInvokeCacheNode) {
+                while (rest != c.nextNode) {
+                    hostInvokePrefix.add(rest);
+                    rest = rest.nextNode;
+                }
+            }
+        }
+        if (hostInvokePrefix.isEmpty()) {
+            return insertAtFront(newNode, head);
+        }
+        newNode.nextNode = rest;
+        AbstractCacheNode newHead = newNode;
+        for (int i = hostInvokePrefix.size() - 1; i >= 0; i--) {
+            newHead = hostInvokePrefix.get(i).withNext(newHead);
+        }
+        insert(newHead);
+        this.cacheNode = newHead;
+        reportPolymorphicSpecialize();
+        return newNode;
+    }
+
     private <T extends AbstractCacheNode> T insertAtFront(T newNode, AbstractCacheNode head) {
         insert(newNode);
         newNode.nextNode = head;
@@ -1421,8 +1517,12 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         @Child protected InteropLibrary interop;
 
         ForeignExecuteNode(int expectedArgumentCount) {
+            this(expectedArgumentCount, InteropLibrary.getFactory().createDispatched(3));
+        }
+
+        ForeignExecuteNode(int expectedArgumentCount, InteropLibrary interop) {
             super(expectedArgumentCount);
-            this.interop = InteropLibrary.getFactory().createDispatched(3);
+            this.interop = interop;
         }
 
         @Override
@@ -1437,7 +1537,7 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         }
     }
 
-    private static final class ForeignInvokeNode extends ForeignExecuteNode {
+    private static class ForeignInvokeNode extends ForeignExecuteNode {
         private final String functionName;
         private final ValueProfile thisClassProfile = ValueProfile.createClassProfile();
         @Child protected Node invokeNode;
@@ -1451,6 +1551,11 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
             this.functionName = functionName;
         }
 
+        ForeignInvokeNode(String functionName, int expectedArgumentCount, InteropLibrary interop) {
+            super(expectedArgumentCount, interop);
+            this.functionName = functionName;
+        }
+
         @Override
         public Object executeCall(Object[] arguments) {
             Object receiver = thisClassProfile.profile(JSArguments.getThisObject(arguments));
@@ -1493,7 +1598,7 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
             return convertForeignReturn(callReturn);
         }
 
-        private JSContext getContext() {
+        protected final JSContext getContext() {
             if (languageRef == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 languageRef = lookupLanguageReference(JavaScriptLanguage.class);
@@ -1502,6 +1607,47 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         }
     }
 
+    /**
+     * Invokes methods on host objects of a single Java class (or on a single host class). The
+     * interop library is specialized to the receiver, so the member lookup and overload selection
+     * caches of the host object, and the argument and return value conversions of this node, are
+     * only shared by receivers of the same type. Once more than
+     * {@link JSTruffleOptions#FunctionCacheLimit} types are seen, the call site is rewritten to the
+     * generic {@link ForeignInvokeNode}.
+     */
+    private static final class HostInvokeCacheNode extends ForeignInvokeNode {
+        private final Object hostType;
+        /** Whether the receivers are host classes (static members) rather than instances. */
+        private final boolean staticReceiver;
+        @CompilationFinal private ContextReference<JSRealm> realmRef;
+
+        HostInvokeCacheNode(String functionName, int expectedArgumentCount, Object receiver, Object hostType) {
+            super(functionName, expectedArgumentCount, InteropLibrary.getFactory().create(receiver));
+            this.hostType = hostType;
+            this.staticReceiver = JavaScriptLanguage.getCurrentEnv().asHostObject(receiver) instanceof Class<?>;
+        }
+
+        @Override
+        protected boolean accept(Object function) {
+            // the library was created for a host object, so it rejects other foreign objects
+            if (!JSGuards.isForeignObject(function) || !interop.accepts(function)) {
+                return false;
+            }
+            if (realmRef == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                realmRef = lookupContextReference(JavaScriptLanguage.class);
+            }
+            TruffleLanguage.Env env = realmRef.get().getEnv();
+            assert env.isHostObject(function);
+            Object hostObject = env.asHostObject(function);
+            if (staticReceiver) {
+                return hostObject == hostType;
+            } else {
+                return hostObject != null && hostObject.getClass() == hostType;
+            }
+        }
+    }
+
     private static class ForeignInstantiateNode extends ForeignCallNode {
         @Child protected InteropLibrary interop;
         private final int skip;
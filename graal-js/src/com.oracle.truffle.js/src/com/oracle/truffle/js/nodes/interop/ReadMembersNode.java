@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.interop;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+
+/**
+ * Reads several properties of a JavaScript object at once. The keys are resolved once per shape:
+ * keys that are own data properties of an ordinary object are read directly from their locations,
+ * all other keys (missing, accessor or proxy properties, exotic objects) with ordinary [[Get]]
+ * semantics.
+ */
+@ImportStatic(JSTruffleOptions.class)
+public abstract class ReadMembersNode extends JavaScriptBaseNode {
+
+    ReadMembersNode() {
+    }
+
+    public static ReadMembersNode create() {
+        return ReadMembersNodeGen.create();
+    }
+
+    /**
+     * Returns the values of the properties {@code keys} of {@code target}, in the same order.
+     * Missing properties are read as {@code undefined}.
+     */
+    public abstract Object[] execute(DynamicObject target, String[] keys);
+
+    @Specialization(guards = {"cachedShape.check(target)", "equalKeys(cachedKeys, keys)"}, assumptions = "cachedShape.getValidAssumption()", limit = "PropertyCacheLimit")
+    static Object[] doCached(DynamicObject target, @SuppressWarnings("unused") String[] keys,
+                    @Cached("target.getShape()") @SuppressWarnings("unused") Shape cachedShape,
+                    @Cached(value = "keys", dimensions = 1) String[] cachedKeys,
+                    @Cached(value = "getOwnDataProperties(cachedShape, keys, false)", dimensions = 1) Property[] properties) {
+        return readProperties(target, cachedKeys, properties);
+    }
+
+    @ExplodeLoop
+    private static Object[] readProperties(DynamicObject target, String[] keys, Property[] properties) {
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            values[i] = property != null ? property.get(target, true) : get(target, keys[i]);
+        }
+        return values;
+    }
+
+    @TruffleBoundary
+    private static Object get(DynamicObject target, String key) {
+        return JSObject.get(target, key);
+    }
+
+    @TruffleBoundary
+    @Specialization(replaces = "doCached")
+    static Object[] doGeneric(DynamicObject target, String[] keys) {
+        Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = JSObject.get(target, keys[i]);
+        }
+        return values;
+    }
+
+    @ExplodeLoop
+    static boolean equalKeys(String[] cachedKeys, String[] keys) {
+        if (cachedKeys.length != keys.length) {
+            return false;
+        }
+        for (int i = 0; i < cachedKeys.length; i++) {
+            if (!cachedKeys[i].equals(keys[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the keys to own data properties of an ordinary object with the given shape. The
+     * entry of a key is {@code null} if the key has to be accessed with ordinary semantics, i.e.,
+     * if it is missing, an accessor or proxy property, if the object is not ordinary, or (if
+     * {@code writable} is set) if it cannot be written directly to its location.
+     */
+    static Property[] getOwnDataProperties(Shape shape, String[] keys, boolean writable) {
+        Property[] properties = new Property[keys.length];
+        if (shape.getObjectType() != JSUserObject.INSTANCE) {
+            return properties;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            Property property = shape.getProperty(keys[i]);
+            if (property == null || !JSProperty.isData(property) || JSProperty.isProxy(property)) {
+                continue;
+            }
+            if (writable && (!JSProperty.isWritable(property) || property.getLocation().isFinal())) {
+                continue;
+            }
+            properties[i] = property;
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.interop;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.FinalLocationException;
+import com.oracle.truffle.api.object.IncompatibleLocationException;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Writes several properties of a JavaScript object at once. The keys are resolved once per shape:
+ * values of keys that are existing writable data properties of an ordinary object are stored
+ * directly into their locations, as long as the locations can hold the values and the shape of the
+ * object has not been changed by a preceding write. All other keys are written with ordinary strict
+ * [[Set]] semantics.
+ *
+ * @see ReadMembersNode
+ */
+@ImportStatic({JSTruffleOptions.class, ReadMembersNode.class})
+public abstract class WriteMembersNode extends JavaScriptBaseNode {
+
+    WriteMembersNode() {
+    }
+
+    public static WriteMembersNode create() {
+        return WriteMembersNodeGen.create();
+    }
+
+    public abstract void execute(DynamicObject target, String[] keys, Object[] values);
+
+    @Specialization(guards = {"cachedShape.check(target)", "equalKeys(cachedKeys, keys)"}, assumptions = "cachedShape.getValidAssumption()", limit = "PropertyCacheLimit")
+    static void doCached(DynamicObject target, String[] keys, Object[] values,
+                    @Cached("target.getShape()") Shape cachedShape,
+                    @Cached(value = "keys", dimensions = 1) String[] cachedKeys,
+                    @Cached(value = "getOwnDataProperties(cachedShape, keys, true)", dimensions = 1) Property[] properties,
+                    @Cached("create()") BranchProfile incompatibleValueBranch,
+                    @Cached("create()") BranchProfile genericBranch) {
+        if (canSetAll(properties, values)) {
+            setProperties(target, cachedShape, cachedKeys, properties, values, genericBranch);
+        } else {
+            // at least one location has to be generalized, which changes the shape
+            incompatibleValueBranch.enter();
+            doGeneric(target, keys, values);
+        }
+    }
+
+    @ExplodeLoop
+    private static boolean canSetAll(Property[] properties, Object[] values) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i] != null && !properties[i].getLocation().canSet(values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @ExplodeLoop
+    private static void setProperties(DynamicObject target, Shape shape, String[] keys, Property[] properties, Object[] values, BranchProfile genericBranch) {
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            // a preceding [[Set]] (e.g. adding a property or calling a setter) may change the shape
+            if (property != null && shape.check(target)) {
+                try {
+                    property.set(target, values[i], shape);
+                } catch (IncompatibleLocationException | FinalLocationException e) {
+                    throw Errors.shouldNotReachHere(e);
+                }
+            } else {
+                genericBranch.enter();
+                set(target, keys[i], values[i]);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static void set(DynamicObject target, String key, Object value) {
+        JSObject.set(target, key, value, true);
+    }
+
+    @TruffleBoundary
+    @Specialization(replaces = "doCached")
+    static void doGeneric(DynamicObject target, String[] keys, Object[] values) {
+        for (int i = 0; i < keys.length; i++) {
+            JSObject.set(target, keys[i], values[i], true);
+        }
+    }
+}
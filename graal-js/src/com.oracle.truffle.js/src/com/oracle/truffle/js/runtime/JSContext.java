@@ -131,6 +131,7 @@ import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.CompilableFunction;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.RuntimeTelemetry;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
 public class JSContext {
@@ -181,6 +182,9 @@ public class JSContext {
 
     private final TimeProfiler timeProfiler;
 
+    /** Runtime event counters, or {@code null} if the telemetry option is disabled. */
+    private final RuntimeTelemetry telemetry;
+
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
     /** The RegExp engine in use, may be JoniRegexEngine or the TRegex engine. */
@@ -274,6 +278,8 @@ public class JSContext {
         SharedArrayBufferGetByteLength,
         FunctionAsyncIterator,
         IsGraalRuntime,
+        GraalTelemetry,
+        GraalResetTelemetry,
     }
 
     @CompilationFinal(dimensions = 1) private final JSFunctionData[] builtinFunctionData;
@@ -420,6 +426,7 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = JSTruffleOptions.ProfileTime ? new TimeProfiler() : null;
+        this.telemetry = contextOptions.isTelemetry() ? new RuntimeTelemetry() : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
         this.noChildRealmsAssumption = Truffle.getRuntime().createAssumption("no child realms");
@@ -673,6 +680,14 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the runtime event registry of this context, or {@code null} if telemetry is not
+     * enabled.
+     */
+    public RuntimeTelemetry getTelemetry() {
+        return telemetry;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -343,6 +343,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSTruffleOptions.StringLengthLimit);
     @CompilationFinal private int stringLengthLimit;
 
+    public static final String TELEMETRY_NAME = JS_OPTION_PREFIX + "telemetry";
+    @Option(name = TELEMETRY_NAME, category = OptionCategory.EXPERT, help = "Record property cache, function cache and array transition events per source location.") //
+    public static final OptionKey<Boolean> TELEMETRY = new OptionKey<>(false);
+    @CompilationFinal private boolean telemetry;
+
     JSContextOptions(JSParserOptions parserOptions, OptionValues optionValues) {
         this.parserOptions = parserOptions;
         this.optionValues = optionValues;
@@ -411,6 +416,7 @@ public final class JSContextOptions {
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
+        this.telemetry = readBooleanOption(TELEMETRY);
     }
 
     private boolean patchBooleanOption(OptionKey<Boolean> key, String name, boolean oldValue, Consumer<String> invalidate) {
@@ -667,6 +673,10 @@ public final class JSContextOptions {
         return stringLengthLimit;
     }
 
+    public boolean isTelemetry() {
+        return telemetry;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -700,6 +710,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
+        hash = 53 * hash + (this.telemetry ? 1 : 0);
         return hash;
     }
 
@@ -802,6 +813,9 @@ public final class JSContextOptions {
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
+        if (this.telemetry != other.telemetry) {
+            return false;
+        }
         return Objects.equals(this.parserOptions, other.parserOptions);
     }
 }
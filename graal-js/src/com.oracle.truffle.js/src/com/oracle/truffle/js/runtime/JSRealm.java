@@ -47,6 +47,7 @@ import java.io.Writer;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,6 +67,7 @@ import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
@@ -142,11 +144,14 @@ import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.LocalTimeZoneHolder;
+import com.oracle.truffle.js.runtime.util.Pair;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
+import com.oracle.truffle.js.runtime.util.RuntimeTelemetry;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
 /**
@@ -309,6 +314,17 @@ public class JSRealm {
 
     private DynamicObject scriptEngineImportScope;
 
+    /**
+     * Properties of the global object and the builtins reachable from it, recorded by
+     * {@link #snapshotGlobalState()}, or {@code null}.
+     */
+    private Map<DynamicObject, List<Pair<Property, Object>>> globalStateSnapshot;
+    /**
+     * Prototypes of the objects in {@link #globalStateSnapshot} that were extensible when the
+     * snapshot was taken (the prototype of the other ones cannot change).
+     */
+    private Map<DynamicObject, DynamicObject> globalStatePrototypes;
+
     private TruffleLanguage.Env truffleLanguageEnv;
 
     /**
@@ -1115,6 +1131,12 @@ public class JSRealm {
         if (context.getContextOptions().isScriptEngineGlobalScopeImport()) {
             JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), "importScriptEngineGlobalBindings",
                             lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, "importScriptEngineGlobalBindings"), JSAttributes.notConfigurableNotEnumerableNotWritable());
+            JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), "parseScriptEngineSource",
+                            lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, "parseScriptEngineSource"), JSAttributes.notConfigurableNotEnumerableNotWritable());
+            JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), "snapshotScriptEngineGlobalState",
+                            lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, "snapshotScriptEngineGlobalState"), JSAttributes.notConfigurableNotEnumerableNotWritable());
+            JSObjectUtil.putDataProperty(context, getScriptEngineImportScope(), "resetScriptEngineGlobalState",
+                            lookupFunction(GlobalBuiltins.GLOBAL_NASHORN_EXTENSIONS, "resetScriptEngineGlobalState"), JSAttributes.notConfigurableNotEnumerableNotWritable());
         }
         if (context.getContextOptions().isPolyglotBuiltin() && (getEnv().isPolyglotEvalAllowed() || getEnv().isPolyglotBindingsAccessAllowed())) {
             setupPolyglot();
@@ -1268,6 +1290,10 @@ public class JSRealm {
             JSObjectUtil.putDataProperty(context, graalObject, "versionJS", GRAALVM_VERSION, flags);
         }
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
+        if (context.getTelemetry() != null) {
+            JSObjectUtil.putDataProperty(context, graalObject, "telemetry", JSFunction.create(this, telemetryFunction(context)), flags);
+            JSObjectUtil.putDataProperty(context, graalObject, "resetTelemetry", JSFunction.create(this, resetTelemetryFunction(context)), flags);
+        }
         putGlobalProperty("Graal", graalObject);
     }
 
@@ -1287,6 +1313,49 @@ public class JSRealm {
         });
     }
 
+    /**
+     * Returns a snapshot of the context's runtime telemetry as an array of
+     * <code>{kind, location, detail, count}</code> records, most frequent first.
+     */
+    private static JSFunctionData telemetryFunction(JSContext context) {
+        return context.getOrCreateBuiltinFunctionData(BuiltinFunctionKey.GraalTelemetry, (c) -> {
+            return JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(new JavaScriptRootNode(context.getLanguage(), null, null) {
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    return telemetrySnapshot();
+                }
+
+                @TruffleBoundary
+                private DynamicObject telemetrySnapshot() {
+                    List<RuntimeTelemetry.Entry> entries = context.getTelemetry().getEntries();
+                    Object[] records = new Object[entries.size()];
+                    for (int i = 0; i < records.length; i++) {
+                        RuntimeTelemetry.Entry entry = entries.get(i);
+                        DynamicObject record = JSUserObject.create(context);
+                        JSObject.set(record, "kind", entry.getKind().name());
+                        JSObject.set(record, "location", entry.getLocation());
+                        JSObject.set(record, "detail", entry.getDetail());
+                        JSObject.set(record, "count", (double) entry.getCount());
+                        records[i] = record;
+                    }
+                    return JSArray.createConstant(context, records);
+                }
+            }), 0, "telemetry");
+        });
+    }
+
+    private static JSFunctionData resetTelemetryFunction(JSContext context) {
+        return context.getOrCreateBuiltinFunctionData(BuiltinFunctionKey.GraalResetTelemetry, (c) -> {
+            return JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(new JavaScriptRootNode(context.getLanguage(), null, null) {
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    context.getTelemetry().reset();
+                    return Undefined.instance;
+                }
+            }), 0, "resetTelemetry");
+        });
+    }
+
     public JSConstructor getSIMDTypeConstructor(SIMDTypeFactory<? extends SIMDType> factory) {
         return simdTypeConstructors[factory.getFactoryIndex()];
     }
@@ -1490,6 +1559,124 @@ public class JSRealm {
         return scriptEngineImportScope;
     }
 
+    /**
+     * Records the current properties and prototypes of the global object, of the objects stored in
+     * its properties (e.g. {@code Math} or the builtin constructors), of the {@code prototype}
+     * objects of these constructors and of the intrinsics that are not reachable by property access
+     * (e.g. {@code %TypedArray%} or the iterator prototypes), so that a script engine context can be
+     * returned to this state by {@link #resetGlobalState()} before it is reused.
+     */
+    @TruffleBoundary
+    public void snapshotGlobalState() {
+        Map<DynamicObject, List<Pair<Property, Object>>> snapshot = new IdentityHashMap<>();
+        List<Pair<Property, Object>> globals = snapshotProperties(globalObject);
+        snapshot.put(globalObject, globals);
+        for (Pair<Property, Object> global : globals) {
+            if (JSProperty.isData(global.getFirst()) && JSObject.isJSObject(global.getSecond())) {
+                DynamicObject builtin = (DynamicObject) global.getSecond();
+                snapshotObject(snapshot, builtin);
+                Property prototypeProperty = builtin.getShape().getProperty(JSObject.PROTOTYPE);
+                if (prototypeProperty != null && JSProperty.isData(prototypeProperty)) {
+                    snapshotObject(snapshot, prototypeProperty.get(builtin, false));
+                }
+            }
+        }
+        DynamicObject[] intrinsics = new DynamicObject[]{typedArrayConstructor, typedArrayPrototype, iteratorPrototype, arrayIteratorPrototype, setIteratorPrototype, mapIteratorPrototype,
+                        stringIteratorPrototype, regExpStringIteratorPrototype, segmentIteratorPrototype, asyncIteratorPrototype, generatorFunctionConstructor, generatorFunctionPrototype,
+                        generatorObjectPrototype, asyncFunctionConstructor, asyncFunctionPrototype, asyncGeneratorFunctionConstructor, asyncGeneratorFunctionPrototype,
+                        asyncGeneratorObjectPrototype};
+        for (DynamicObject intrinsic : intrinsics) {
+            snapshotObject(snapshot, intrinsic);
+        }
+        Map<DynamicObject, DynamicObject> prototypes = new IdentityHashMap<>();
+        for (DynamicObject object : snapshot.keySet()) {
+            if (JSObject.isExtensible(object)) {
+                prototypes.put(object, JSObject.getPrototype(object));
+            }
+        }
+        globalStateSnapshot = snapshot;
+        globalStatePrototypes = prototypes;
+    }
+
+    private static void snapshotObject(Map<DynamicObject, List<Pair<Property, Object>>> snapshot, Object object) {
+        if (JSObject.isJSObject(object) && !snapshot.containsKey(object)) {
+            snapshot.put((DynamicObject) object, snapshotProperties((DynamicObject) object));
+        }
+    }
+
+    private static List<Pair<Property, Object>> snapshotProperties(DynamicObject object) {
+        List<Pair<Property, Object>> properties = new ArrayList<>();
+        for (Property property : object.getShape().getPropertyList()) {
+            if (!(property.getKey() instanceof HiddenKey)) {
+                properties.add(new Pair<>(property, property.get(object, false)));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the global object and the builtins recorded by {@link #snapshotGlobalState()} to
+     * their recorded state: properties added since are removed (including non-configurable ones
+     * created by {@code var} and function declarations), modified or deleted ones are restored, as
+     * are changed prototypes, and all global lexical declarations are dropped. Other objects and
+     * indexed elements of builtin prototypes are not restored, nor is the {@code Symbol.for}
+     * registry (which is shared by all contexts of the engine).
+     *
+     * @return {@code false} if the state cannot be restored because a recorded object has been made
+     *         non-extensible (e.g. frozen); the context should not be reused then
+     */
+    @TruffleBoundary
+    public boolean resetGlobalState() {
+        if (globalStateSnapshot == null) {
+            throw Errors.createTypeError("no global state snapshot");
+        }
+        for (DynamicObject object : globalStatePrototypes.keySet()) {
+            if (!JSObject.isExtensible(object)) {
+                return false;
+            }
+        }
+        for (Map.Entry<DynamicObject, List<Pair<Property, Object>>> entry : globalStateSnapshot.entrySet()) {
+            resetProperties(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<DynamicObject, DynamicObject> entry : globalStatePrototypes.entrySet()) {
+            DynamicObject object = entry.getKey();
+            if (JSObject.getPrototype(object) != entry.getValue()) {
+                JSObject.setPrototype(object, entry.getValue());
+            }
+        }
+        for (Property property : globalScope.getShape().getPropertyList()) {
+            globalScope.delete(property.getKey());
+        }
+        return true;
+    }
+
+    private static void resetProperties(DynamicObject object, List<Pair<Property, Object>> snapshot) {
+        Map<Object, Property> snapshotProperties = new HashMap<>();
+        for (Pair<Property, Object> entry : snapshot) {
+            snapshotProperties.put(entry.getFirst().getKey(), entry.getFirst());
+        }
+        for (Property property : object.getShape().getPropertyList()) {
+            if (!(property.getKey() instanceof HiddenKey) && !snapshotProperties.containsKey(property.getKey())) {
+                object.delete(property.getKey());
+            }
+        }
+        for (Pair<Property, Object> entry : snapshot) {
+            Property original = entry.getFirst();
+            Object value = entry.getSecond();
+            Property current = object.getShape().getProperty(original.getKey());
+            if (current != null && current.getFlags() == original.getFlags() && current.get(object, false) == value) {
+                continue;
+            }
+            if (JSProperty.isProxy(original)) {
+                JSObjectUtil.defineProxyProperty(object, original.getKey(), (PropertyProxy) value, original.getFlags());
+            } else if (JSProperty.isAccessor(original)) {
+                JSObjectUtil.defineAccessorProperty(object, original.getKey(), (Accessor) value, original.getFlags());
+            } else {
+                JSObjectUtil.defineDataProperty(object, original.getKey(), value, original.getFlags());
+            }
+        }
+    }
+
     /**
      * Adds several objects to the global object, in case scripting mode is enabled (for Nashorn
      * compatibility). This includes an {@code $OPTIONS} property that exposes several options to
@@ -155,6 +155,8 @@ public final class JSTruffleOptions {
 
     // Java Interop options
     public static final boolean SingleThreaded = booleanOption("SingleThreaded", false);
+    /** Directory in which generated Java adapter bytecode is cached across runs (off if null). */
+    public static final String JavaAdapterCacheDirectory = stringOption("JavaAdapterCacheDirectory", null);
 
     // Tracing
     public static final boolean TracePolymorphicPropertyAccess = booleanOption("TracePolymorphicPropertyAccess", false);
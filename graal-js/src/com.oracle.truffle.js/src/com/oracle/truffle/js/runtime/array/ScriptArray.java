@@ -66,8 +66,10 @@ import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.RuntimeTelemetry;
 
 public abstract class ScriptArray {
 
@@ -373,8 +375,24 @@ public abstract class ScriptArray {
         return sb.toString();
     }
 
+    /**
+     * Reports a transition between array strategies to the array transition tracing and to the
+     * runtime telemetry of the object's context, if either is enabled.
+     */
+    protected static final void notifyArrayTransition(DynamicObject object, ScriptArray oldArray, ScriptArray newArray, long index, Object value) {
+        if (JSTruffleOptions.TraceArrayTransitions) {
+            traceArrayTransition(oldArray, newArray, index, value);
+        }
+        if (RuntimeTelemetry.isInUse()) {
+            RuntimeTelemetry telemetry = JSObject.getJSContext(object).getTelemetry();
+            if (telemetry != null) {
+                telemetry.recordArrayTransition(oldArray, newArray);
+            }
+        }
+    }
+
     @TruffleBoundary
-    protected static final void traceArrayTransition(ScriptArray oldArray, ScriptArray newArray, long index, Object value) {
+    private static void traceArrayTransition(ScriptArray oldArray, ScriptArray newArray, long index, Object value) {
         String access = oldArray.getClass().getSimpleName() + " -> " + newArray.getClass().getSimpleName();
 
         Stream<Node> nodeStream = null;
@@ -45,15 +45,22 @@ import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArra
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetByteBuffer;
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetLength;
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetOffset;
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
@@ -250,6 +257,258 @@ public abstract class TypedArray extends ScriptArray {
 
     public abstract void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value);
 
+    /**
+     * Copies {@code length} elements from a backing buffer ({@code byte[]} or {@link ByteBuffer})
+     * of {@code sourceType} into a backing buffer of {@code targetType}, converting each element
+     * without boxing. The buffers must not overlap and the element types must either both be
+     * BigInt or both be Number types.
+     */
+    @SuppressWarnings("unchecked")
+    public static void copyElementsConverting(TypedArray sourceType, Object sourceBuffer, int sourceOffset, TypedArray targetType, Object targetBuffer, int targetOffset, int targetIndex,
+                    int length) {
+        if (sourceType instanceof TypedIntArray && targetType instanceof TypedIntArray && !(sourceType instanceof AbstractUint32Array && targetType instanceof AbstractUint8ClampedArray)) {
+            TypedIntArray<Object> source = (TypedIntArray<Object>) sourceType;
+            TypedIntArray<Object> target = (TypedIntArray<Object>) targetType;
+            for (int i = 0; i < length; i++) {
+                target.setIntImpl(targetBuffer, targetOffset, targetIndex + i, source.getIntImpl(sourceBuffer, sourceOffset, i));
+            }
+        } else if (sourceType instanceof TypedBigIntArray && targetType instanceof TypedBigIntArray) {
+            TypedBigIntArray<Object> source = (TypedBigIntArray<Object>) sourceType;
+            TypedBigIntArray<Object> target = (TypedBigIntArray<Object>) targetType;
+            for (int i = 0; i < length; i++) {
+                target.setBigIntImpl(targetBuffer, targetOffset, targetIndex + i, source.getBigIntImpl(sourceBuffer, sourceOffset, i));
+            }
+        } else {
+            assert !(sourceType instanceof TypedBigIntArray) && !(targetType instanceof TypedBigIntArray);
+            // also used for Uint32 -> Uint8Clamped, which has to clamp the unsigned value
+            for (int i = 0; i < length; i++) {
+                setDoubleImpl(targetType, targetBuffer, targetOffset, targetIndex + i, getDoubleImpl(sourceType, sourceBuffer, sourceOffset, i));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double getDoubleImpl(TypedArray type, Object buffer, int offset, int index) {
+        if (type instanceof TypedIntArray) {
+            return ((TypedIntArray<Object>) type).getDoubleImpl(buffer, offset, index);
+        } else {
+            return ((TypedFloatArray<Object>) type).getDoubleImpl(buffer, offset, index);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setDoubleImpl(TypedArray type, Object buffer, int offset, int index, double value) {
+        if (type instanceof TypedIntArray) {
+            ((TypedIntArray<Object>) type).setDoubleImpl(buffer, offset, index, value);
+        } else {
+            ((TypedFloatArray<Object>) type).setDoubleImpl(buffer, offset, index, value);
+        }
+    }
+
+    /**
+     * Copies the first {@code length} elements of a dense int or double JS array into this typed
+     * array starting at {@code targetIndex}, converting each element without boxing.
+     *
+     * @return {@code false} if the source array does not have a dense int or double
+     *         representation (or this is a BigInt array), in which case nothing has been copied
+     */
+    @SuppressWarnings("unchecked")
+    public final boolean setElementsFromNumberArray(DynamicObject targetObject, int targetIndex, DynamicObject sourceObject, ScriptArray sourceType, int length) {
+        boolean intSource = sourceType instanceof AbstractIntArray || sourceType instanceof ConstantIntArray;
+        boolean doubleSource = sourceType instanceof AbstractDoubleArray || sourceType instanceof ConstantDoubleArray;
+        if (!(intSource || doubleSource) || sourceType.isHolesType() || this instanceof TypedBigIntArray) {
+            return false;
+        }
+        if (length == 0) {
+            return true;
+        }
+        if (sourceType.firstElementIndex(sourceObject) != 0 || sourceType.lastElementIndex(sourceObject) < length - 1) {
+            return false;
+        }
+        Object targetBuffer = getBufferFromTypedArray(targetObject, true);
+        int targetOffset = getOffset(targetObject, true);
+        if (intSource && this instanceof TypedIntArray) {
+            TypedIntArray<Object> target = (TypedIntArray<Object>) this;
+            for (int i = 0; i < length; i++) {
+                target.setIntImpl(targetBuffer, targetOffset, targetIndex + i, getIntFromNumberArray(sourceObject, sourceType, i));
+            }
+        } else if (intSource) {
+            for (int i = 0; i < length; i++) {
+                setDoubleImpl(this, targetBuffer, targetOffset, targetIndex + i, getIntFromNumberArray(sourceObject, sourceType, i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setDoubleImpl(this, targetBuffer, targetOffset, targetIndex + i, getDoubleFromNumberArray(sourceObject, sourceType, i));
+            }
+        }
+        return true;
+    }
+
+    private static int getIntFromNumberArray(DynamicObject object, ScriptArray type, int index) {
+        if (type instanceof ConstantIntArray) {
+            return ConstantIntArray.getElementInt(object, index, true);
+        } else {
+            return ((AbstractIntArray) type).getInBoundsFastInt(object, index, true);
+        }
+    }
+
+    private static double getDoubleFromNumberArray(DynamicObject object, ScriptArray type, int index) {
+        if (type instanceof ConstantDoubleArray) {
+            return ConstantDoubleArray.getElementDouble(object, index, true);
+        } else {
+            return ((AbstractDoubleArray) type).getInBoundsFastDouble(object, index, true);
+        }
+    }
+
+    /**
+     * Sorts the elements in ascending numeric order, as %TypedArray%.prototype.sort does without a
+     * comparator: -0 sorts before +0 and NaN sorts last (the order of Arrays.sort(double[])).
+     */
+    @SuppressWarnings("unchecked")
+    public final void sortElements(DynamicObject object, boolean condition) {
+        int length = lengthInt(object, condition);
+        Object buffer = getBufferFromTypedArray(object, condition);
+        int offset = getOffset(object, condition);
+        if (this instanceof TypedIntArray) {
+            TypedIntArray<Object> type = (TypedIntArray<Object>) this;
+            // flipping the sign bit maps unsigned order onto signed order
+            int bias = this instanceof AbstractUint32Array ? Integer.MIN_VALUE : 0;
+            int[] values = new int[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = type.getIntImpl(buffer, offset, i) ^ bias;
+            }
+            sortArray(values);
+            for (int i = 0; i < length; i++) {
+                type.setIntImpl(buffer, offset, i, values[i] ^ bias);
+            }
+        } else if (this instanceof TypedFloatArray) {
+            TypedFloatArray<Object> type = (TypedFloatArray<Object>) this;
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = type.getDoubleImpl(buffer, offset, i);
+            }
+            sortArray(values);
+            for (int i = 0; i < length; i++) {
+                type.setDoubleImpl(buffer, offset, i, values[i]);
+            }
+        } else {
+            TypedBigIntArray<Object> type = (TypedBigIntArray<Object>) this;
+            long bias = (this instanceof BigUint64Array || this instanceof DirectBigUint64Array) ? Long.MIN_VALUE : 0;
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = type.getBigIntImpl(buffer, offset, i).longValue() ^ bias;
+            }
+            sortArray(values);
+            for (int i = 0; i < length; i++) {
+                type.setBigIntImpl(buffer, offset, i, BigInt.valueOf(values[i] ^ bias));
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static void sortArray(int[] values) {
+        Arrays.sort(values);
+    }
+
+    @TruffleBoundary
+    private static void sortArray(double[] values) {
+        Arrays.sort(values);
+    }
+
+    @TruffleBoundary
+    private static void sortArray(long[] values) {
+        Arrays.sort(values);
+    }
+
+    /**
+     * Searches for a Number without boxing the elements, using strict equality (indexOf,
+     * lastIndexOf) or SameValueZero (includes). Scans from {@code fromIndex} up to the end of the
+     * array or, if {@code forward} is false, down to 0.
+     *
+     * @return the index of the first matching element, or -1
+     */
+    @SuppressWarnings("unchecked")
+    public final int indexOfNumber(DynamicObject object, double value, int fromIndex, boolean forward, boolean sameValueZero, boolean condition) {
+        int length = lengthInt(object, condition);
+        Object buffer = getBufferFromTypedArray(object, condition);
+        int offset = getOffset(object, condition);
+        if (this instanceof TypedIntArray) {
+            TypedIntArray<Object> type = (TypedIntArray<Object>) this;
+            long longValue = (long) value;
+            if (longValue != value) {
+                return -1; // NaN, fractional or out of range
+            }
+            boolean unsigned = this instanceof AbstractUint32Array;
+            if (unsigned ? (longValue < 0 || longValue > 0xFFFFFFFFL) : (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE)) {
+                return -1;
+            }
+            int intValue = (int) longValue;
+            if (forward) {
+                for (int i = fromIndex; i < length; i++) {
+                    if (type.getIntImpl(buffer, offset, i) == intValue) {
+                        return i;
+                    }
+                }
+            } else {
+                for (int i = Math.min(fromIndex, length - 1); i >= 0; i--) {
+                    if (type.getIntImpl(buffer, offset, i) == intValue) {
+                        return i;
+                    }
+                }
+            }
+        } else if (this instanceof TypedFloatArray) {
+            TypedFloatArray<Object> type = (TypedFloatArray<Object>) this;
+            boolean findNaN = sameValueZero && Double.isNaN(value);
+            if (forward) {
+                for (int i = fromIndex; i < length; i++) {
+                    double element = type.getDoubleImpl(buffer, offset, i);
+                    if (element == value || (findNaN && Double.isNaN(element))) {
+                        return i;
+                    }
+                }
+            } else {
+                for (int i = Math.min(fromIndex, length - 1); i >= 0; i--) {
+                    double element = type.getDoubleImpl(buffer, offset, i);
+                    if (element == value || (findNaN && Double.isNaN(element))) {
+                        return i;
+                    }
+                }
+            }
+        }
+        // a Number is never equal to a BigInt element
+        return -1;
+    }
+
+    /**
+     * Fills [start, end) with an already converted Number or BigInt value. The first element is
+     * converted and stored as usual and then replicated with bulk copies of doubling size.
+     */
+    public final void fillElements(DynamicObject object, int start, int end, Object value, boolean condition) {
+        if (start >= end) {
+            return;
+        }
+        setElement(object, start, value, false);
+        int elementSize = bytesPerElement();
+        int startByte = getOffset(object, condition) + start * elementSize;
+        int totalBytes = (end - start) * elementSize;
+        if (isDirect()) {
+            ByteBuffer buffer = getByteBuffer(object, condition);
+            for (int filled = elementSize; filled < totalBytes;) {
+                int count = Math.min(filled, totalBytes - filled);
+                ByteBuffer source = ((ByteBuffer) asBaseBuffer(buffer.duplicate()).position(startByte).limit(startByte + count)).slice();
+                ((ByteBuffer) asBaseBuffer(buffer.duplicate()).position(startByte + filled)).put(source);
+                filled += count;
+            }
+        } else {
+            byte[] array = getByteArray(object, condition);
+            for (int filled = elementSize; filled < totalBytes;) {
+                int count = Math.min(filled, totalBytes - filled);
+                System.arraycopy(array, startByte, array, startByte + filled, count);
+                filled += count;
+            }
+        }
+    }
+
     public static TypedArrayFactory[] factories(JSContext context) {
         if (context.getContextOptions().isBigInt()) {
             return TypedArrayFactory.FACTORIES;
@@ -302,6 +561,21 @@ public abstract class TypedArray extends ScriptArray {
         public abstract int getIntImpl(T buffer, int offset, int index);
 
         public abstract void setIntImpl(T buffer, int offset, int index, int value);
+
+        /**
+         * Reads an element as a double, preserving the unsigned range of Uint32 elements.
+         */
+        public double getDoubleImpl(T buffer, int offset, int index) {
+            return getIntImpl(buffer, offset, index);
+        }
+
+        /**
+         * Converts a double to this element type (ToInt32, or clamping for Uint8Clamped) and
+         * stores it.
+         */
+        public void setDoubleImpl(T buffer, int offset, int index, double value) {
+            setIntImpl(buffer, offset, index, JSRuntime.toInt32(value));
+        }
     }
 
     static final int INT8_BYTES_PER_ELEMENT = 1;
@@ -442,6 +716,11 @@ public abstract class TypedArray extends ScriptArray {
         public static int toInt(double value) {
             return (int) JSRuntime.mathRint(value);
         }
+
+        @Override
+        public void setDoubleImpl(T buffer, int offset, int index, double value) {
+            setIntImpl(buffer, offset, index, toInt(value));
+        }
     }
 
     public static final class Uint8ClampedArray extends AbstractUint8ClampedArray<byte[]> {
@@ -708,6 +987,11 @@ public abstract class TypedArray extends ScriptArray {
             assert hasElement(object, index, condition);
             return toUint32(getInt(object, (int) index, condition));
         }
+
+        @Override
+        public double getDoubleImpl(T buffer, int offset, int index) {
+            return getIntImpl(buffer, offset, index) & 0xFFFFFFFFL;
+        }
     }
 
     public static final class Uint32Array extends AbstractUint32Array<byte[]> {
@@ -130,9 +130,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         } else {
             newArray = createWritableIntContiguous(object, capacity, index, initialArray, profile);
         }
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         notifyAllocationSite(object, newArray);
         return newArray;
     }
@@ -168,9 +166,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         } else {
             newArray = createWritableDoubleContiguous(object, capacity, index, initialArray, profile);
         }
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         notifyAllocationSite(object, newArray);
         return newArray;
     }
@@ -196,9 +192,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         } else {
             newArray = createWritableJSObjectContiguous(object, capacity, index, initialArray, profile);
         }
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         notifyAllocationSite(object, newArray);
         return newArray;
     }
@@ -224,9 +218,7 @@ public abstract class AbstractConstantEmptyArray extends AbstractConstantArray {
         } else {
             newArray = createWritableObjectContiguous(object, capacity, index, initialArray, profile);
         }
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         notifyAllocationSite(object, newArray);
         return newArray;
     }
@@ -120,9 +120,7 @@ public final class ZeroBasedDoubleArray extends AbstractDoubleArray {
         int usedLength = getUsedLength(object, condition);
         Object[] doubleCopy = ArrayCopy.doubleToObject(array, 0, usedLength);
         ZeroBasedObjectArray newArray = ZeroBasedObjectArray.makeZeroBasedObjectArray(object, length, usedLength, doubleCopy, integrityLevel);
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         return newArray;
     }
 
@@ -132,9 +130,7 @@ public final class ZeroBasedDoubleArray extends AbstractDoubleArray {
         int length = lengthInt(object, condition);
         int usedLength = getUsedLength(object, condition);
         ContiguousDoubleArray newArray = ContiguousDoubleArray.makeContiguousDoubleArray(object, length, array, 0, 0, usedLength, integrityLevel);
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         return newArray;
     }
 
@@ -144,9 +140,7 @@ public final class ZeroBasedDoubleArray extends AbstractDoubleArray {
         int length = lengthInt(object, condition);
         int usedLength = getUsedLength(object, condition);
         HolesDoubleArray newArray = HolesDoubleArray.makeHolesDoubleArray(object, length, array, 0, 0, usedLength, 0, integrityLevel);
-        if (JSTruffleOptions.TraceArrayTransitions) {
-            traceArrayTransition(this, newArray, index, value);
-        }
+        notifyArrayTransition(object, this, newArray, index, value);
         return newArray;
     }
 
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.java.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+
+/**
+ * Persistent cache for the bytecode of generated Java adapter classes. The bytecode of an adapter
+ * only depends on the adapted types and on whether it supports class-level overrides, so it can be
+ * reused across runs instead of being generated again. Entries are keyed by a digest of the names
+ * and declared members of the adapted types and all their supertypes, and of the build of the
+ * generator itself; an entry is not used anymore once any of these changes. Unreadable or corrupt
+ * entries are replaced by regenerating the adapter.
+ *
+ * The cache is enabled by setting {@link JSTruffleOptions#JavaAdapterCacheDirectory}. It can be
+ * populated ahead of time for known adapter combinations with {@link #main(String[])}.
+ */
+final class JavaAdapterBytecodeCache {
+    private static final String FILE_SUFFIX = ".adapter";
+    /** Identifies the build of the generator, or {@code null} if it cannot be determined. */
+    private static final String GENERATOR_VERSION = computeGeneratorVersion();
+
+    private static final JavaAdapterBytecodeCache INSTANCE = JSTruffleOptions.JavaAdapterCacheDirectory == null ? null
+                    : new JavaAdapterBytecodeCache(Paths.get(JSTruffleOptions.JavaAdapterCacheDirectory));
+
+    private final Path directory;
+    private final ConcurrentMap<String, JavaAdapterClassLoader> loaded = new ConcurrentHashMap<>();
+
+    private JavaAdapterBytecodeCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the bytecode of the adapter for the given supertypes, taking it from the cache if
+     * enabled and generating it otherwise.
+     */
+    static JavaAdapterClassLoader getAdapterClassLoader(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader, boolean classOverride) {
+        if (INSTANCE == null) {
+            return new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride).createAdapterClassLoader();
+        }
+        return INSTANCE.getOrGenerate(superClass, interfaces, commonLoader, classOverride);
+    }
+
+    private JavaAdapterClassLoader getOrGenerate(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader, boolean classOverride) {
+        String key = computeKey(superClass, interfaces, classOverride);
+        if (key == null) {
+            return new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride).createAdapterClassLoader();
+        }
+        JavaAdapterClassLoader adapterLoader = loaded.get(key);
+        if (adapterLoader != null) {
+            return adapterLoader;
+        }
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        adapterLoader = read(file);
+        if (adapterLoader == null) {
+            adapterLoader = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride).createAdapterClassLoader();
+            write(file, adapterLoader.getClassBytes());
+        }
+        JavaAdapterClassLoader existing = loaded.putIfAbsent(key, adapterLoader);
+        return existing != null ? existing : adapterLoader;
+    }
+
+    /**
+     * Reads an entry and checks that it contains a well-formed class. A corrupt entry, e.g. one
+     * truncated by a full disk, is deleted so that it gets replaced by the regenerated adapter.
+     */
+    private static JavaAdapterClassLoader read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            byte[] classBytes = Files.readAllBytes(file);
+            ClassReader classReader = new ClassReader(classBytes);
+            classReader.accept(new ClassWriter(0), 0);
+            return new JavaAdapterClassLoader(classReader.getClassName(), classBytes);
+        } catch (IOException | SecurityException e) {
+            return null;
+        } catch (RuntimeException e) {
+            // ASM reports malformed class files with various unchecked exceptions
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException | SecurityException e2) {
+                // ignore, the entry is overwritten anyway
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes the entry to a temporary file first and then moves it into place, so that concurrent
+     * runs never read a partially written entry. Failures are ignored; the adapter just gets
+     * generated again next time.
+     */
+    private void write(Path file, byte[] classBytes) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "tmp", FILE_SUFFIX);
+            Files.write(tempFile, classBytes);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+        } catch (IOException | SecurityException e) {
+            // the cache is best-effort only
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the cache key for an adapter, or returns {@code null} if the adapted types cannot be
+     * introspected (in which case the adapter is not cached).
+     */
+    private static String computeKey(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride) {
+        if (GENERATOR_VERSION == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(GENERATOR_VERSION).append(' ').append(System.getProperty("java.specification.version"));
+        sb.append(' ').append(classOverride).append(' ').append(JSTruffleOptions.SingleThreaded);
+        sb.append('\n').append(superClass.getName());
+        for (Class<?> type : interfaces) {
+            sb.append(' ').append(type.getName());
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        try {
+            appendTypeSignature(sb, superClass, visited);
+            for (Class<?> type : interfaces) {
+                appendTypeSignature(sb, type, visited);
+            }
+        } catch (SecurityException | LinkageError e) {
+            return null;
+        }
+        try {
+            return toHexString(MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes a digest of the class files of the code that determines the generated bytecode, so
+     * that entries written by a different graal-js build are never used.
+     */
+    private static String computeGeneratorVersion() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            for (Class<?> type : new Class<?>[]{JavaAdapterBytecodeGenerator.class, JavaAdapterServices.class, JavaAdapterBytecodeCache.class}) {
+                try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                    if (in == null) {
+                        return null;
+                    }
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            return toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static void appendTypeSignature(StringBuilder sb, Class<?> type, Set<Class<?>> visited) {
+        if (type == null || !visited.add(type)) {
+            return;
+        }
+        List<String> members = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            members.add(method.toGenericString());
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            members.add(constructor.toGenericString());
+        }
+        Collections.sort(members);
+        sb.append('\n').append(type.getName()).append(' ').append(type.getModifiers());
+        for (String member : members) {
+            sb.append('\n').append(member);
+        }
+        appendTypeSignature(sb, type.getSuperclass(), visited);
+        for (Class<?> superInterface : type.getInterfaces()) {
+            appendTypeSignature(sb, superInterface, visited);
+        }
+    }
+
+    /**
+     * Pre-generates adapter bytecode into a cache directory.
+     *
+     * Usage: {@code JavaAdapterBytecodeCache <directory> <type>[,<type>...]...}, where every
+     * comma-separated list of class names is one adapter combination, as passed to
+     * {@code Java.extend}. Both the variant with and without class-level overrides is generated.
+     * The directory must be the one later configured with
+     * {@link JSTruffleOptions#JavaAdapterCacheDirectory}.
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length < 1) {
+            System.err.println("Usage: JavaAdapterBytecodeCache <directory> <type>[,<type>...]...");
+            System.exit(1);
+        }
+        JavaAdapterBytecodeCache cache = new JavaAdapterBytecodeCache(Paths.get(args[0]));
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        for (int i = 1; i < args.length; i++) {
+            Class<?> superClass = Object.class;
+            List<Class<?>> interfaces = new ArrayList<>();
+            for (String typeName : args[i].split(",")) {
+                Class<?> type = Class.forName(typeName.trim(), false, loader);
+                if (type.isInterface()) {
+                    interfaces.add(type);
+                } else if (superClass == Object.class) {
+                    superClass = type;
+                } else {
+                    throw new IllegalArgumentException("Can not extend multiple classes " + superClass.getName() + " and " + type.getName());
+                }
+            }
+            ClassLoader commonLoader = superClass != Object.class ? superClass.getClassLoader() : interfaces.isEmpty() ? loader : interfaces.get(0).getClassLoader();
+            cache.getOrGenerate(superClass, interfaces, commonLoader, false);
+            cache.getOrGenerate(superClass, interfaces, commonLoader, true);
+        }
+    }
+}
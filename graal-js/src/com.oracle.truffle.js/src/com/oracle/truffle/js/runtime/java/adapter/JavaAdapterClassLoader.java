@@ -77,6 +77,10 @@ final class JavaAdapterClassLoader {
         this.classBytes = classBytes;
     }
 
+    byte[] getClassBytes() {
+        return classBytes;
+    }
+
     /**
      * Loads the generated adapter class into the JVM.
      *
@@ -120,8 +120,7 @@ public final class JavaAdapterFactory {
 
     private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader) {
         boolean classOverride = classOverrides != null && JSRuntime.isObject(classOverrides);
-        JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
-        JavaAdapterClassLoader generatedClassLoader = bytecodeGenerator.createAdapterClassLoader();
+        JavaAdapterClassLoader generatedClassLoader = JavaAdapterBytecodeCache.getAdapterClassLoader(superClass, interfaces, commonLoader, classOverride);
 
         JavaAdapterServices.setClassOverrides(Context.getCurrent().asValue(classOverrides));
         try {
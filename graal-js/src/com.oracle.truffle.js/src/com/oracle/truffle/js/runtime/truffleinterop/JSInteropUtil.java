@@ -40,6 +40,11 @@
  */
 package com.oracle.truffle.js.runtime.truffleinterop;
 
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,10 +56,16 @@ import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.nodes.interop.ExportValueNode;
 import com.oracle.truffle.js.nodes.interop.JSForeignToJSTypeNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 /**
@@ -230,4 +241,157 @@ public final class JSInteropUtil {
             throw Errors.createTypeErrorInteropException(target, e, "instantiate", null);
         }
     }
+
+    /**
+     * Returns a ByteBuffer in native byte order that shares its memory with the given ArrayBuffer,
+     * SharedArrayBuffer or typed array, or {@code null} if the object is none of these.
+     */
+    @TruffleBoundary
+    public static ByteBuffer asByteBufferView(DynamicObject object) {
+        DynamicObject arrayBuffer;
+        int byteOffset;
+        int byteLength;
+        if (JSArrayBufferView.isJSArrayBufferView(object)) {
+            if (JSArrayBufferView.hasDetachedBuffer(object)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            arrayBuffer = JSArrayBufferView.getArrayBuffer(object);
+            byteOffset = JSArrayBufferView.typedArrayGetOffset(object);
+            byteLength = JSArrayBufferView.typedArrayGetLength(object) * JSArrayBufferView.typedArrayGetArrayType(object).bytesPerElement();
+        } else if (JSAbstractBuffer.isJSAbstractBuffer(object)) {
+            if (!JSSharedArrayBuffer.isJSSharedArrayBuffer(object) && JSArrayBuffer.isDetachedBuffer(object)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            arrayBuffer = object;
+            byteOffset = 0;
+            byteLength = -1;
+        } else {
+            return null;
+        }
+        ByteBuffer buffer;
+        if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+            byte[] byteArray = JSAbstractBuffer.getByteArray(arrayBuffer);
+            buffer = ByteBuffer.wrap(byteArray, byteOffset, byteLength < 0 ? byteArray.length : byteLength);
+        } else {
+            ByteBuffer backingBuffer = JSSharedArrayBuffer.isJSSharedArrayBuffer(arrayBuffer) ? JSSharedArrayBuffer.getDirectByteBuffer(arrayBuffer) : JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+            buffer = backingBuffer.duplicate();
+            asBaseBuffer(buffer).position(byteOffset).limit(byteLength < 0 ? buffer.capacity() : byteOffset + byteLength);
+        }
+        return buffer.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Copies the elements of a typed array into a new Java array of {@code componentType} with a
+     * single bulk transfer. Returns {@code null} if the Java type does not have exactly the value
+     * range of the element type (e.g. Int32Array and int, but not Uint32Array and int).
+     */
+    @TruffleBoundary
+    public static Object typedArrayToJavaArray(DynamicObject typedArray, Class<?> componentType) {
+        TypedArrayFactory factory = JSArrayBufferView.typedArrayGetArrayType(typedArray).getFactory();
+        if (factory != javaArrayElementFactory(componentType)) {
+            return null;
+        }
+        ByteBuffer buffer = asByteBufferView(typedArray);
+        int length = JSArrayBufferView.typedArrayGetLength(typedArray);
+        if (componentType == byte.class) {
+            byte[] array = new byte[length];
+            buffer.get(array);
+            return array;
+        } else if (componentType == short.class) {
+            short[] array = new short[length];
+            buffer.asShortBuffer().get(array);
+            return array;
+        } else if (componentType == int.class) {
+            int[] array = new int[length];
+            buffer.asIntBuffer().get(array);
+            return array;
+        } else if (componentType == long.class) {
+            long[] array = new long[length];
+            buffer.asLongBuffer().get(array);
+            return array;
+        } else if (componentType == float.class) {
+            float[] array = new float[length];
+            buffer.asFloatBuffer().get(array);
+            return array;
+        } else {
+            assert componentType == double.class;
+            double[] array = new double[length];
+            buffer.asDoubleBuffer().get(array);
+            return array;
+        }
+    }
+
+    private static TypedArrayFactory javaArrayElementFactory(Class<?> componentType) {
+        if (componentType == byte.class) {
+            return TypedArrayFactory.Int8Array;
+        } else if (componentType == short.class) {
+            return TypedArrayFactory.Int16Array;
+        } else if (componentType == int.class) {
+            return TypedArrayFactory.Int32Array;
+        } else if (componentType == long.class) {
+            return TypedArrayFactory.BigInt64Array;
+        } else if (componentType == float.class) {
+            return TypedArrayFactory.Float32Array;
+        } else if (componentType == double.class) {
+            return TypedArrayFactory.Float64Array;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the length of a Java primitive array that can be copied into a typed array of the
+     * given type with a single bulk transfer, or -1 if the element conversion is not a plain bit
+     * copy. Integral arrays may go into the signed or unsigned typed array of the same width,
+     * since ToIntN/ToUintN wrap exactly like the raw bits. A {@code char[]} is not bulk copyable:
+     * its elements are one-character strings in JavaScript, which are converted with ToNumber.
+     */
+    @TruffleBoundary
+    public static int getBulkCopyableJavaArrayLength(Object javaArray, TypedArrayFactory factory) {
+        boolean bulkCopyable;
+        switch (factory) {
+            case Int8Array:
+            case Uint8Array:
+                bulkCopyable = javaArray instanceof byte[];
+                break;
+            case Int16Array:
+            case Uint16Array:
+                bulkCopyable = javaArray instanceof short[];
+                break;
+            case Int32Array:
+            case Uint32Array:
+                bulkCopyable = javaArray instanceof int[];
+                break;
+            case Float32Array:
+                bulkCopyable = javaArray instanceof float[];
+                break;
+            case Float64Array:
+                bulkCopyable = javaArray instanceof double[];
+                break;
+            default:
+                bulkCopyable = false;
+                break;
+        }
+        return bulkCopyable ? Array.getLength(javaArray) : -1;
+    }
+
+    /**
+     * Copies a Java primitive array accepted by {@link #getBulkCopyableJavaArrayLength} into a
+     * typed array of the same length.
+     */
+    @TruffleBoundary
+    public static void copyJavaArrayToTypedArray(Object javaArray, DynamicObject typedArray) {
+        assert getBulkCopyableJavaArrayLength(javaArray, JSArrayBufferView.typedArrayGetArrayType(typedArray).getFactory()) == JSArrayBufferView.typedArrayGetLength(typedArray);
+        ByteBuffer buffer = asByteBufferView(typedArray);
+        if (javaArray instanceof byte[]) {
+            buffer.put((byte[]) javaArray);
+        } else if (javaArray instanceof short[]) {
+            buffer.asShortBuffer().put((short[]) javaArray);
+        } else if (javaArray instanceof int[]) {
+            buffer.asIntBuffer().put((int[]) javaArray);
+        } else if (javaArray instanceof float[]) {
+            buffer.asFloatBuffer().put((float[]) javaArray);
+        } else {
+            buffer.asDoubleBuffer().put((double[]) javaArray);
+        }
+    }
 }
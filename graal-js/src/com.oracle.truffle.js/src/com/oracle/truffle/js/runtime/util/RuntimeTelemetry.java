@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Records runtime events that are relevant for diagnosing performance problems, such as property
+ * and function cache rewrites and array strategy transitions, as counters keyed by event kind,
+ * source location and detail. Events are only ever recorded on slow paths (cache rewrites and
+ * array transitions), so the registry can be left enabled in production. Array transitions are
+ * counted exactly per kind, but only every {@value #ARRAY_TRANSITION_SAMPLE_INTERVAL}th transition
+ * is attributed to a location, since array strategies do not know the accessing node and finding
+ * the executing function requires a stack walk.
+ *
+ * @see com.oracle.truffle.js.runtime.JSContextOptions#TELEMETRY
+ */
+public final class RuntimeTelemetry {
+
+    public enum EventKind {
+        /** A property access cache was extended beyond its first entry. */
+        PolymorphicPropertyAccess,
+        /** A property access cache was replaced by the generic (uncached) access. */
+        MegamorphicPropertyAccess,
+        /** A property access cache invalidated code that depended on it. */
+        PropertyCacheInvalidation,
+        /** The array storage strategy of an object changed. */
+        ArrayTransition,
+        /** A function call site dropped its cached targets and went generic. */
+        FunctionCacheOverflow,
+        /** A function call site replaced a function instance cache with a function data cache. */
+        FunctionCacheRewrite,
+    }
+
+    /** Upper bound on the number of distinct entries; further events are only counted per kind. */
+    static final int MAX_ENTRIES = 4096;
+    /** Only every n-th array transition is attributed to a location. */
+    static final int ARRAY_TRANSITION_SAMPLE_INTERVAL = 16;
+    private static final String UNKNOWN_LOCATION = "<unknown>";
+
+    /** Valid as long as no context has enabled telemetry; guards code without a context at hand. */
+    private static final Assumption NO_TELEMETRY = Truffle.getRuntime().createAssumption("no runtime telemetry");
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<EventKind, AtomicLong> totals = new EnumMap<>(EventKind.class);
+
+    public RuntimeTelemetry() {
+        for (EventKind kind : EventKind.values()) {
+            totals.put(kind, new AtomicLong());
+        }
+        NO_TELEMETRY.invalidate();
+    }
+
+    /**
+     * Returns {@code true} if telemetry has been enabled in any context. Allows callers to skip
+     * looking up the context of an object on paths that report events, such as array transitions;
+     * this folds to a constant in compiled code.
+     */
+    public static boolean isInUse() {
+        return !NO_TELEMETRY.isValid();
+    }
+
+    /**
+     * Records an event at the source location of the given node.
+     */
+    @TruffleBoundary
+    public void record(EventKind kind, Node location, Object detail) {
+        totals.get(kind).incrementAndGet();
+        recordEntry(kind, formatLocation(location), detail);
+    }
+
+    /**
+     * Records an array strategy transition. Every transition is counted, but only a sample is
+     * attributed to the currently executing function, so the entries of this kind report sampled
+     * counts.
+     */
+    @TruffleBoundary
+    public void recordArrayTransition(Object oldArray, Object newArray) {
+        long previous = totals.get(EventKind.ArrayTransition).getAndIncrement();
+        if (previous % ARRAY_TRANSITION_SAMPLE_INTERVAL != 0) {
+            return;
+        }
+        String detail = oldArray.getClass().getSimpleName() + " -> " + newArray.getClass().getSimpleName();
+        recordEntry(EventKind.ArrayTransition, currentFunctionLocation(), detail);
+    }
+
+    private void recordEntry(EventKind kind, String location, Object detail) {
+        Key key = new Key(kind, location, detail == null ? "" : detail.toString());
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= MAX_ENTRIES) {
+                return;
+            }
+            entry = entries.computeIfAbsent(key, Entry::new);
+        }
+        entry.count.incrementAndGet();
+    }
+
+    /**
+     * Returns the total number of events of the given kind recorded since the last reset.
+     */
+    public long getCount(EventKind kind) {
+        return totals.get(kind).get();
+    }
+
+    /**
+     * Returns a snapshot of all recorded entries, most frequent first.
+     */
+    @TruffleBoundary
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries.values());
+        Collections.sort(result, (a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return result;
+    }
+
+    @TruffleBoundary
+    public void reset() {
+        entries.clear();
+        for (AtomicLong total : totals.values()) {
+            total.set(0);
+        }
+    }
+
+    private static String formatLocation(Node node) {
+        if (node == null) {
+            return UNKNOWN_LOCATION;
+        }
+        SourceSection sourceSection = node.getEncapsulatingSourceSection();
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            RootNode rootNode = node.getRootNode();
+            return rootNode == null ? UNKNOWN_LOCATION : rootNode.getName();
+        }
+        return sourceSection.getSource().getName() + ":" + sourceSection.getStartLine() + ":" + sourceSection.getStartColumn();
+    }
+
+    private static String currentFunctionLocation() {
+        FrameInstance frame = Truffle.getRuntime().getCurrentFrame();
+        if (frame == null || !(frame.getCallTarget() instanceof RootCallTarget)) {
+            return UNKNOWN_LOCATION;
+        }
+        RootNode rootNode = ((RootCallTarget) frame.getCallTarget()).getRootNode();
+        return formatLocation(rootNode);
+    }
+
+    private static final class Key {
+        final EventKind kind;
+        final String location;
+        final String detail;
+
+        Key(EventKind kind, String location, String detail) {
+            this.kind = kind;
+            this.location = location;
+            this.detail = detail;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && location.equals(other.location) && detail.equals(other.detail);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, location, detail);
+        }
+    }
+
+    public static final class Entry {
+        private final Key key;
+        private final AtomicLong count = new AtomicLong();
+
+        Entry(Key key) {
+            this.key = key;
+        }
+
+        public EventKind getKind() {
+            return key.kind;
+        }
+
+        /**
+         * The source location of the event in the form {@code name:line:column}, or the function
+         * name if no source section is available.
+         */
+        public String getLocation() {
+            return key.location;
+        }
+
+        /**
+         * Event-specific detail, e.g. the property key or the array strategies involved.
+         */
+        public String getDetail() {
+            return key.detail;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        @Override
+        public String toString() {
+            return key.kind + " " + key.location + " " + key.detail + ": " + getCount();
+        }
+    }
+}
@@ -93,6 +93,8 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("executePropertyHandlerDescriptor", "(JLjava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;Z)Ljava/lang/Object;", &GraalExecutePropertyHandlerDescriptor),
     CALLBACK("deallocate", "(J)V", &GraalDeallocate),
     CALLBACK("weakCallback", "(JJI)V", &GraalWeakCallback),
+    CALLBACK("deallocateAll", "([JI)V", &GraalDeallocateAll),
+    CALLBACK("weakCallbacks", "([J[J[II)V", &GraalWeakCallbacks),
     CALLBACK("notifyGCCallbacks", "(Z)V", &GraalNotifyGCCallbacks),
     CALLBACK("polyglotEngineEntered", "(JJJJJJ)V", &GraalPolyglotEngineEntered),
     CALLBACK("getCoreModuleBinarySnapshot", "(Ljava/lang/String;)Ljava/nio/ByteBuffer;", &GraalGetCoreModuleBinarySnapshot),
@@ -105,7 +107,10 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("readHostObject", "(J)Ljava/lang/Object;", &GraalReadHostObject),
     CALLBACK("throwDataCloneError", "(JLjava/lang/String;)V", &GraalThrowDataCloneError),
     CALLBACK("getSharedArrayBufferId", "(JLjava/lang/Object;)I", &GraalGetSharedArrayBufferId),
-    CALLBACK("getSharedArrayBufferFromId", "(JI)Ljava/lang/Object;", &GraalGetSharedArrayBufferFromId)
+    CALLBACK("getSharedArrayBufferFromId", "(JI)Ljava/lang/Object;", &GraalGetSharedArrayBufferFromId),
+    CALLBACK("setJNICallProfilingEnabled", "(Z)V", &GraalSetJNICallProfilingEnabled),
+    CALLBACK("getJNIMethodNames", "()[Ljava/lang/String;", &GraalGetJNIMethodNames),
+    CALLBACK("sampleJNICalls", "([J[JZ)V", &GraalSampleJNICalls)
  };
 
 static const int CALLBACK_COUNT = sizeof(callbacks) / sizeof(*callbacks);
@@ -163,23 +168,36 @@ jobject GraalExecuteFunction(JNIEnv* env, GraalIsolate* isolate, jint id, GraalF
     return isolate->CorrectReturnValue(**reinterpret_cast<GraalValue***> (&value), isolate->GetUndefined()->GetJavaObject());
 }
 
+static inline GraalValue* FromJavaObjectWithSharedType(GraalIsolate* isolate, jobject java_object, bool type_in_shared_buffer) {
+    if (type_in_shared_buffer) {
+        int32_t type = isolate->ReadInt32FromSharedBuffer();
+        return GraalValue::FromJavaObject(isolate, java_object, type, true);
+    } else {
+        return GraalValue::FromJavaObject(isolate, java_object);
+    }
+}
+
 jobject GraalExecuteFunction(JNIEnv* env, jclass nativeAccess, jint id, jobjectArray arguments, jboolean is_new, jboolean is_new_target, jobject java_context) {
     GraalIsolate* isolate = CurrentIsolateChecked();
     int length = env->GetArrayLength(arguments); // first is "this", second is "callee"
     int offset = is_new_target ? 3 : 2;
     std::vector<GraalValue*> values(length - offset + 1);
     v8::HandleScope scope(reinterpret_cast<v8::Isolate*> (isolate));
+    // the types of the arguments, this and new.target are in the shared buffer
+    // (unless they did not fit there), see GraalJSAccess.argumentTypesToSharedBuffer
+    isolate->ResetSharedBuffer();
+    bool types_in_shared_buffer = isolate->ReadInt32FromSharedBuffer() != 0;
     for (int i = 0; i < length - offset; i++) {
         jobject java_value = env->GetObjectArrayElement(arguments, i + offset);
-        GraalValue* graal_value = GraalValue::FromJavaObject(isolate, java_value);
+        GraalValue* graal_value = FromJavaObjectWithSharedType(isolate, java_value, types_in_shared_buffer);
         values[length - offset - 1 - i] = graal_value;
     }
     jobject java_this = env->GetObjectArrayElement(arguments, 0);
-    GraalValue* graal_this = GraalValue::FromJavaObject(isolate, java_this);
+    GraalValue* graal_this = FromJavaObjectWithSharedType(isolate, java_this, types_in_shared_buffer);
     GraalValue* graal_new_target;
     if (is_new_target) {
         jobject java_new_target = env->GetObjectArrayElement(arguments, 2);
-        graal_new_target = GraalValue::FromJavaObject(isolate, java_new_target);
+        graal_new_target = FromJavaObjectWithSharedType(isolate, java_new_target, types_in_shared_buffer);
     } else if (is_new) {
         graal_new_target = graal_this;
     } else {
@@ -613,6 +631,27 @@ void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong d
     }
 }
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count) {
+    jlong* elements = env->GetLongArrayElements(pointers, nullptr);
+    for (int i = 0; i < count; i++) {
+        free((void*) elements[i]);
+    }
+    env->ReleaseLongArrayElements(pointers, elements, JNI_ABORT);
+}
+
+void GraalWeakCallbacks(JNIEnv* env, jclass nativeAccess, jlongArray callbacks, jlongArray data, jintArray types, jint count) {
+    // Copy the batch first: the callbacks may call back into Java
+    std::vector<jlong> callback_elements(count);
+    std::vector<jlong> data_elements(count);
+    std::vector<jint> type_elements(count);
+    env->GetLongArrayRegion(callbacks, 0, count, callback_elements.data());
+    env->GetLongArrayRegion(data, 0, count, data_elements.data());
+    env->GetIntArrayRegion(types, 0, count, type_elements.data());
+    for (int i = 0; i < count; i++) {
+        GraalWeakCallback(env, nativeAccess, callback_elements[i], data_elements[i], type_elements[i]);
+    }
+}
+
 void GraalNotifyGCCallbacks(JNIEnv* env, jclass nativeAccess, jboolean prolog) {
     GraalIsolate* isolate = CurrentIsolateChecked();
     v8::HandleScope scope(reinterpret_cast<v8::Isolate*> (isolate));
@@ -642,9 +681,8 @@ jobject GraalGetCoreModuleBinarySnapshot(JNIEnv* env, jclass nativeAccess, jstri
     }
     env->ReleaseStringCritical(modulePath, module_path_utf16);
 
-    auto lookup = node_snapshots::snapshots.find(module_path);
-    if (lookup != node_snapshots::snapshots.end()) {
-        const node_snapshots::byte_buffer_t snapshot_buf = lookup->second;
+    node_snapshots::byte_buffer_t snapshot_buf;
+    if (node_snapshots::find(module_path.c_str(), &snapshot_buf)) {
         retval = env->NewDirectByteBuffer(snapshot_buf.ptr, snapshot_buf.len);
     }
 
@@ -772,3 +810,29 @@ jobject GraalGetSharedArrayBufferFromId(JNIEnv* env, jclass nativeAccess, jlong
         return reinterpret_cast<GraalHandleContent*> (*v8_buffer)->GetJavaObject();
     }
 }
+
+void GraalSetJNICallProfilingEnabled(JNIEnv* env, jclass nativeAccess, jboolean enabled) {
+    GraalIsolate* graal_isolate = CurrentIsolateChecked();
+    graal_isolate->SetJNIProfilerEnabled(enabled);
+}
+
+jobjectArray GraalGetJNIMethodNames(JNIEnv* env, jclass nativeAccess) {
+    GraalIsolate* graal_isolate = CurrentIsolateChecked();
+    jclass string_class = env->FindClass("java/lang/String");
+    jobjectArray names = env->NewObjectArray(GraalAccessMethod::count, string_class, nullptr);
+    for (int i = 0; i < GraalAccessMethod::count; i++) {
+        const char* name = graal_isolate->GetJNIMethodName(static_cast<GraalAccessMethod> (i));
+        if (name != nullptr) {
+            jstring java_name = env->NewStringUTF(name);
+            env->SetObjectArrayElement(names, i, java_name);
+            env->DeleteLocalRef(java_name);
+        }
+    }
+    env->DeleteLocalRef(string_class);
+    return names;
+}
+
+void GraalSampleJNICalls(JNIEnv* env, jclass nativeAccess, jlongArray counts, jlongArray nanos, jboolean reset) {
+    GraalIsolate* graal_isolate = CurrentIsolateChecked();
+    graal_isolate->SampleJNICalls(env, counts, nanos, reset);
+}
@@ -120,6 +120,10 @@ void GraalDeallocate(JNIEnv* env, jclass nativeAccess, jlong pointer);
 
 void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint type);
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count);
+
+void GraalWeakCallbacks(JNIEnv* env, jclass nativeAccess, jlongArray callbacks, jlongArray data, jintArray types, jint count);
+
 void GraalNotifyGCCallbacks(JNIEnv* env, jclass nativeAccess, jboolean prolog);
 
 void GraalPolyglotEngineEntered(JNIEnv* env, jclass nativeAccess, jlong functionPointer, jlong isolate, jlong param1, jlong param2, jlong args, jlong exec_args);
@@ -148,4 +152,10 @@ jint GraalGetSharedArrayBufferId(JNIEnv* env, jclass nativeAccess, jlong delegat
 
 jobject GraalGetSharedArrayBufferFromId(JNIEnv* env, jclass nativeAccess, jlong delegate, jint id);
 
+void GraalSetJNICallProfilingEnabled(JNIEnv* env, jclass nativeAccess, jboolean enabled);
+
+jobjectArray GraalGetJNIMethodNames(JNIEnv* env, jclass nativeAccess);
+
+void GraalSampleJNICalls(JNIEnv* env, jclass nativeAccess, jlongArray counts, jlongArray nanos, jboolean reset);
+
 #endif /* CALLBACKS_H_ */
@@ -73,22 +73,62 @@ bool GraalArrayBufferView::IsArrayBufferView() const {
     return true;
 }
 
+// Fetches both the byte length and the byte offset in one call (through the shared buffer)
+// because they are typically needed together
+void GraalArrayBufferView::LoadByteLengthAndOffset() {
+    GraalIsolate* graal_isolate = Isolate();
+    JNI_CALL_VOID(graal_isolate, GraalAccessMethod::array_buffer_view_byte_length_and_offset, GetJavaObject());
+    graal_isolate->ResetSharedBuffer();
+    byte_length_ = graal_isolate->ReadInt32FromSharedBuffer();
+    byte_offset_ = graal_isolate->ReadInt32FromSharedBuffer();
+}
+
 size_t GraalArrayBufferView::ByteLength() {
     if (byte_length_ == -1) {
-        JNI_CALL(jint, length, Isolate(), GraalAccessMethod::array_buffer_view_byte_length, Int, GetJavaObject());
-        byte_length_ = length;
+        LoadByteLengthAndOffset();
     }
     return byte_length_;
 }
 
 size_t GraalArrayBufferView::ByteOffset() {
     if (byte_offset_ == -1) {
-        JNI_CALL(jint, offset, Isolate(), GraalAccessMethod::array_buffer_view_byte_offset, Int, GetJavaObject());
-        byte_offset_ = offset;
+        LoadByteLengthAndOffset();
     }
     return byte_offset_;
 }
 
+size_t GraalArrayBufferView::Length() {
+    int element_size;
+    switch (type_) {
+        case kUint8Array:
+        case kUint8ClampedArray:
+        case kInt8Array:
+            element_size = 1;
+            break;
+        case kUint16Array:
+        case kInt16Array:
+            element_size = 2;
+            break;
+        case kUint32Array:
+        case kInt32Array:
+        case kFloat32Array:
+            element_size = 4;
+            break;
+        case kFloat64Array:
+        case kBigInt64Array:
+        case kBigUint64Array:
+            element_size = 8;
+            break;
+        default:
+            JNI_CALL(jint, length, Isolate(), GraalAccessMethod::typed_array_length, Int, GetJavaObject());
+            return length;
+    }
+    // The cached byte length is stale once the buffer gets detached (or transferred),
+    // refresh it so that the length drops to 0 like in V8
+    LoadByteLengthAndOffset();
+    return byte_length_ / element_size;
+}
+
 bool GraalArrayBufferView::IsUint8Array() const {
     return type_ == kUint8Array;
 }
@@ -66,6 +66,7 @@ public:
     bool IsDataView() const override;
     size_t ByteLength();
     size_t ByteOffset();
+    size_t Length();
     static const int kUnknownArray = 0;
     static const int kUint8Array = 1;
     static const int kUint8ClampedArray = 2;
@@ -82,6 +83,7 @@ public:
 protected:
     GraalHandleContent* CopyImpl(jobject java_object_copy) override;
 private:
+    void LoadByteLengthAndOffset();
     int type_;
     int byte_length_;
     int byte_offset_;
@@ -130,6 +130,7 @@ GraalIsolate* CurrentIsolate() {
 
 #define ACCESS_METHOD(id, name, signature) \
     jni_methods_[id] = jni_env_->GetMethodID(access_class_, name, signature); \
+    jni_method_names_[id] = name; \
     if (jni_methods_[id] == NULL) { \
         fprintf(stderr, "Method %s not found!\n", name); \
         exit(1); \
@@ -615,6 +616,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::value_strict_equals, "valueStrictEquals", "(Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::value_instance_of, "valueInstanceOf", "(Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_new, "objectNew", "(Ljava/lang/Object;)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::object_new_with_properties, "objectNewWithProperties", "(Ljava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::object_set, "objectSet", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_set_index, "objectSetIndex", "(Ljava/lang/Object;ILjava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_set_private, "objectSetPrivate", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Z")
@@ -642,6 +644,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::object_define_property, "objectDefineProperty", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;ZZZZZZ)Z")
     ACCESS_METHOD(GraalAccessMethod::object_preview_entries, "objectPreviewEntries", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_new, "arrayNew", "(Ljava/lang/Object;I)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::array_new_from_elements, "arrayNewFromElements", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_length, "arrayLength", "(Ljava/lang/Object;)J")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_new, "arrayBufferNew", "(Ljava/lang/Object;I)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_new_buffer, "arrayBufferNew", "(Ljava/lang/Object;Ljava/lang/Object;J)Ljava/lang/Object;")
@@ -649,6 +652,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::array_buffer_view_buffer, "arrayBufferViewBuffer", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_view_byte_length, "arrayBufferViewByteLength", "(Ljava/lang/Object;)I")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_view_byte_offset, "arrayBufferViewByteOffset", "(Ljava/lang/Object;)I")
+    ACCESS_METHOD(GraalAccessMethod::array_buffer_view_byte_length_and_offset, "arrayBufferViewByteLengthAndOffset", "(Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_is_external, "arrayBufferIsExternal", "(Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_externalize, "arrayBufferExternalize", "(Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_detach, "arrayBufferDetach", "(Ljava/lang/Object;)V")
@@ -691,6 +695,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::isolate_dispose, "isolateDispose", "(ZI)V")
     ACCESS_METHOD(GraalAccessMethod::isolate_enter_polyglot_engine, "isolateEnterPolyglotEngine", "(JJJJJJ)V")
     ACCESS_METHOD(GraalAccessMethod::isolate_perform_gc, "isolatePerformGC", "()V")
+    ACCESS_METHOD(GraalAccessMethod::isolate_check_memory_pressure, "isolateCheckMemoryPressure", "()V")
     ACCESS_METHOD(GraalAccessMethod::isolate_enable_promise_hook, "isolateEnablePromiseHook", "(Z)V")
     ACCESS_METHOD(GraalAccessMethod::isolate_enable_promise_reject_callback, "isolateEnablePromiseRejectCallback", "(Z)V")
     ACCESS_METHOD(GraalAccessMethod::isolate_enable_import_meta_initializer, "isolateEnableImportMetaInitializer", "(Z)V")
@@ -1183,6 +1188,15 @@ void GraalIsolate::RemoveCallback(std::vector<std::tuple<GCCallbackType,void*,vo
     }
 }
 
+void GraalIsolate::SampleJNICalls(JNIEnv* env, jlongArray counts, jlongArray nanos, bool reset) {
+    env->SetLongArrayRegion(counts, 0, GraalAccessMethod::count, jni_call_counts_);
+    env->SetLongArrayRegion(nanos, 0, GraalAccessMethod::count, jni_call_nanos_);
+    if (reset) {
+        memset(jni_call_counts_, 0, sizeof(jni_call_counts_));
+        memset(jni_call_nanos_, 0, sizeof(jni_call_nanos_));
+    }
+}
+
 void GraalIsolate::NotifyGCCallbacks(bool prolog) {
     std::vector<std::tuple<GCCallbackType, void*, void*>>&vector = prolog ? prolog_callbacks : epilog_callbacks;
     v8::Isolate* isolate = reinterpret_cast<v8::Isolate*> (this);
@@ -1203,6 +1217,11 @@ void GraalIsolate::NotifyGCCallbacks(bool prolog) {
             fprintf(stderr, "Unexpected callback type %d!\n", type);
         }
     }
+    if (!prolog) {
+        // Explicit collections (gc(), LowMemoryNotification() etc.) end here,
+        // the Java side resets its own baseline at the same time
+        ResetExternalMemoryBaseline();
+    }
 }
 
 void GraalIsolate::TerminateExecution() {
@@ -1350,6 +1369,20 @@ void GraalIsolate::EnqueueMicrotask(v8::MicrotaskCallback microtask, void* data)
     microtasks.push_back(std::pair<v8::MicrotaskCallback, void*>(microtask, data));
 }
 
+void GraalIsolate::CheckMemoryPressure() {
+    // The collection is requested asynchronously, the baseline is reset
+    // so that we do not request it again on every allocation.
+    JNI_CALL_VOID(this, GraalAccessMethod::isolate_check_memory_pressure);
+    ResetExternalMemoryBaseline();
+}
+
+void GraalIsolate::ResetExternalMemoryBaseline() {
+    // The external memory that survived the collection is the new baseline
+    const int external_memory = v8::internal::Internals::kExternalMemoryOffset / v8::internal::kApiSystemPointerSize;
+    const int external_memory_at_last_mc = v8::internal::Internals::kExternalMemoryAtLastMarkCompactOffset / v8::internal::kApiSystemPointerSize;
+    slot[external_memory_at_last_mc] = slot[external_memory];
+}
+
 void GraalIsolate::RunMicrotasks() {
     for (std::pair<v8::MicrotaskCallback, void*> pair : microtasks) {
         pair.first(pair.second);
@@ -46,6 +46,7 @@
 #include "graal_handle_content.h"
 #include "include/v8.h"
 #include "jni.h"
+#include <chrono>
 #include <string.h>
 #include <vector>
 #ifdef DEBUG
@@ -63,6 +64,7 @@
         jmethodID method_id_tmp = graal_isolate_tmp->GetJNIMethod(id); \
         jobject access_tmp = graal_isolate_tmp->GetGraalAccess(); \
         JNIEnv *env_tmp = graal_isolate_tmp->GetJNIEnv(); \
+        JNICallCounter jni_call_counter_tmp(graal_isolate_tmp, id); \
         variable equals env_tmp->functions->Call ## type ## Method(env_tmp, access_tmp, method_id_tmp, ##__VA_ARGS__); \
         if (GraalIsolate::InternalErrorCheckEnabled()) { \
             graal_isolate_tmp->InternalErrorCheck(); \
@@ -121,6 +123,7 @@ enum GraalAccessMethod {
     value_strict_equals,
     value_instance_of,
     object_new,
+    object_new_with_properties,
     object_set,
     object_set_index,
     object_set_private,
@@ -148,6 +151,7 @@ enum GraalAccessMethod {
     object_define_property,
     object_preview_entries,
     array_new,
+    array_new_from_elements,
     array_length,
     array_buffer_new,
     array_buffer_new_buffer,
@@ -155,6 +159,7 @@ enum GraalAccessMethod {
     array_buffer_view_buffer,
     array_buffer_view_byte_length,
     array_buffer_view_byte_offset,
+    array_buffer_view_byte_length_and_offset,
     array_buffer_is_external,
     array_buffer_externalize,
     array_buffer_detach,
@@ -197,6 +202,7 @@ enum GraalAccessMethod {
     isolate_dispose,
     isolate_enter_polyglot_engine,
     isolate_perform_gc,
+    isolate_check_memory_pressure,
     isolate_enable_promise_hook,
     isolate_enable_promise_reject_callback,
     isolate_enable_import_meta_initializer,
@@ -385,6 +391,8 @@ public:
     void Exit();
     void HandleEmptyCallResult();
     void EnqueueMicrotask(v8::Local<v8::Function> microtask);
+    void CheckMemoryPressure();
+    void ResetExternalMemoryBaseline();
 
     enum GCCallbackType {
         kIsolateGCCallbackType = 0,
@@ -444,6 +452,25 @@ public:
         return jni_methods_[id];
     }
 
+    inline bool JNIProfilerEnabled() {
+        return jni_profiler_enabled_;
+    }
+
+    inline void SetJNIProfilerEnabled(bool enabled) {
+        jni_profiler_enabled_ = enabled;
+    }
+
+    inline void RecordJNICall(GraalAccessMethod id, jlong nanos) {
+        jni_call_counts_[id]++;
+        jni_call_nanos_[id] += nanos;
+    }
+
+    inline const char* GetJNIMethodName(GraalAccessMethod id) {
+        return jni_method_names_[id];
+    }
+
+    void SampleJNICalls(JNIEnv* env, jlongArray counts, jlongArray nanos, bool reset);
+
     inline jfieldID GetJNIField(GraalAccessField id) {
         return jni_fields_[static_cast<int>(id)];
     }
@@ -646,6 +673,10 @@ private:
     jobject double_placeholder_;
     v8::Value* internal_field_count_key_;
     jmethodID jni_methods_[GraalAccessMethod::count];
+    const char* jni_method_names_[GraalAccessMethod::count] = {};
+    bool jni_profiler_enabled_ = false;
+    jlong jni_call_counts_[GraalAccessMethod::count] = {};
+    jlong jni_call_nanos_[GraalAccessMethod::count] = {};
     jfieldID jni_fields_[static_cast<int>(GraalAccessField::count)];
     jfieldID cleanerField_;
     jfieldID thunkField_;
@@ -712,5 +743,28 @@ private:
     v8::FatalErrorCallback fatal_error_handler_;
 };
 
+// Measures a single native->Java call when the JNI boundary profiler is on.
+// The check is a plain field load so that the disabled case stays cheap.
+class JNICallCounter {
+public:
+    inline JNICallCounter(GraalIsolate* isolate, GraalAccessMethod id) : isolate_(isolate), id_(id), enabled_(isolate->JNIProfilerEnabled()) {
+        if (enabled_) {
+            start_ = std::chrono::steady_clock::now();
+        }
+    }
+
+    inline ~JNICallCounter() {
+        if (enabled_) {
+            std::chrono::nanoseconds elapsed = std::chrono::steady_clock::now() - start_;
+            isolate_->RecordJNICall(id_, elapsed.count());
+        }
+    }
+private:
+    GraalIsolate* isolate_;
+    GraalAccessMethod id_;
+    bool enabled_;
+    std::chrono::steady_clock::time_point start_;
+};
+
 #endif /* GRAAL_ISOLATE_H_ */
 
@@ -67,6 +67,24 @@ v8::Local<v8::Object> GraalObject::New(v8::Isolate* isolate) {
     return reinterpret_cast<v8::Object*> (graal_object);
 }
 
+v8::Local<v8::Object> GraalObject::New(v8::Isolate* isolate, v8::Local<v8::Value> prototype_or_null, v8::Local<v8::Name>* names, v8::Local<v8::Value>* values, size_t length) {
+    GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    jobject java_context = graal_isolate->CurrentJavaContext();
+    jobject java_prototype = reinterpret_cast<GraalValue*> (*prototype_or_null)->GetJavaObject();
+    jobjectArray java_names = env->NewObjectArray(length, graal_isolate->GetObjectClass(), nullptr);
+    jobjectArray java_values = env->NewObjectArray(length, graal_isolate->GetObjectClass(), nullptr);
+    for (size_t i = 0; i < length; i++) {
+        env->SetObjectArrayElement(java_names, i, reinterpret_cast<GraalValue*> (*names[i])->GetJavaObject());
+        env->SetObjectArrayElement(java_values, i, reinterpret_cast<GraalValue*> (*values[i])->GetJavaObject());
+    }
+    JNI_CALL(jobject, java_object, isolate, GraalAccessMethod::object_new_with_properties, Object, java_context, java_prototype, java_names, java_values);
+    env->DeleteLocalRef(java_names);
+    env->DeleteLocalRef(java_values);
+    GraalObject* graal_object = new GraalObject(graal_isolate, java_object);
+    return reinterpret_cast<v8::Object*> (graal_object);
+}
+
 bool GraalObject::Set(v8::Local<v8::Value> key, v8::Local<v8::Value> value) {
     jobject java_key = reinterpret_cast<GraalValue*> (*key)->GetJavaObject();
     jobject java_value = reinterpret_cast<GraalValue*> (*value)->GetJavaObject();
@@ -626,6 +626,10 @@ namespace v8 {
         return GraalObject::New(isolate);
     }
 
+    Local<Object> Object::New(Isolate* isolate, Local<Value> prototype_or_null, Local<Name>* names, Local<Value>* values, size_t length) {
+        return GraalObject::New(isolate, prototype_or_null, names, values, length);
+    }
+
     Maybe<bool> Object::SetAccessor(
             Local<Context> context,
             Local<Name> name,
@@ -971,11 +975,7 @@ namespace v8 {
     ArrayBufferViewNew(BigUint64Array, kBigUint64Array, big_uint64_array_new)
 
     size_t TypedArray::Length() {
-        GraalArrayBufferView* graal_typed_array = reinterpret_cast<GraalArrayBufferView*> (this);
-        jobject java_typed_array = graal_typed_array->GetJavaObject();
-        GraalIsolate* graal_isolate = graal_typed_array->Isolate();
-        JNI_CALL(jint, length, graal_isolate, GraalAccessMethod::typed_array_length, Int, java_typed_array);
-        return length;
+        return reinterpret_cast<GraalArrayBufferView*> (this)->Length();
     }
 
     Local<Script> UnboundScript::BindToCurrentContext() {
@@ -2710,7 +2710,7 @@ namespace v8 {
     }
 
     void Isolate::CheckMemoryPressure() {
-        TRACE
+        reinterpret_cast<GraalIsolate*> (this)->CheckMemoryPressure();
     }
 
     void HeapProfiler::RemoveBuildEmbedderGraphCallback(BuildEmbedderGraphCallback callback, void* data) {
@@ -3096,11 +3096,7 @@ namespace v8 {
     }
 
     Local<Array> Array::New(Isolate* isolate, Local<Value>* elements, size_t length) {
-        Local<Array> array = New(isolate, length);
-        for (int i=0; i<length; i++) {
-            array->Set(i, elements[i]);
-        }
-        return array;
+        return GraalArray::New(isolate, elements, length);
     }
 
     Local<Set> Set::New(Isolate* isolate) {
@@ -28,6 +28,7 @@ const {
   byteLengthUtf8,
   compare: _compare,
   compareOffset,
+  copy: _copyActual,
   createFromString,
   fill: bindingFill,
   indexOfBuffer,
@@ -39,7 +40,7 @@ const {
   kMaxLength,
   kStringMaxLength,
   zeroFill: bindingZeroFill
-} = internalBinding('buffer');
+} = graalBuffer.patchBinding(internalBinding('buffer'));
 const {
   getOwnNonIndexProperties,
   propertyFilter: {
@@ -226,12 +227,7 @@ function _copy(source, target, targetStart, sourceStart, sourceEnd) {
   if (nb > sourceLen)
     nb = sourceLen;
 
-  if (sourceStart !== 0 || sourceEnd !== source.length)
-    source = new Uint8Array(source.buffer, source.byteOffset + sourceStart, nb);
-
-  target.set(source, targetStart);
-
-  return nb;
+  return _copyActual(source, target, targetStart, sourceStart, sourceStart + nb);
 }
 
 /**
@@ -42,14 +42,42 @@
 // When NIO buffers are enabled, GraalJSAccess ensures that this module is loaded with the builtins constructor as extra argument.
 const NIOBufferPrototypeAllocator = typeof graalExtension === 'undefined' ? arguments[arguments.length - 1] : graalExtension;
 
+let bufferBuiltin;
+
+function getBufferBuiltin(nativeUtf8Write, nativeUtf8Slice) {
+	if (bufferBuiltin === undefined) {
+		bufferBuiltin = NIOBufferPrototypeAllocator(nativeUtf8Write, nativeUtf8Slice);
+	}
+	return bufferBuiltin;
+}
+
 function patchBufferPrototype(proto) {
 	if (NIOBufferPrototypeAllocator) {
-		const bufferBuiltin = NIOBufferPrototypeAllocator(proto.utf8Write, proto.utf8Slice);
+		const bufferBuiltin = getBufferBuiltin(proto.utf8Write, proto.utf8Slice);
 		proto.utf8Write = bufferBuiltin.utf8Write;
 		proto.utf8Slice = bufferBuiltin.utf8Slice;
+		for (const encoding of ['latin1', 'ascii', 'ucs2', 'hex', 'base64']) {
+			proto[encoding + 'Write'] = bufferBuiltin[encoding + 'Write'];
+			proto[encoding + 'Slice'] = bufferBuiltin[encoding + 'Slice'];
+		}
 	}
 }
 
+// Returns a copy of the native buffer binding in which the functions
+// that operate on the backing memory only are replaced by the Java ones.
+function patchBufferBinding(binding) {
+	if (NIOBufferPrototypeAllocator) {
+		const bufferBuiltin = getBufferBuiltin(binding.utf8Write, binding.utf8Slice);
+		const patched = Object.assign({}, binding);
+		for (const name of ['compare', 'compareOffset', 'copy', 'indexOfBuffer', 'indexOfNumber', 'indexOfString']) {
+			patched[name] = bufferBuiltin[name];
+		}
+		return patched;
+	}
+	return binding;
+}
+
 module.exports = {
-	install: patchBufferPrototype
-}
\ No newline at end of file
+	install: patchBufferPrototype,
+	patchBinding: patchBufferBinding
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -38,23 +38,36 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package com.oracle.truffle.trufflenode;
 
-import java.lang.ref.Cleaner;
-import java.nio.ByteBuffer;
-
-final class Deallocator {
-
-    private final Cleaner cleaner;
-
-    Deallocator() {
-        this.cleaner = Cleaner.create();
-    }
-
-    public void register(ByteBuffer buffer, long pointer) {
-        cleaner.register(buffer, () -> {
-            NativeAccess.deallocate(pointer);
-        });
-    }
+const profiler = typeof graalExtension === 'undefined' ? arguments[arguments.length - 1] : graalExtension;
 
+// Counters of the transitions between JS/Java and native code. They cost
+// (almost) nothing while disabled, so they are available in every build.
+// sample() returns records {name, direction, calls, time} sorted by the
+// cumulative time (in milliseconds) spent in the calls; direction is
+// 'js->native' for native functions called from JS and 'native->java'
+// for engine operations called from native code (the time of the latter
+// includes any JS code they end up running).
+function monitorNativeBoundary() {
+	return {
+		enable() {
+			profiler.enable();
+			return this;
+		},
+		disable() {
+			profiler.disable();
+			return this;
+		},
+		sample(top = 0, reset = false) {
+			return profiler.sample(top, reset);
+		},
+		reset() {
+			profiler.sample(1, true);
+			return this;
+		}
+	};
 }
+
+module.exports = {
+	monitorNativeBoundary
+};
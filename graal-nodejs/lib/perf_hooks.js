@@ -49,6 +49,7 @@ const {
 } = require('internal/errors').codes;
 
 const { setImmediate } = require('timers');
+const { monitorNativeBoundary } = require('internal/graal/jni_profiler');
 const kHandle = Symbol('handle');
 const kMap = Symbol('map');
 const kCallback = Symbol('callback');
@@ -609,7 +610,8 @@ function monitorEventLoopDelay(options = {}) {
 module.exports = {
   performance,
   PerformanceObserver,
-  monitorEventLoopDelay
+  monitorEventLoopDelay,
+  monitorNativeBoundary
 };
 
 Object.defineProperty(module.exports, 'constants', {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,17 +40,79 @@
  */
 package com.oracle.truffle.trufflenode;
 
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
 import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class responsible for the deallocation of the external memory segments associated with Java
  * objects. A direct {@code ByteBuffer} created by a JNI call is built on top of an existing memory
  * segment whose life-cycle may be associated with the created buffer.
+ * <p>
+ * The buffers of all isolates are tracked by phantom references registered with one queue. A
+ * single daemon thread drains this queue and frees the memory of the collected buffers in batches
+ * (i.e., with one transition to the native code per batch).
+ * <p>
+ * When the external memory of an isolate grows significantly, a garbage collection is requested
+ * from a separate daemon thread, so that the allocation that exceeded the threshold does not wait
+ * for it. Requests of an isolate are coalesced until the collection has been performed.
  */
 final class Deallocator {
 
+    /**
+     * Maximum number of memory segments freed by one native call.
+     */
+    private static final int BATCH_SIZE = 256;
+    /**
+     * Growth of the external memory of an isolate (since the last garbage collection) that should
+     * trigger a new garbage collection. It matches {@code kExternalAllocationSoftLimit} of V8.
+     */
+    private static final long MEMORY_PRESSURE_THRESHOLD = 64 * 1024 * 1024;
+
+    /**
+     * Queue associated with the references that we use to determine whether the native memory of
+     * the corresponding {@code ByteBuffer} should be deallocated.
+     */
+    private static final ReferenceQueue<ByteBuffer> QUEUE = new ReferenceQueue<>();
+    /**
+     * Collection holding all the references to the buffers whose memory has not been deallocated
+     * yet.
+     */
+    private static final Set<ExternalMemory> ENQUEUED = ConcurrentHashMap.newKeySet();
+    /**
+     * Determines whether the cleanup thread has been started.
+     */
+    private static volatile boolean cleanupThreadStarted;
+    /**
+     * Performs the garbage collections requested because of the growth of external memory.
+     */
+    private static final ExecutorService COLLECTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "graal-nodejs-external-memory-gc");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Size (in bytes) of the external memory registered by this isolate that has not been
+     * deallocated yet.
+     */
+    private final AtomicLong externalMemory = new AtomicLong();
+    /**
+     * Value of {@link #externalMemory} after the last garbage collection.
+     */
+    private volatile long externalMemoryAtLastGC;
+    /**
+     * Determines whether a garbage collection has been requested and not performed yet.
+     */
+    private final AtomicBoolean collectionRequested = new AtomicBoolean();
+
     Deallocator() {
-        throw new UnsupportedOperationException();
     }
 
     /**
@@ -59,9 +121,97 @@ final class Deallocator {
      * @param buffer buffer whose memory should be deallocated once it is no longer used.
      * @param pointer pointer to the memory that should be deallocated.
      */
-    @SuppressWarnings("static-method")
     public void register(ByteBuffer buffer, long pointer) {
-        throw new UnsupportedOperationException();
+        if (!cleanupThreadStarted) {
+            startCleanupThread();
+        }
+        int size = buffer.capacity();
+        ENQUEUED.add(new ExternalMemory(buffer, pointer, size, this));
+        if (externalMemory.addAndGet(size) - externalMemoryAtLastGC > MEMORY_PRESSURE_THRESHOLD) {
+            requestCollection();
+        }
+    }
+
+    /**
+     * Requests a garbage collection on the collector thread. The request is ignored when another
+     * request of this isolate has not been performed yet.
+     */
+    public void requestCollection() {
+        if (collectionRequested.compareAndSet(false, true)) {
+            COLLECTOR.execute(() -> {
+                // Let the collected buffers reach the cleanup thread. Weak
+                // callbacks are left for the next poll on the isolate thread.
+                System.gc();
+                garbageCollected();
+            });
+        }
+    }
+
+    /**
+     * Notifies this deallocator that a garbage collection has been performed.
+     */
+    public void garbageCollected() {
+        externalMemoryAtLastGC = externalMemory.get();
+        collectionRequested.set(false);
+    }
+
+    /**
+     * Starts the cleanup thread (if it is not running already).
+     */
+    private static synchronized void startCleanupThread() {
+        if (cleanupThreadStarted) {
+            return;
+        }
+        Thread thread = new Thread("graal-nodejs-deallocator") {
+            @Override
+            public void run() {
+                long[] pointers = new long[BATCH_SIZE];
+                try {
+                    while (true) {
+                        ExternalMemory reference = (ExternalMemory) QUEUE.remove();
+                        int count = 0;
+                        do {
+                            ENQUEUED.remove(reference);
+                            reference.owner.externalMemory.addAndGet(-reference.size);
+                            pointers[count++] = reference.pointer;
+                        } while (count < BATCH_SIZE && (reference = (ExternalMemory) QUEUE.poll()) != null);
+                        NativeAccess.deallocateAll(pointers, count);
+                    }
+                } catch (InterruptedException iex) {
+                    iex.printStackTrace();
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+        cleanupThreadStarted = true;
+    }
+
+    /**
+     * Reference to {@code ByteBuffer} that keeps track of the memory that should be deallocated
+     * once the buffer is collected.
+     */
+    private static final class ExternalMemory extends PhantomReference<ByteBuffer> {
+
+        /**
+         * Pointer to the memory that should be deallocated.
+         */
+        final long pointer;
+        /**
+         * Size of the memory (in bytes).
+         */
+        final int size;
+        /**
+         * Deallocator (of the isolate) that registered the memory.
+         */
+        final Deallocator owner;
+
+        ExternalMemory(ByteBuffer buffer, long pointer, int size, Deallocator owner) {
+            super(buffer, QUEUE);
+            this.pointer = pointer;
+            this.size = size;
+            this.owner = owner;
+        }
     }
 
 }
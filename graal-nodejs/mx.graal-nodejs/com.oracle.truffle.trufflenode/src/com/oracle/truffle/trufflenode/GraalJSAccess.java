@@ -76,6 +76,7 @@ import static com.oracle.truffle.trufflenode.ValueType.UINT8CLAMPEDARRAY_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.UNDEFINED_VALUE;
 import static com.oracle.truffle.trufflenode.ValueType.UNKNOWN_TYPE;
 import static com.oracle.truffle.trufflenode.buffer.NIOBufferObject.NIO_BUFFER_MODULE_NAME;
+import static com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfiler.JNI_PROFILER_MODULE_NAME;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
@@ -215,6 +216,7 @@ import com.oracle.truffle.trufflenode.info.Value;
 import com.oracle.truffle.trufflenode.node.ExecuteNativeFunctionNode;
 import com.oracle.truffle.trufflenode.node.ExecuteNativePropertyHandlerNode;
 import com.oracle.truffle.trufflenode.node.debug.SetBreakPointNode;
+import com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfiler;
 import com.oracle.truffle.trufflenode.serialization.Deserializer;
 import com.oracle.truffle.trufflenode.serialization.Serializer;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
@@ -254,6 +256,8 @@ public final class GraalJSAccess {
     private final JSRealm mainJSRealm;
     private final NodeJSAgent agent;
     private final Deallocator deallocator;
+    /** Counters of the Java/native transitions of this isolate. */
+    private final JNIBoundaryProfiler jniBoundaryProfiler = new JNIBoundaryProfiler();
     private ESModuleLoader moduleLoader;
 
     /** Env that can be used for accessing instruments when no context is active anymore. */
@@ -265,7 +269,24 @@ public final class GraalJSAccess {
      * data in the same order as you write them and perform the reading as soon as possible (as the
      * buffer may be used by any subsequent transition from Java to C).
      */
-    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(128).order(ByteOrder.nativeOrder());
+    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(1024).order(ByteOrder.nativeOrder());
+
+    /**
+     * Maximum number of bytes written into the shared buffer per value by
+     * {@link #argumentTypesToSharedBuffer}: the type followed by a {@code double} or by the byte
+     * length and byte offset of an {@code ArrayBufferView}.
+     */
+    private static final int MAX_VALUE_TYPE_SIZE = Integer.BYTES + Double.BYTES;
+
+    /**
+     * Buffer of the last released {@code Serializer}. It is handed over to the next
+     * {@code Serializer} created by this isolate so that messages posted in a loop do not
+     * allocate (and repeatedly grow) a fresh direct buffer each.
+     */
+    private ByteBuffer serializerBuffer;
+
+    /** Buffers larger than this are not retained after serialization. */
+    private static final int MAX_POOLED_SERIALIZER_BUFFER_SIZE = 16 * 1024 * 1024;
 
     /**
      * Caching file content, as used by e.g. the require function. While Node.js currently caches
@@ -366,10 +387,45 @@ public final class GraalJSAccess {
         return sharedBuffer;
     }
 
+    public JNIBoundaryProfiler getJNIBoundaryProfiler() {
+        return jniBoundaryProfiler;
+    }
+
     public int valueType(Object value) {
         return valueType(value, false);
     }
 
+    /**
+     * Passes the types of the arguments of a native function call to the native side, so that it
+     * does not have to query them one by one. The shared buffer starts with a flag that tells
+     * whether the types are present (they are not when they could not fit into the buffer). The
+     * flag is followed by the type (and {@link #valueType(Object, boolean) shared buffer data}) of
+     * every explicit argument, then of {@code this} and finally of {@code new.target} (if any).
+     */
+    @TruffleBoundary
+    public void argumentTypesToSharedBuffer(Object[] arguments, int offset, boolean hasNewTarget) {
+        resetSharedBuffer();
+        int count = arguments.length - offset + (hasNewTarget ? 2 : 1);
+        if (Integer.BYTES + count * MAX_VALUE_TYPE_SIZE > sharedBuffer.capacity()) {
+            sharedBuffer.putInt(0);
+            return;
+        }
+        sharedBuffer.putInt(1);
+        for (int i = offset; i < arguments.length; i++) {
+            putValueType(arguments[i]);
+        }
+        putValueType(arguments[0]);
+        if (hasNewTarget) {
+            putValueType(arguments[2]);
+        }
+    }
+
+    private void putValueType(Object value) {
+        int typePosition = sharedBuffer.position();
+        asBaseBuffer(sharedBuffer).position(typePosition + Integer.BYTES);
+        sharedBuffer.putInt(typePosition, valueType(value, true));
+    }
+
     @TruffleBoundary
     public int valueType(Object value, boolean useSharedBuffer) {
         if (value == Undefined.instance) {
@@ -701,6 +757,27 @@ public final class GraalJSAccess {
         return JSUserObject.create(jsRealm.getContext(), jsRealm);
     }
 
+    /**
+     * Creates an object with the given prototype and data properties, i.e., populates the object
+     * in one JNI call instead of one {@link #objectSet} call per property.
+     */
+    public Object objectNewWithProperties(Object context, Object prototype, Object[] names, Object[] values) {
+        JSRealm jsRealm = (JSRealm) context;
+        JSContext jsContext = jsRealm.getContext();
+        DynamicObject object;
+        if (prototype == Null.instance) {
+            object = JSUserObject.createWithNullPrototype(jsContext);
+        } else if (JSObject.isJSObject(prototype) && prototype != jsRealm.getObjectPrototype()) {
+            object = JSUserObject.createWithPrototype((DynamicObject) prototype, jsContext);
+        } else {
+            object = JSUserObject.create(jsContext, jsRealm);
+        }
+        for (int i = 0; i < names.length; i++) {
+            JSRuntime.createDataProperty(object, JSRuntime.toPropertyKey(names[i]), values[i]);
+        }
+        return object;
+    }
+
     public boolean objectSet(Object object, Object key, Object value) {
         DynamicObject dynamicObject = (DynamicObject) object;
         if (key instanceof HiddenKey) {
@@ -1058,6 +1135,10 @@ public final class GraalJSAccess {
         return JSArray.createConstantEmptyArray(((JSRealm) context).getContext(), length);
     }
 
+    public Object arrayNewFromElements(Object context, Object[] elements) {
+        return JSArray.createConstantObjectArray(((JSRealm) context).getContext(), elements);
+    }
+
     public long arrayLength(Object object) {
         return JSArray.arrayGetLength((DynamicObject) object);
     }
@@ -1117,6 +1198,14 @@ public final class GraalJSAccess {
         }
     }
 
+    public void arrayBufferViewByteLengthAndOffset(Object arrayBufferView) {
+        DynamicObject dynamicObject = (DynamicObject) arrayBufferView;
+        JSContext context = JSObject.getJSContext(dynamicObject);
+        resetSharedBuffer();
+        sharedBuffer.putInt(arrayBufferViewByteLength(context, dynamicObject));
+        sharedBuffer.putInt(arrayBufferViewByteOffset(context, dynamicObject));
+    }
+
     public int arrayBufferViewByteOffset(Object arrayBufferView) {
         DynamicObject dynamicObject = (DynamicObject) arrayBufferView;
         return arrayBufferViewByteOffset(JSObject.getJSContext(dynamicObject), dynamicObject);
@@ -1804,7 +1893,7 @@ public final class GraalJSAccess {
             DynamicObject fn = (DynamicObject) nodeEvaluator.evaluate(realm, null, source);
             return anyExtension ? JSFunction.call(fn, Undefined.instance, extensions) : fn;
         } else {
-            ScriptNode scriptNode = parseScriptNodeFromSnapshot(jsContext, source, snapshot);
+            ScriptNode scriptNode = getScriptNodeFromSnapshot(jsContext, source, snapshot);
             return scriptNode.run(realm);
         }
     }
@@ -1871,6 +1960,8 @@ public final class GraalJSAccess {
         } else if ("internal/worker/io.js".equals(moduleName) || "internal/main/worker_thread.js".equals(moduleName)) {
             // The Shared-mem channel initialization is similar to NIO-based buffers.
             extraArgument = SharedMemMessagingBindings.createInitFunction(this, context);
+        } else if (JNI_PROFILER_MODULE_NAME.equals(moduleName)) {
+            extraArgument = JNIBoundaryProfiler.createBindings(context);
         } else if ("inspector.js".equals(moduleName)) {
             TruffleObject inspector = lookupInstrument("inspect", TruffleObject.class);
             extraArgument = (inspector == null) ? Undefined.instance : inspector;
@@ -1963,7 +2054,7 @@ public final class GraalJSAccess {
                 }
             }
         } else {
-            scriptNode = parseScriptNodeFromSnapshot(jsContext, source, (ByteBuffer) parseResult);
+            scriptNode = getScriptNodeFromSnapshot(jsContext, source, (ByteBuffer) parseResult);
         }
         return new Script(scriptNode, parseResult, jsRealm, unboundScript.getId());
     }
@@ -1982,6 +2073,22 @@ public final class GraalJSAccess {
         return entry;
     }
 
+    /**
+     * Decodes the snapshot of a core module at most once per {@link JSContext}, i.e., the contexts
+     * (realms) that share the {@link JSContext} (like {@code vm} contexts) do not decode it again.
+     */
+    private ScriptNode getScriptNodeFromSnapshot(JSContext context, Source source, ByteBuffer snapshotBinary) {
+        Map<Source, ScriptNode> cache = ((ContextData) context.getEmbedderData()).getScriptNodeCache();
+        synchronized (cache) {
+            ScriptNode scriptNode = cache.get(source);
+            if (scriptNode == null) {
+                scriptNode = parseScriptNodeFromSnapshot(context, source, snapshotBinary);
+                cache.put(source, scriptNode);
+            }
+            return scriptNode;
+        }
+    }
+
     private ScriptNode parseScriptNodeFromSnapshot(JSContext context, Source source, ByteBuffer snapshotBinary) {
         JSParser parser = (JSParser) context.getEvaluator();
         try {
@@ -2289,28 +2396,48 @@ public final class GraalJSAccess {
         return weakCallback;
     }
 
+    /**
+     * Maximum number of weak callbacks delivered to the native side by one call.
+     */
+    private static final int WEAK_CALLBACK_BATCH_SIZE = 64;
+
     private void pollWeakCallbackQueue(boolean canBlock) {
-        WeakCallback callback;
+        WeakCallback callback = null;
         if (canBlock) {
             try {
                 // System.gc() may not enqueue references synchronously,
                 // give them some time to appear in the queue
                 callback = (WeakCallback) weakCallbackQueue.remove(10);
-                if (callback != null) {
-                    processWeakCallback(callback);
-                }
             } catch (InterruptedException iex) {
             }
         }
-        while ((callback = (WeakCallback) weakCallbackQueue.poll()) != null) {
-            processWeakCallback(callback);
+        if (callback == null) {
+            callback = (WeakCallback) weakCallbackQueue.poll();
+            if (callback == null) {
+                return;
+            }
         }
-    }
-
-    private void processWeakCallback(WeakCallback callback) {
-        weakCallbacks.remove(callback);
-        if (callback.callback != 0) {
-            NativeAccess.weakCallback(callback.callback, callback.data, callback.type);
+        // The callbacks may poll the queue again (makeWeak() etc.),
+        // so the batch must not be shared.
+        long[] callbackPointers = new long[WEAK_CALLBACK_BATCH_SIZE];
+        long[] data = new long[WEAK_CALLBACK_BATCH_SIZE];
+        int[] types = new int[WEAK_CALLBACK_BATCH_SIZE];
+        int count = 0;
+        do {
+            weakCallbacks.remove(callback);
+            if (callback.callback != 0) {
+                callbackPointers[count] = callback.callback;
+                data[count] = callback.data;
+                types[count] = callback.type;
+                count++;
+                if (count == WEAK_CALLBACK_BATCH_SIZE) {
+                    NativeAccess.weakCallbacks(callbackPointers, data, types, count);
+                    count = 0;
+                }
+            }
+        } while ((callback = (WeakCallback) weakCallbackQueue.poll()) != null);
+        if (count != 0) {
+            NativeAccess.weakCallbacks(callbackPointers, data, types, count);
         }
     }
 
@@ -2379,7 +2506,7 @@ public final class GraalJSAccess {
             context.setEmbedderData(new ContextData(context));
             createChildContext = true;
         }
-        realm.setEmbedderData(new RealmData());
+        realm.setEmbedderData(new RealmData(jniBoundaryProfiler));
         DynamicObject global = realm.getGlobalObject();
         // Node.js does not have global arguments property
         global.delete(JSRealm.ARGUMENTS_NAME);
@@ -2430,9 +2557,23 @@ public final class GraalJSAccess {
             System.gc();
             pollWeakCallbackQueue(true);
         }
+        deallocator.garbageCollected();
         NativeAccess.notifyGCCallbacks(false);
     }
 
+    /**
+     * Invoked when the external memory reported by
+     * {@code Isolate::AdjustAmountOfExternalAllocatedMemory()} has grown significantly since the
+     * last check. The memory is released by weak callbacks, so they are processed right after the
+     * collection instead of waiting for the next poll of the queue.
+     */
+    @TruffleBoundary
+    public void isolateCheckMemoryPressure() {
+        // Called on V8 allocation paths, do not wait for the collection.
+        // Weak callbacks are processed by the next regular poll.
+        deallocator.requestCollection();
+    }
+
     public void contextSetSecurityToken(Object context, Object securityToken) {
         RealmData contextData = getRealmEmbedderData(context);
         contextData.setSecurityToken(securityToken);
@@ -3109,6 +3250,22 @@ public final class GraalJSAccess {
         return new Serializer(mainJSContext, this, delegatePointer);
     }
 
+    public ByteBuffer acquireSerializerBuffer(int minimumCapacity) {
+        ByteBuffer buffer = serializerBuffer;
+        if (buffer == null || buffer.capacity() < minimumCapacity) {
+            return ByteBuffer.allocateDirect(minimumCapacity).order(ByteOrder.nativeOrder());
+        }
+        serializerBuffer = null;
+        asBaseBuffer(buffer).clear();
+        return buffer;
+    }
+
+    public void releaseSerializerBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED_SERIALIZER_BUFFER_SIZE && (serializerBuffer == null || serializerBuffer.capacity() < buffer.capacity())) {
+            serializerBuffer = buffer;
+        }
+    }
+
     public int valueSerializerSize(Object serializer) {
         return ((Serializer) serializer).size();
     }
@@ -130,8 +130,12 @@ public final class NativeAccess {
 
     public static native void deallocate(long pointer);
 
+    public static native void deallocateAll(long[] pointers, int count);
+
     public static native void weakCallback(long callback, long data, int type);
 
+    public static native void weakCallbacks(long[] callbacks, long[] data, int[] types, int count);
+
     public static native void notifyGCCallbacks(boolean prolog);
 
     public static native void polyglotEngineEntered(long callback, long isolate, long param1, long param2, long args, long execArgs);
@@ -158,4 +162,10 @@ public final class NativeAccess {
 
     public static native Object getSharedArrayBufferFromId(long delegate, int id);
 
+    public static native void setJNICallProfilingEnabled(boolean enabled);
+
+    public static native String[] getJNIMethodNames();
+
+    public static native void sampleJNICalls(long[] counts, long[] nanos, boolean reset);
+
 }
@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfiler;
 
 /**
  * Realm-specific embedder data.
@@ -56,8 +57,10 @@ public final class RealmData {
     private DynamicObject nativeUtf8Slice;
     private DynamicObject resolverFactory;
     private DynamicObject extrasBindingObject;
+    private final JNIBoundaryProfiler jniBoundaryProfiler;
 
-    public RealmData() {
+    public RealmData(JNIBoundaryProfiler jniBoundaryProfiler) {
+        this.jniBoundaryProfiler = jniBoundaryProfiler;
     }
 
     public void setSecurityToken(Object securityToken) {
@@ -108,4 +111,8 @@ public final class RealmData {
         return extrasBindingObject;
     }
 
+    public JNIBoundaryProfiler getJNIBoundaryProfiler() {
+        return jniBoundaryProfiler;
+    }
+
 }
@@ -40,16 +40,13 @@
  */
 package com.oracle.truffle.trufflenode.buffer;
 
-import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
-
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.charset.Charset;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.nodes.access.ArrayBufferViewGetByteLengthNode;
 import com.oracle.truffle.js.nodes.access.ArrayBufferViewGetByteLengthNodeGen;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.Errors;
@@ -59,11 +56,10 @@ import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public abstract class NIOBufferAccessNode extends JSBuiltinNode {
 
-    protected static final Charset utf8 = Charset.forName("UTF-8");
-
     @Child protected ArrayBufferViewGetByteLengthNode getLenNode;
 
     public NIOBufferAccessNode(JSContext context, JSBuiltin builtin) {
@@ -96,16 +92,35 @@ public abstract class NIOBufferAccessNode extends JSBuiltinNode {
         return getLenNode.executeInt(target);
     }
 
-    protected static ByteBuffer sliceBuffer(ByteBuffer rawBuffer, int byteOffset) {
-        return ((ByteBuffer) asBaseBuffer(rawBuffer.duplicate()).position(byteOffset)).slice().order(ByteOrder.nativeOrder());
+    /**
+     * Converts an optional index argument like {@code ParseArrayIndex} in node's buffer binding.
+     */
+    protected int parseIndex(JSToIntegerNode toInt, Object index, int defaultValue) {
+        if (index == Undefined.instance) {
+            return defaultValue;
+        }
+        int value = toInt.executeInt(index);
+        if (value < 0) {
+            outOfRangeFail("Index out of range");
+        }
+        return value;
     }
 
     @TruffleBoundary
     protected void outOfBoundsFail() {
-        JSException exception = Errors.createRangeError("out of range index");
+        throw createRangeError("out of range index", "ERR_BUFFER_OUT_OF_BOUNDS");
+    }
+
+    @TruffleBoundary
+    protected void outOfRangeFail(String message) {
+        throw createRangeError(message, "ERR_OUT_OF_RANGE");
+    }
+
+    private JSException createRangeError(String message, String code) {
+        JSException exception = Errors.createRangeError(message);
         DynamicObject errorObject = (DynamicObject) exception.getErrorObjectEager(getContext());
-        JSObject.set(errorObject, "code", "ERR_BUFFER_OUT_OF_BOUNDS");
-        throw exception;
+        JSObject.set(errorObject, "code", code);
+        return exception;
     }
 
     protected static boolean accept(DynamicObject target) {
@@ -52,7 +52,23 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
 
     public enum Buffer implements BuiltinEnum<Buffer> {
         utf8Write(0),
-        utf8Slice(0);
+        utf8Slice(0),
+        latin1Write(0),
+        latin1Slice(0),
+        asciiWrite(0),
+        asciiSlice(0),
+        ucs2Write(0),
+        ucs2Slice(0),
+        hexWrite(0),
+        hexSlice(0),
+        base64Write(0),
+        base64Slice(0),
+        compare(2),
+        compareOffset(6),
+        copy(5),
+        indexOfBuffer(5),
+        indexOfNumber(4),
+        indexOfString(5);
 
         private final int length;
 
@@ -73,6 +89,37 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
                 return NIOBufferUTF8WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
             case utf8Slice:
                 return NIOBufferUTF8SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case latin1Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, NIOBufferEncoding.LATIN1, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case latin1Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, NIOBufferEncoding.LATIN1, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case asciiWrite:
+                return NIOBufferWriteNodeGen.create(context, builtin, NIOBufferEncoding.ASCII, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case asciiSlice:
+                return NIOBufferSliceNodeGen.create(context, builtin, NIOBufferEncoding.ASCII, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case ucs2Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, NIOBufferEncoding.UCS2, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case ucs2Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, NIOBufferEncoding.UCS2, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case hexWrite:
+                return NIOBufferWriteNodeGen.create(context, builtin, NIOBufferEncoding.HEX, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case hexSlice:
+                return NIOBufferSliceNodeGen.create(context, builtin, NIOBufferEncoding.HEX, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case base64Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, NIOBufferEncoding.BASE64, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case base64Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, NIOBufferEncoding.BASE64, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case compare:
+                return NIOBufferCompareNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case compareOffset:
+                return NIOBufferCompareOffsetNodeGen.create(context, builtin, args().fixedArgs(6).createArgumentNodes(context));
+            case copy:
+                return NIOBufferCopyNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+            case indexOfBuffer:
+            case indexOfString:
+                return NIOBufferIndexOfNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+            case indexOfNumber:
+                return NIOBufferIndexOfNumberNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
         }
         return null;
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+
+/**
+ * Implements the {@code compare} function of the buffer binding (used by {@code Buffer.compare}
+ * and {@code buf.equals}) on the backing {@link ByteBuffer}s.
+ */
+public abstract class NIOBufferCompareNode extends NIOBufferAccessNode {
+
+    public NIOBufferCompareNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+    }
+
+    @Specialization(guards = {"accept(source)", "accept(target)"})
+    public int compare(DynamicObject source, DynamicObject target) {
+        int sourceLength = getLength(source);
+        int targetLength = getLength(target);
+        int length = Math.min(sourceLength, targetLength);
+        int result = 0;
+        if (length > 0) {
+            boolean isSourceView = JSArrayBufferView.isJSArrayBufferView(source);
+            boolean isTargetView = JSArrayBufferView.isJSArrayBufferView(target);
+            ByteBuffer sourceBuffer = getDirectByteBuffer(getArrayBuffer(source, isSourceView));
+            ByteBuffer targetBuffer = getDirectByteBuffer(getArrayBuffer(target, isTargetView));
+            result = compareBytes(sourceBuffer, getOffset(source, isSourceView), targetBuffer, getOffset(target, isTargetView), length);
+        }
+        return normalizeCompareValue(result, sourceLength, targetLength);
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = {"!isJSArrayBufferView(source) || !isJSArrayBufferView(target)"})
+    public int compareAbort(Object source, Object target) {
+        throw Errors.createTypeErrorArrayBufferViewExpected();
+    }
+
+    /**
+     * Compares two byte ranges like {@code memcmp}, i.e., treating the bytes as unsigned. Bytes are
+     * compared eight at a time as big-endian longs, which preserves the lexicographic order.
+     */
+    @TruffleBoundary
+    static int compareBytes(ByteBuffer a, int aStart, ByteBuffer b, int bStart, int length) {
+        ByteBuffer left = a.duplicate().order(ByteOrder.BIG_ENDIAN);
+        ByteBuffer right = b.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int i = 0;
+        for (; i <= length - Long.BYTES; i += Long.BYTES) {
+            long x = left.getLong(aStart + i);
+            long y = right.getLong(bStart + i);
+            if (x != y) {
+                return Long.compareUnsigned(x, y);
+            }
+        }
+        for (; i < length; i++) {
+            int x = left.get(aStart + i) & 0xff;
+            int y = right.get(bStart + i) & 0xff;
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return 0;
+    }
+
+    static int normalizeCompareValue(int result, int aLength, int bLength) {
+        if (result == 0) {
+            return Integer.compare(aLength, bLength);
+        }
+        return result > 0 ? 1 : -1;
+    }
+}
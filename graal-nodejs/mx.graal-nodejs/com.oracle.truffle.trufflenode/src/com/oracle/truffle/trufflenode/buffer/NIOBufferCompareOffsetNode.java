@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+
+/**
+ * Implements the {@code compareOffset} function of the buffer binding (used by
+ * {@code buf.compare} with explicit ranges).
+ */
+public abstract class NIOBufferCompareOffsetNode extends NIOBufferAccessNode {
+
+    @Child protected JSToIntegerNode toInt;
+
+    protected final BranchProfile errorBranch = BranchProfile.create();
+
+    public NIOBufferCompareOffsetNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+        this.toInt = JSToIntegerNodeGen.create();
+    }
+
+    @Specialization(guards = {"accept(source)", "accept(target)"})
+    public int compareOffset(DynamicObject source, DynamicObject target, Object targetStartArg, Object sourceStartArg, Object targetEndArg, Object sourceEndArg) {
+        int sourceLength = getLength(source);
+        int targetLength = getLength(target);
+        int targetStart = parseIndex(toInt, targetStartArg, 0);
+        int sourceStart = parseIndex(toInt, sourceStartArg, 0);
+        int targetEnd = parseIndex(toInt, targetEndArg, targetLength);
+        int sourceEnd = parseIndex(toInt, sourceEndArg, sourceLength);
+        if (sourceStart > sourceLength) {
+            errorBranch.enter();
+            outOfRangeFail("The value of \"sourceStart\" is out of range.");
+        }
+        if (targetStart > targetLength) {
+            errorBranch.enter();
+            outOfRangeFail("The value of \"targetStart\" is out of range.");
+        }
+        if (sourceEnd < sourceStart || targetEnd < targetStart) {
+            errorBranch.enter();
+            outOfRangeFail("Index out of range");
+        }
+        int length = Math.min(Math.min(sourceEnd - sourceStart, targetEnd - targetStart), sourceLength - sourceStart);
+        int result = 0;
+        if (length > 0) {
+            boolean isSourceView = JSArrayBufferView.isJSArrayBufferView(source);
+            boolean isTargetView = JSArrayBufferView.isJSArrayBufferView(target);
+            ByteBuffer sourceBuffer = getDirectByteBuffer(getArrayBuffer(source, isSourceView));
+            ByteBuffer targetBuffer = getDirectByteBuffer(getArrayBuffer(target, isTargetView));
+            int sourceOffset = getOffset(source, isSourceView) + sourceStart;
+            int targetOffset = getOffset(target, isTargetView) + targetStart;
+            result = NIOBufferCompareNode.compareBytes(sourceBuffer, sourceOffset, targetBuffer, targetOffset, length);
+        }
+        return NIOBufferCompareNode.normalizeCompareValue(result, sourceEnd - sourceStart, targetEnd - targetStart);
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = {"!isJSArrayBufferView(source) || !isJSArrayBufferView(target)"})
+    public int compareOffsetAbort(Object source, Object target, Object targetStart, Object sourceStart, Object targetEnd, Object sourceEnd) {
+        throw Errors.createTypeErrorArrayBufferViewExpected();
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Java implementations of the UTF-8, single-byte, UCS-2, hex and base64 Buffer encodings,
+ * operating on absolute indices of a buffer so that they never change its position or limit.
+ */
+public enum NIOBufferEncoding {
+    UTF8 {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return byteLength;
+        }
+
+        /**
+         * Decodes UTF-8, replacing every maximal invalid subsequence with U+FFFD as specified by the
+         * WHATWG Encoding Standard. Pure ASCII input is turned into a (compact) string directly.
+         */
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            int length = end - start;
+            int asciiLength = 0;
+            while (asciiLength < length && buffer.get(start + asciiLength) >= 0) {
+                asciiLength++;
+            }
+            if (asciiLength == length) {
+                byte[] bytes = new byte[length];
+                ByteBuffer source = buffer.duplicate();
+                asBaseBuffer(source).position(start);
+                source.get(bytes);
+                return new String(bytes, StandardCharsets.ISO_8859_1);
+            }
+            // UTF-8 never needs more UTF-16 code units than bytes, even with replacements
+            char[] chars = new char[length];
+            for (int i = 0; i < asciiLength; i++) {
+                chars[i] = (char) buffer.get(start + i);
+            }
+            int count = asciiLength;
+            int index = start + asciiLength;
+            while (index < end) {
+                int b = buffer.get(index++) & 0xff;
+                if (b < 0x80) {
+                    chars[count++] = (char) b;
+                    continue;
+                }
+                int needed;
+                int codePoint;
+                int lower = 0x80;
+                int upper = 0xbf;
+                if (b >= 0xc2 && b <= 0xdf) {
+                    needed = 1;
+                    codePoint = b & 0x1f;
+                } else if (b >= 0xe0 && b <= 0xef) {
+                    if (b == 0xe0) {
+                        lower = 0xa0;
+                    } else if (b == 0xed) {
+                        upper = 0x9f;
+                    }
+                    needed = 2;
+                    codePoint = b & 0xf;
+                } else if (b >= 0xf0 && b <= 0xf4) {
+                    if (b == 0xf0) {
+                        lower = 0x90;
+                    } else if (b == 0xf4) {
+                        upper = 0x8f;
+                    }
+                    needed = 3;
+                    codePoint = b & 0x7;
+                } else {
+                    chars[count++] = REPLACEMENT_CHARACTER;
+                    continue;
+                }
+                boolean valid = true;
+                for (int i = 0; i < needed; i++) {
+                    int c = index < end ? buffer.get(index) & 0xff : -1;
+                    if (c < lower || c > upper) {
+                        // the offending byte is not consumed, it starts the next sequence
+                        valid = false;
+                        break;
+                    }
+                    lower = 0x80;
+                    upper = 0xbf;
+                    codePoint = (codePoint << 6) | (c & 0x3f);
+                    index++;
+                }
+                if (!valid) {
+                    chars[count++] = REPLACEMENT_CHARACTER;
+                } else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    chars[count++] = Character.highSurrogate(codePoint);
+                    chars[count++] = Character.lowSurrogate(codePoint);
+                } else {
+                    chars[count++] = (char) codePoint;
+                }
+            }
+            return new String(chars, 0, count);
+        }
+
+        /**
+         * Encodes UTF-8 without splitting characters at the end of the buffer, replacing lone
+         * surrogates with U+FFFD.
+         */
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            int position = offset;
+            int limit = offset + maxLength;
+            int length = str.length();
+            int i = 0;
+            while (i < length && position < limit) {
+                char c = str.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer.put(position++, (byte) c);
+                i++;
+            }
+            for (; i < length; i++) {
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    if (position >= limit) {
+                        break;
+                    }
+                    buffer.put(position++, (byte) c);
+                } else if (c < 0x800) {
+                    if (limit - position < 2) {
+                        break;
+                    }
+                    buffer.put(position++, (byte) (0xc0 | (c >> 6)));
+                    buffer.put(position++, (byte) (0x80 | (c & 0x3f)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    if (limit - position < 4) {
+                        break;
+                    }
+                    int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    buffer.put(position++, (byte) (0xf0 | (codePoint >> 18)));
+                    buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                    buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                    buffer.put(position++, (byte) (0x80 | (codePoint & 0x3f)));
+                } else {
+                    if (limit - position < 3) {
+                        break;
+                    }
+                    char unit = Character.isSurrogate(c) ? REPLACEMENT_CHARACTER : c;
+                    buffer.put(position++, (byte) (0xe0 | (unit >> 12)));
+                    buffer.put(position++, (byte) (0x80 | ((unit >> 6) & 0x3f)));
+                    buffer.put(position++, (byte) (0x80 | (unit & 0x3f)));
+                }
+            }
+            return position - offset;
+        }
+    },
+    LATIN1 {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return byteLength;
+        }
+
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (buffer.get(start + i) & 0xff);
+            }
+            return new String(chars);
+        }
+
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            return encodeOneByte(str, buffer, offset, maxLength);
+        }
+    },
+    ASCII {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return byteLength;
+        }
+
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (buffer.get(start + i) & 0x7f);
+            }
+            return new String(chars);
+        }
+
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            // like node, writing ASCII keeps the low byte of every character
+            return encodeOneByte(str, buffer, offset, maxLength);
+        }
+    },
+    UCS2 {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return byteLength / 2;
+        }
+
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            char[] chars = new char[(end - start) / 2];
+            for (int i = 0; i < chars.length; i++) {
+                int index = start + 2 * i;
+                chars[i] = (char) ((buffer.get(index) & 0xff) | ((buffer.get(index + 1) & 0xff) << 8));
+            }
+            return new String(chars);
+        }
+
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            int length = Math.min(str.length(), maxLength / 2);
+            for (int i = 0; i < length; i++) {
+                char c = str.charAt(i);
+                buffer.put(offset + 2 * i, (byte) c);
+                buffer.put(offset + 2 * i + 1, (byte) (c >>> 8));
+            }
+            return 2 * length;
+        }
+    },
+    HEX {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return 2L * byteLength;
+        }
+
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            char[] chars = new char[2 * (end - start)];
+            for (int i = start, j = 0; i < end; i++, j += 2) {
+                int b = buffer.get(i) & 0xff;
+                chars[j] = HEX_DIGITS[b >>> 4];
+                chars[j + 1] = HEX_DIGITS[b & 0xf];
+            }
+            return new String(chars);
+        }
+
+        /**
+         * Decodes pairs of hex digits until the first invalid pair, like node.
+         */
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            int length = Math.min(str.length() / 2, maxLength);
+            for (int i = 0; i < length; i++) {
+                int hi = hexValue(str.charAt(2 * i));
+                int lo = hexValue(str.charAt(2 * i + 1));
+                if (hi < 0 || lo < 0) {
+                    return i;
+                }
+                buffer.put(offset + i, (byte) ((hi << 4) | lo));
+            }
+            return length;
+        }
+    },
+    BASE64 {
+        @Override
+        long getDecodedLength(int byteLength) {
+            return 4L * ((byteLength + 2) / 3);
+        }
+
+        @TruffleBoundary
+        @Override
+        String decode(ByteBuffer buffer, int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+
+        /**
+         * Decodes leniently, like node: both the standard and the URL-safe alphabet are accepted,
+         * other characters are skipped and decoding stops at the first padding character.
+         */
+        @TruffleBoundary
+        @Override
+        int encode(String str, ByteBuffer buffer, int offset, int maxLength) {
+            int written = 0;
+            int bits = 0;
+            int bitCount = 0;
+            for (int i = 0; i < str.length() && written < maxLength; i++) {
+                char c = str.charAt(i);
+                if (c == '=') {
+                    break;
+                }
+                int value = base64Value(c);
+                if (value < 0) {
+                    continue;
+                }
+                bits = (bits << 6) | value;
+                bitCount += 6;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    buffer.put(offset + written, (byte) (bits >>> bitCount));
+                    written++;
+                }
+            }
+            return written;
+        }
+    };
+
+    private static final char REPLACEMENT_CHARACTER = '\ufffd';
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Returns the length of the string produced by decoding {@code byteLength} bytes.
+     */
+    abstract long getDecodedLength(int byteLength);
+
+    /**
+     * Decodes the bytes from {@code start} (inclusive) to {@code end} (exclusive) into a string.
+     */
+    abstract String decode(ByteBuffer buffer, int start, int end);
+
+    /**
+     * Encodes {@code str} into the buffer, starting at {@code offset} and writing at most
+     * {@code maxLength} bytes.
+     *
+     * @return the number of bytes written
+     */
+    abstract int encode(String str, ByteBuffer buffer, int offset, int maxLength);
+
+    static int encodeOneByte(String str, ByteBuffer buffer, int offset, int maxLength) {
+        int length = Math.min(str.length(), maxLength);
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + i, (byte) str.charAt(i));
+        }
+        return length;
+    }
+
+    static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        } else if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        } else if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        } else if (c == '+' || c == '-') {
+            return 62;
+        } else if (c == '/' || c == '_') {
+            return 63;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.nodes.cast.JSToBooleanNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+
+/**
+ * Implements the {@code indexOfBuffer} and {@code indexOfString} functions of the buffer binding
+ * (used by {@code buf.indexOf}, {@code buf.lastIndexOf} and {@code buf.includes}).
+ */
+public abstract class NIOBufferIndexOfNode extends NIOBufferAccessNode {
+
+    // encoding values of node's enum encoding (see src/node.h)
+    static final int UTF8 = 1;
+    static final int UCS2 = 3;
+    static final int LATIN1 = 4;
+
+    @Child protected JSToIntegerNode toInt;
+    @Child protected JSToBooleanNode toBoolean;
+
+    public NIOBufferIndexOfNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+        this.toInt = JSToIntegerNodeGen.create();
+        this.toBoolean = JSToBooleanNode.create();
+    }
+
+    @Specialization(guards = {"accept(target)", "accept(needle)"})
+    public int indexOfBuffer(DynamicObject target, DynamicObject needle, Object byteOffset, Object encoding, Object dir) {
+        boolean isTargetView = JSArrayBufferView.isJSArrayBufferView(target);
+        boolean isNeedleView = JSArrayBufferView.isJSArrayBufferView(needle);
+        ByteBuffer haystack = getDirectByteBuffer(getArrayBuffer(target, isTargetView));
+        ByteBuffer needleBuffer = getDirectByteBuffer(getArrayBuffer(needle, isNeedleView));
+        return indexOf(haystack, getOffset(target, isTargetView), getLength(target), needleBuffer, getOffset(needle, isNeedleView), getLength(needle),
+                        toInt.executeInt(byteOffset), toBoolean.executeBoolean(dir), toInt.executeInt(encoding) == UCS2);
+    }
+
+    @Specialization(guards = {"accept(target)"})
+    public int indexOfString(DynamicObject target, String needle, Object byteOffset, Object encoding, Object dir) {
+        int encodingValue = toInt.executeInt(encoding);
+        boolean ucs2 = encodingValue == UCS2;
+        ByteBuffer needleBuffer = encodeNeedle(needle, encodingValue);
+        if (needleBuffer == null) {
+            return -1;
+        }
+        boolean isTargetView = JSArrayBufferView.isJSArrayBufferView(target);
+        ByteBuffer haystack = getDirectByteBuffer(getArrayBuffer(target, isTargetView));
+        int haystackLength = getLength(target);
+        if (ucs2) {
+            // round down to the nearest multiple of 2
+            haystackLength &= ~1;
+        }
+        return indexOf(haystack, getOffset(target, isTargetView), haystackLength, needleBuffer, 0, needleBuffer.limit(),
+                        toInt.executeInt(byteOffset), toBoolean.executeBoolean(dir), ucs2);
+    }
+
+    @SuppressWarnings("unused")
+    @Fallback
+    public int indexOfAbort(Object target, Object needle, Object byteOffset, Object encoding, Object dir) {
+        throw Errors.createTypeErrorArrayBufferViewExpected();
+    }
+
+    @TruffleBoundary
+    private static ByteBuffer encodeNeedle(String needle, int encoding) {
+        byte[] bytes;
+        int length;
+        switch (encoding) {
+            case UTF8:
+                bytes = new byte[3 * needle.length()];
+                length = NIOBufferEncoding.UTF8.encode(needle, ByteBuffer.wrap(bytes), 0, bytes.length);
+                break;
+            case UCS2:
+                bytes = new byte[2 * needle.length()];
+                length = NIOBufferEncoding.UCS2.encode(needle, ByteBuffer.wrap(bytes), 0, bytes.length);
+                break;
+            case LATIN1:
+                bytes = new byte[needle.length()];
+                length = NIOBufferEncoding.LATIN1.encode(needle, ByteBuffer.wrap(bytes), 0, bytes.length);
+                break;
+            default:
+                return null;
+        }
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    /**
+     * Computes the offset for starting a search like {@code IndexOfOffset} in node's buffer binding.
+     * Returns either a valid offset inside the buffer or -1 to signal that there is no possible
+     * match.
+     */
+    static long indexOfOffset(int length, long offset, int needleLength, boolean forward) {
+        if (offset < 0) {
+            if (offset + length >= 0) {
+                // Negative offsets count backwards from the end of the buffer.
+                return length + offset;
+            } else if (forward || needleLength == 0) {
+                // indexOf from before the start of the buffer: search the whole buffer.
+                return 0;
+            } else {
+                // lastIndexOf from before the start of the buffer: no match.
+                return -1;
+            }
+        } else {
+            if (offset + needleLength <= length) {
+                return offset;
+            } else if (needleLength == 0) {
+                // Out of buffer bounds, but empty needle: point to end of buffer.
+                return length;
+            } else if (forward) {
+                // indexOf from past the end of the buffer: no match.
+                return -1;
+            } else {
+                // lastIndexOf from past the end of the buffer: search the whole buffer.
+                return length - 1;
+            }
+        }
+    }
+
+    private static int indexOf(ByteBuffer haystack, int haystackStart, int haystackLength, ByteBuffer needle, int needleStart, int needleLength, int offset, boolean forward,
+                    boolean ucs2) {
+        long optOffset = indexOfOffset(haystackLength, offset, needleLength, forward);
+        if (needleLength == 0) {
+            // Match String#indexOf() and String#lastIndexOf() behavior.
+            return (int) optOffset;
+        }
+        if (haystackLength == 0 || optOffset <= -1) {
+            return -1;
+        }
+        if ((forward && needleLength + optOffset > haystackLength) || needleLength > haystackLength) {
+            return -1;
+        }
+        if (ucs2) {
+            if (haystackLength < 2 || needleLength < 2) {
+                return -1;
+            }
+            return search(haystack, haystackStart, haystackLength & ~1, needle, needleStart, needleLength & ~1, (int) optOffset & ~1, forward, 2);
+        }
+        return search(haystack, haystackStart, haystackLength, needle, needleStart, needleLength, (int) optOffset, forward, 1);
+    }
+
+    /**
+     * Boyer-Moore-Horspool search for the first match at or after {@code offset} (or the last match
+     * at or before {@code offset} if {@code forward} is false). Only matches at multiples of
+     * {@code unit} are reported, which is used to search for UTF-16 code units.
+     */
+    @TruffleBoundary
+    private static int search(ByteBuffer haystack, int haystackStart, int haystackLength, ByteBuffer needle, int needleStart, int needleLength, int offset, boolean forward, int unit) {
+        if (needleLength == 1) {
+            byte b = needle.get(needleStart);
+            return forward ? indexOfByte(haystack, haystackStart, haystackLength, b, offset) : lastIndexOfByte(haystack, haystackStart, b, offset);
+        }
+        int[] shift = new int[256];
+        Arrays.fill(shift, needleLength);
+        if (forward) {
+            // bad character shifts, keyed by the last byte of the current window
+            for (int j = 0; j < needleLength - 1; j++) {
+                shift[needle.get(needleStart + j) & 0xff] = needleLength - 1 - j;
+            }
+            int pos = offset;
+            while (pos <= haystackLength - needleLength) {
+                int j = needleLength - 1;
+                while (j >= 0 && haystack.get(haystackStart + pos + j) == needle.get(needleStart + j)) {
+                    j--;
+                }
+                if (j < 0) {
+                    return pos;
+                }
+                pos += shift[haystack.get(haystackStart + pos + needleLength - 1) & 0xff];
+                if (pos % unit != 0) {
+                    pos += unit - pos % unit;
+                }
+            }
+        } else {
+            // mirrored bad character shifts, keyed by the first byte of the current window
+            for (int j = needleLength - 1; j > 0; j--) {
+                shift[needle.get(needleStart + j) & 0xff] = j;
+            }
+            int pos = Math.min(offset, haystackLength - needleLength);
+            // floorMod: a negative position must stay negative when aligned down
+            pos -= Math.floorMod(pos, unit);
+            while (pos >= 0) {
+                int j = 0;
+                while (j < needleLength && haystack.get(haystackStart + pos + j) == needle.get(needleStart + j)) {
+                    j++;
+                }
+                if (j == needleLength) {
+                    return pos;
+                }
+                pos -= shift[haystack.get(haystackStart + pos) & 0xff];
+                pos -= Math.floorMod(pos, unit);
+            }
+        }
+        return -1;
+    }
+
+    static int indexOfByte(ByteBuffer haystack, int haystackStart, int haystackLength, byte b, int offset) {
+        for (int i = offset; i < haystackLength; i++) {
+            if (haystack.get(haystackStart + i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOfByte(ByteBuffer haystack, int haystackStart, byte b, int offset) {
+        for (int i = offset; i >= 0; i--) {
+            if (haystack.get(haystackStart + i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
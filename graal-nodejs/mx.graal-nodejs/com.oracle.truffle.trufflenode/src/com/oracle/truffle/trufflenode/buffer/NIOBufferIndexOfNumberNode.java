@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.nodes.cast.JSToBooleanNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNodeGen;
+import com.oracle.truffle.js.nodes.cast.JSToUInt32Node;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+
+/**
+ * Implements the {@code indexOfNumber} function of the buffer binding (used by {@code buf.indexOf}
+ * and {@code buf.lastIndexOf} with a byte value).
+ */
+public abstract class NIOBufferIndexOfNumberNode extends NIOBufferAccessNode {
+
+    @Child protected JSToIntegerNode toInt;
+    @Child protected JSToUInt32Node toUInt32;
+    @Child protected JSToBooleanNode toBoolean;
+
+    public NIOBufferIndexOfNumberNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+        this.toInt = JSToIntegerNodeGen.create();
+        this.toUInt32 = JSToUInt32Node.create();
+        this.toBoolean = JSToBooleanNode.create();
+    }
+
+    @Specialization(guards = {"accept(target)"})
+    public int indexOfNumber(DynamicObject target, Object needle, Object byteOffset, Object dir) {
+        byte b = (byte) ((Number) toUInt32.execute(needle)).longValue();
+        boolean forward = toBoolean.executeBoolean(dir);
+        int length = getLength(target);
+        long optOffset = NIOBufferIndexOfNode.indexOfOffset(length, toInt.executeInt(byteOffset), 1, forward);
+        if (optOffset <= -1 || length == 0) {
+            return -1;
+        }
+        boolean isTargetView = JSArrayBufferView.isJSArrayBufferView(target);
+        ByteBuffer haystack = getDirectByteBuffer(getArrayBuffer(target, isTargetView));
+        return doIndexOf(haystack, getOffset(target, isTargetView), length, b, (int) optOffset, forward);
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = {"!isJSArrayBufferView(target)"})
+    public int indexOfNumberAbort(Object target, Object needle, Object byteOffset, Object dir) {
+        throw Errors.createTypeErrorArrayBufferViewExpected();
+    }
+
+    @TruffleBoundary
+    private static int doIndexOf(ByteBuffer haystack, int haystackStart, int length, byte b, int offset, boolean forward) {
+        if (forward) {
+            return NIOBufferIndexOfNode.indexOfByte(haystack, haystackStart, length, b, offset);
+        } else {
+            return NIOBufferIndexOfNode.lastIndexOfByte(haystack, haystackStart, b, offset);
+        }
+    }
+}
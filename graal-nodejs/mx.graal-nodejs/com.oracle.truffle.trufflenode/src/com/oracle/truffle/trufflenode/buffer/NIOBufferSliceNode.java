@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+
+/**
+ * Implements {@code latin1Slice}, {@code asciiSlice}, {@code ucs2Slice}, {@code hexSlice} and
+ * {@code base64Slice} directly on the backing {@link ByteBuffer}.
+ */
+public abstract class NIOBufferSliceNode extends NIOBufferAccessNode {
+
+    private final NIOBufferEncoding encoding;
+
+    @Child protected JSToIntegerNode toInt;
+
+    protected final BranchProfile errorBranch = BranchProfile.create();
+
+    public NIOBufferSliceNode(JSContext context, JSBuiltin builtin, NIOBufferEncoding encoding) {
+        super(context, builtin);
+        this.encoding = encoding;
+        this.toInt = JSToIntegerNodeGen.create();
+    }
+
+    @Specialization(guards = {"accept(target)"})
+    public Object slice(DynamicObject target, int start, int end) {
+        return doSlice(target, start, end);
+    }
+
+    @Specialization(guards = {"accept(target)"}, replaces = "slice")
+    public Object sliceDefault(DynamicObject target, Object start, Object end) {
+        int bufferLen = getLength(target);
+        int actualStart = JSRuntime.isNullOrUndefined(start) ? 0 : toInt.executeInt(start);
+        int actualEnd = JSRuntime.isNullOrUndefined(end) ? bufferLen : toInt.executeInt(end);
+        return doSlice(target, actualStart, actualEnd);
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = {"!isJSArrayBufferView(target)"})
+    public Object sliceAbort(Object target, Object start, Object end) {
+        throw Errors.createTypeErrorArrayBufferViewExpected();
+    }
+
+    private Object doSlice(DynamicObject target, int start, int end) {
+        boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
+        int bufferLen = getLength(target);
+        if (bufferLen == 0) {
+            // By default, an empty buffer returns an empty string
+            return "";
+        }
+        int actualEnd = end;
+        if (end < start) {
+            actualEnd = start;
+        }
+        if (start < 0 || actualEnd > bufferLen) {
+            errorBranch.enter();
+            outOfBoundsFail();
+        }
+        if (encoding.getDecodedLength(actualEnd - start) > JSTruffleOptions.StringLengthLimit) {
+            errorBranch.enter();
+            throw Errors.createRangeErrorInvalidStringLength(this);
+        }
+        DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
+        ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
+        int byteOffset = getOffset(target, isArrayBufferView);
+        return encoding.decode(rawBuffer, byteOffset + start, byteOffset + actualEnd);
+    }
+
+}
@@ -40,15 +40,8 @@
  */
 package com.oracle.truffle.trufflenode.buffer;
 
-import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
-
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -76,20 +69,12 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(DynamicObject target, int start, int end) {
-        try {
-            return doSlice(target, start, end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, start, end);
     }
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(DynamicObject target, double start, double end) {
-        try {
-            return doSlice(target, (int) start, (int) end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, (int) start, (int) end);
     }
 
     @Specialization
@@ -108,7 +93,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
         return JSFunction.call(getNativeUtf8Slice(), target, new Object[]{start, end});
     }
 
-    private Object doSlice(DynamicObject target, int start, int end) throws CharacterCodingException {
+    private Object doSlice(DynamicObject target, int start, int end) {
         boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
         DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
         ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
@@ -134,18 +119,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
             errorBranch.enter();
             outOfBoundsFail();
         }
-        ByteBuffer data = sliceBuffer(rawBuffer, byteOffset);
-        asBaseBuffer(data).position(start).limit(end);
-        return doDecode(data);
-    }
-
-    @TruffleBoundary
-    private static Object doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return decoded.toString();
+        return NIOBufferEncoding.UTF8.decode(rawBuffer, byteOffset + start, byteOffset + actualEnd);
     }
 
     private static boolean oobCheck(int start, int end) {
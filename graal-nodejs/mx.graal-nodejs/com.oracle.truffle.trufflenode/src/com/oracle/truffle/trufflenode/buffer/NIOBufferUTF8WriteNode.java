@@ -40,16 +40,8 @@
  */
 package com.oracle.truffle.trufflenode.buffer;
 
-import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
-
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CoderResult;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -66,7 +58,6 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
 
     @Child protected JSToIntegerNode toInt;
 
-    protected final BranchProfile nativePath = BranchProfile.create();
     protected final BranchProfile errorBranch = BranchProfile.create();
 
     public NIOBufferUTF8WriteNode(JSContext context, JSBuiltin builtin) {
@@ -80,38 +71,24 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
 
     @Specialization(guards = "accept(target)")
     public Object write(DynamicObject target, String str, int destOffset, int bytes) {
-        try {
-            return doWrite(target, str, destOffset, bytes);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, destOffset, bytes);
     }
 
+    @SuppressWarnings("unused")
     @Specialization(guards = {"accept(target)", "isUndefined(bytes)"})
     public Object writeDefaultOffset(DynamicObject target, String str, int destOffset, Object bytes) {
-        try {
-            return doWrite(target, str, destOffset, getBytes(str).length);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, destOffset, getLength(target) - destOffset);
     }
 
+    @SuppressWarnings("unused")
     @Specialization(guards = {"accept(target)", "isUndefined(destOffset)", "isUndefined(bytes)"})
     public Object writeDefaultValues(DynamicObject target, String str, Object destOffset, Object bytes) {
-        try {
-            return doWrite(target, str, 0, getBytes(str).length);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, 0, getLength(target));
     }
 
     @Specialization(guards = "accept(target)")
     public Object write(DynamicObject target, String str, double destOffset, double bytes) {
-        try {
-            return doWrite(target, str, toInt.executeInt(destOffset), toInt.executeInt(bytes));
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, toInt.executeInt(destOffset), toInt.executeInt(bytes));
     }
 
     @Specialization
@@ -125,12 +102,7 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         throw Errors.createTypeErrorArrayBufferViewExpected();
     }
 
-    private Object doNativeFallback(DynamicObject target, String str, Object destOffset, Object bytes) {
-        nativePath.enter();
-        return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
-    }
-
-    private int doWrite(DynamicObject target, String str, int destOffset, int bytes) throws CharacterCodingException {
+    private int doWrite(DynamicObject target, String str, int destOffset, int bytes) {
         boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
         DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
         int bufferOffset = getOffset(target, isArrayBufferView);
@@ -140,41 +112,12 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
             errorBranch.enter();
             outOfBoundsFail();
         }
-        ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
-        ByteBuffer buffer = sliceBuffer(rawBuffer, bufferOffset);
-        asBaseBuffer(buffer).position(destOffset);
-        asBaseBuffer(buffer).limit(Math.min(bufferLen, destOffset + bytes));
-
-        CoderResult res = doEncode(str, buffer);
-        if (cannotEncode(res)) {
-            errorBranch.enter();
-            throw new CharacterCodingException();
-        }
-        return buffer.position() - destOffset;
-    }
-
-    @TruffleBoundary
-    private static CoderResult doEncode(String str, ByteBuffer buffer) {
-        CharsetEncoder encoder = utf8.newEncoder();
-        encoder.onMalformedInput(CodingErrorAction.REPORT);
-        encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer cb = CharBuffer.wrap(str);
-        CoderResult res = encoder.encode(cb, buffer, true);
-
-        if (res.isUnderflow()) {
-            encoder.encode(cb, buffer, true);
-            res = encoder.flush(buffer);
+        int maxLength = Math.min(bufferLen - destOffset, bytes);
+        if (maxLength == 0) {
+            return 0;
         }
-        return res;
-    }
-
-    @TruffleBoundary
-    private static byte[] getBytes(String str) {
-        return str.getBytes(utf8);
-    }
-
-    private static boolean cannotEncode(CoderResult res) {
-        return res.isMalformed() || res.isUnmappable() || res.isError();
+        ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
+        return NIOBufferEncoding.UTF8.encode(str, rawBuffer, bufferOffset + destOffset, maxLength);
     }
 
 }
@@ -64,6 +64,7 @@ import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
+import com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfiler;
 
 public class ExecuteNativeFunctionNode extends JavaScriptNode {
 
@@ -81,6 +82,7 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
     private final ConditionProfile argumentLengthTwo = ConditionProfile.createBinaryProfile();
     private final int templateID;
     private final long functionPointer;
+    @CompilerDirectives.CompilationFinal private JNIBoundaryProfiler.Counter nativeCallCounter;
 
     private static final int IMPLICIT_ARG_COUNT = 2;
     private static final int EXPLICIT_ARG_COUNT = 6;
@@ -143,11 +145,40 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
             checkConstructorTemplate(thisObject);
         }
         Object result;
-        int offset = isNewTarget ? 1 : 0;
-        Object newTarget = isNew ? (isNewTarget ? arguments[2] : arguments[1]) : null;
         if (isTemplate.profile(functionPointer == 0)) {
             result = thisObject;
-        } else if (eightOrLessArgs.profile(arguments.length <= IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT + offset)) {
+        } else if (graalAccess.getJNIBoundaryProfiler().isEnabled()) {
+            result = executeNativeProfiled(arguments, thisObject, realm);
+        } else {
+            result = executeNative(arguments, thisObject, realm);
+        }
+        return graalAccess.correctReturnValue(result);
+    }
+
+    private Object executeNativeProfiled(Object[] arguments, Object thisObject, JSRealm realm) {
+        if (nativeCallCounter == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            nativeCallCounter = graalAccess.getJNIBoundaryProfiler().getNativeCallCounter(getNativeFunctionName(arguments[1]));
+        }
+        long start = System.nanoTime();
+        try {
+            return executeNative(arguments, thisObject, realm);
+        } finally {
+            nativeCallCounter.record(System.nanoTime() - start);
+        }
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private static String getNativeFunctionName(Object calleeObject) {
+        String name = JSFunction.isJSFunction(calleeObject) ? JSFunction.getName((DynamicObject) calleeObject) : "";
+        return name.isEmpty() ? "<anonymous>" : name;
+    }
+
+    private Object executeNative(Object[] arguments, Object thisObject, JSRealm realm) {
+        Object result;
+        int offset = isNewTarget ? 1 : 0;
+        Object newTarget = isNew ? (isNewTarget ? arguments[2] : arguments[1]) : null;
+        if (eightOrLessArgs.profile(arguments.length <= IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT + offset)) {
             int thisType = getValueType(0, thisObject);
             Object calleeObject = arguments[1];
             if (argumentLengthTwo.profile(arguments.length == 2 + offset)) {
@@ -195,7 +226,7 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
         } else {
             result = executeFunction(arguments, realm);
         }
-        return graalAccess.correctReturnValue(result);
+        return result;
     }
 
     private void objectTemplateInstantiate(VirtualFrame frame, DynamicObject thisObject, JSRealm realm) {
@@ -270,6 +301,7 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
 
     @CompilerDirectives.TruffleBoundary
     private Object executeFunction(Object[] arguments, JSRealm realm) {
+        graalAccess.argumentTypesToSharedBuffer(arguments, isNewTarget ? 3 : 2, isNewTarget);
         return NativeAccess.executeFunction(templateID, arguments, isNew, isNewTarget, realm);
     }
 
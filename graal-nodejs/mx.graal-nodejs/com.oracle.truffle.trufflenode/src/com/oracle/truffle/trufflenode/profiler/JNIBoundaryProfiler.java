@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.profiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.trufflenode.GraalJSAccess;
+import com.oracle.truffle.trufflenode.NativeAccess;
+
+/**
+ * Always-available counters of the transitions between Java and native code. Calls of native
+ * functions from JS (via {@code NativeAccess}) are counted per function name in Java, calls of
+ * {@code GraalJSAccess} methods from native code are counted per method by the native
+ * {@code JNI_CALL} macros. Both are exposed to JS via {@code perf_hooks.monitorNativeBoundary()}
+ * (see lib/internal/graal/jni_profiler.js).
+ * <p>
+ * Like the native counters, the profiler belongs to an isolate (i.e., to its
+ * {@link GraalJSAccess}), so that worker threads are profiled independently.
+ */
+public final class JNIBoundaryProfiler {
+
+    public static final String JNI_PROFILER_MODULE_NAME = "internal/graal/jni_profiler.js";
+
+    static final String JS_TO_NATIVE = "js->native";
+    static final String NATIVE_TO_JAVA = "native->java";
+
+    private static final JSBuiltinsContainer BUILTINS = new JNIBoundaryProfilerBuiltins();
+
+    /** Keeps the profiling code out of compiled code until the profiler is enabled for the first time. */
+    private final Assumption neverEnabled = Truffle.getRuntime().createAssumption("JNI boundary profiler never enabled");
+    private volatile boolean enabled;
+
+    private final Map<String, Counter> nativeCalls = new ConcurrentHashMap<>();
+
+    public JNIBoundaryProfiler() {
+    }
+
+    /**
+     * Returns the profiler of the isolate that owns the given realm.
+     */
+    static JNIBoundaryProfiler get(JSRealm realm) {
+        return GraalJSAccess.getRealmEmbedderData(realm).getJNIBoundaryProfiler();
+    }
+
+    public static final class Counter {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        public void record(long elapsedNanos) {
+            calls.increment();
+            nanos.add(elapsedNanos);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !neverEnabled.isValid() && enabled;
+    }
+
+    @TruffleBoundary
+    public Counter getNativeCallCounter(String name) {
+        return nativeCalls.computeIfAbsent(name, k -> new Counter());
+    }
+
+    @TruffleBoundary
+    void setEnabled(boolean value) {
+        neverEnabled.invalidate();
+        enabled = value;
+        NativeAccess.setJNICallProfilingEnabled(value);
+    }
+
+    /**
+     * Returns an array of {@code {name, direction, calls, time}} records (time in milliseconds)
+     * sorted by cumulative time, limited to the {@code top} entries if {@code top} is positive.
+     */
+    @TruffleBoundary
+    DynamicObject sample(JSContext context, int top, boolean reset) {
+        List<Object[]> entries = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : nativeCalls.entrySet()) {
+            Counter counter = entry.getValue();
+            long calls = reset ? counter.calls.sumThenReset() : counter.calls.sum();
+            long nanos = reset ? counter.nanos.sumThenReset() : counter.nanos.sum();
+            if (calls != 0) {
+                entries.add(new Object[]{entry.getKey(), JS_TO_NATIVE, calls, nanos});
+            }
+        }
+        String[] names = NativeAccess.getJNIMethodNames();
+        long[] counts = new long[names.length];
+        long[] times = new long[names.length];
+        NativeAccess.sampleJNICalls(counts, times, reset);
+        for (int i = 0; i < names.length; i++) {
+            if (counts[i] != 0) {
+                entries.add(new Object[]{names[i], NATIVE_TO_JAVA, counts[i], times[i]});
+            }
+        }
+        entries.sort((a, b) -> Long.compare((long) b[3], (long) a[3]));
+        int size = (top > 0) ? Math.min(top, entries.size()) : entries.size();
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++) {
+            Object[] entry = entries.get(i);
+            DynamicObject record = JSUserObject.create(context);
+            JSObject.set(record, "name", entry[0]);
+            JSObject.set(record, "direction", entry[1]);
+            JSObject.set(record, "calls", (double) (long) entry[2]);
+            JSObject.set(record, "time", (long) entry[3] / 1_000_000.0);
+            result[i] = record;
+        }
+        return JSArray.createConstantObjectArray(context, result);
+    }
+
+    @TruffleBoundary
+    public static DynamicObject createBindings(JSContext context) {
+        DynamicObject obj = JSUserObject.create(context);
+        JSObjectUtil.putFunctionsFromContainer(context.getRealm(), obj, BUILTINS);
+        return obj;
+    }
+}
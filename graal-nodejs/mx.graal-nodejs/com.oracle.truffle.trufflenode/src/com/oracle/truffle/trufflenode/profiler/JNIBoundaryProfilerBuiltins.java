@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.profiler;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
+import com.oracle.truffle.js.nodes.cast.JSToBooleanNode;
+import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfilerBuiltinsFactory.SampleNodeGen;
+import com.oracle.truffle.trufflenode.profiler.JNIBoundaryProfilerBuiltinsFactory.SetEnabledNodeGen;
+
+public class JNIBoundaryProfilerBuiltins extends JSBuiltinsContainer.SwitchEnum<JNIBoundaryProfilerBuiltins.Profiler> {
+    protected JNIBoundaryProfilerBuiltins() {
+        super("JNIBoundaryProfiler", Profiler.class);
+    }
+
+    public enum Profiler implements BuiltinEnum<Profiler> {
+        enable(0),
+        disable(0),
+        sample(2);
+
+        private final int length;
+
+        Profiler(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int getLength() {
+            return length;
+        }
+    }
+
+    @Override
+    protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, Profiler builtinEnum) {
+        switch (builtinEnum) {
+            case enable:
+                return SetEnabledNodeGen.create(context, builtin, true, args().fixedArgs(0).createArgumentNodes(context));
+            case disable:
+                return SetEnabledNodeGen.create(context, builtin, false, args().fixedArgs(0).createArgumentNodes(context));
+            case sample:
+                return SampleNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+        }
+        return null;
+    }
+
+    /**
+     * Starts or stops counting the transitions in both directions.
+     */
+    public abstract static class SetEnabledNode extends JSBuiltinNode {
+        private final boolean enable;
+
+        protected SetEnabledNode(JSContext context, JSBuiltin builtin, boolean enable) {
+            super(context, builtin);
+            this.enable = enable;
+        }
+
+        @Specialization
+        public Object setEnabled() {
+            JNIBoundaryProfiler.get(getContext().getRealm()).setEnabled(enable);
+            return Undefined.instance;
+        }
+    }
+
+    /**
+     * Returns the hottest transitions, optionally resetting all counters.
+     */
+    public abstract static class SampleNode extends JSBuiltinNode {
+        @Child private JSToIntegerNode toInt = JSToIntegerNode.create();
+        @Child private JSToBooleanNode toBoolean = JSToBooleanNode.create();
+
+        protected SampleNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        public Object sample(Object top, Object reset) {
+            return JNIBoundaryProfiler.get(getContext().getRealm()).sample(getContext(), toInt.executeInt(top), toBoolean.executeBoolean(reset));
+        }
+    }
+}
@@ -179,6 +179,8 @@ public class Deserializer {
                 return readHostObject();
             case SHARED_JAVA_OBJECT:
                 return readSharedJavaObject(context);
+            case STRUCTURED_CLONE:
+                return readStructuredClone(context);
             default:
                 throw Errors.createError("Deserialization of a value tagged " + tag);
         }
@@ -318,10 +320,12 @@ public class Deserializer {
     private DynamicObject readJSArrayBuffer(JSContext context) {
         int byteLength = readVarInt();
         DynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, byteLength);
-        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
-        for (int i = 0; i < byteLength; i++) {
-            byteBuffer.put(i, buffer.get());
-        }
+        ByteBuffer target = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+        ByteBuffer source = buffer.duplicate();
+        int position = readBytes(byteLength);
+        asBaseBuffer(source).limit(position + byteLength).position(position);
+        asBaseBuffer(target).position(0);
+        target.put(source);
         assignId(arrayBuffer);
         return (peekTag() == SerializationTag.ARRAY_BUFFER_VIEW) ? readJSArrayBufferView(context, arrayBuffer) : arrayBuffer;
     }
@@ -495,6 +499,15 @@ public class Deserializer {
         return context.getRealm().getEnv().asGuestValue(element);
     }
 
+    public Object readStructuredClone(JSContext context) {
+        long messagePortPointer = readVarLong();
+        if (messagePortCache == null || messagePortCache.getMessagePortDataPointer() != messagePortPointer) {
+            messagePortCache = SharedMemMessagingManager.getMessagePortDataFor(messagePortPointer);
+        }
+        StructuredClone clone = (StructuredClone) messagePortCache.removeJavaRef();
+        return assignId(clone.materialize(context));
+    }
+
     public int readBytes(int length) {
         int position = buffer.position();
         asBaseBuffer(buffer).position(position + length);
@@ -71,6 +71,8 @@ import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
 
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
+
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -89,8 +91,10 @@ public class Serializer {
 
     /** Pointer to the corresponding v8::ValueSerializer. */
     private final long delegate;
-    /** Buffer used for serialization. */
-    private ByteBuffer buffer = allocateBuffer(1024);
+    /** Initial capacity of the buffer used for serialization. */
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    /** Buffer used for serialization (borrowed from and returned to {@link GraalJSAccess}). */
+    private ByteBuffer buffer;
     /** ID of the next serialized object. **/
     private int nextId;
     /** Maps a serialized object to its ID. */
@@ -107,6 +111,7 @@ public class Serializer {
         this.delegate = delegate;
         this.env = mainJSContext.getRealm().getEnv();
         this.access = access;
+        this.buffer = access.acquireSerializerBuffer(INITIAL_BUFFER_SIZE);
     }
 
     public void setTreatArrayBufferViewsAsHostObjects(boolean treatArrayBufferViewsAsHostObjects) {
@@ -174,6 +179,19 @@ public class Serializer {
             writeVarInt(messagePort.getMessagePortDataPointer());
             assignId(value);
             messagePort.enqueueJavaRef(env.asHostObject(value));
+        } else if (nextId == 0 && access.getCurrentMessagePortData() != null) {
+            // Root of a message posted to another worker of this VM: try to pass
+            // a copy of the object graph instead of encoding it
+            StructuredClone clone = StructuredClone.capture(value);
+            if (clone == null) {
+                writeObject(value);
+            } else {
+                JavaMessagePortData messagePort = access.getCurrentMessagePortData();
+                writeTag(SerializationTag.STRUCTURED_CLONE);
+                writeVarInt(messagePort.getMessagePortDataPointer());
+                assignId(value);
+                messagePort.enqueueJavaRef(clone);
+            }
         } else {
             writeObject(value);
         }
@@ -358,10 +376,9 @@ public class Serializer {
             ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
             writeTag(SerializationTag.ARRAY_BUFFER);
             writeVarInt(byteLength);
-            ensureFreeSpace(byteLength);
-            for (int i = 0; i < byteLength; i++) {
-                buffer.put(byteBuffer.get(i));
-            }
+            ByteBuffer contents = byteBuffer.duplicate();
+            asBaseBuffer(contents).limit(byteLength).position(0);
+            writeBytes(contents);
         } else {
             writeTag(SerializationTag.ARRAY_BUFFER_TRANSFER);
             writeVarInt(Integer.toUnsignedLong(id));
@@ -530,6 +547,8 @@ public class Serializer {
     public void release(ByteBuffer targetBuffer) {
         buffer.flip();
         targetBuffer.put(buffer);
+        access.releaseSerializerBuffer(buffer);
+        buffer = ByteBuffer.allocate(0);
     }
 
     private void assignId(Object object) {
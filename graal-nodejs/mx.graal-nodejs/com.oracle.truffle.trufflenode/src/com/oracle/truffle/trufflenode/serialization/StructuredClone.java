@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.serialization;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousJSObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.trufflenode.GraalJSAccess;
+
+/**
+ * Copy of a graph of plain objects, arrays and primitive values that is passed between workers
+ * running in the same VM instead of encoding the graph into the wire format of
+ * {@link Serializer}. The copy does not reference any object of the sending context, so it can be
+ * materialized in the context of the receiving worker.
+ */
+public final class StructuredClone {
+
+    /** Marks a value that cannot be copied by this fast path. */
+    private static final Object UNSUPPORTED = new Object();
+    /**
+     * Maximum nesting depth of a copied graph. Deeper graphs go through the wire format, so that
+     * neither the copy nor the materialization (which has the same depth) overflows the stack.
+     */
+    static final int MAX_DEPTH = 1000;
+
+    /** Root of the copied graph (an {@link ObjectNode} or an {@link ArrayNode}). */
+    private final Object root;
+
+    private StructuredClone(Object root) {
+        this.root = root;
+    }
+
+    /**
+     * Copies the graph reachable from the given value. Returns {@code null} when the graph contains
+     * a value that has to go through the wire format (accessors, host objects, maps, buffers, arrays
+     * with holes etc.) or is nested deeper than {@link #MAX_DEPTH}.
+     */
+    @TruffleBoundary
+    public static StructuredClone capture(Object value) {
+        if (!JSUserObject.isJSUserObject(value) && !JSArray.isJSArray(value)) {
+            return null;
+        }
+        Object root = new Capture().value(value);
+        return (root == UNSUPPORTED) ? null : new StructuredClone(root);
+    }
+
+    /**
+     * Creates the objects of the copied graph in the given context.
+     */
+    @TruffleBoundary
+    public Object materialize(JSContext context) {
+        return new Materialization(context).value(root);
+    }
+
+    /** Copy of an ordinary object: its enumerable own data properties. */
+    private static final class ObjectNode {
+        /** Property keys, shared by the copies of all objects with the same shape. */
+        final String[] keys;
+        final Object[] values;
+
+        ObjectNode(String[] keys) {
+            this.keys = keys;
+            this.values = new Object[keys.length];
+        }
+    }
+
+    /** Copy of a dense array: its elements in an {@code int[]}, {@code double[]} or {@code Object[]}. */
+    private static final class ArrayNode {
+        final Object elements;
+
+        ArrayNode(Object elements) {
+            this.elements = elements;
+        }
+    }
+
+    /** Data properties copied from all objects of one shape. */
+    private static final class ObjectLayout {
+        final String[] keys;
+        final Property[] properties;
+
+        ObjectLayout(String[] keys, Property[] properties) {
+            this.keys = keys;
+            this.properties = properties;
+        }
+    }
+
+    private static final class Capture {
+        /** Maps an already copied object to its copy (preserves identity and cycles). */
+        private final Map<DynamicObject, Object> copies = new IdentityHashMap<>();
+        /** Properties to copy per object shape ({@code null} for unsupported shapes). */
+        private final Map<Shape, ObjectLayout> objectLayouts = new IdentityHashMap<>();
+        /** Whether arrays of the given shape have no enumerable non-index properties. */
+        private final Map<Shape, Boolean> arrayLayouts = new IdentityHashMap<>();
+        /** Number of objects and arrays being copied on the current path. */
+        private int depth;
+
+        Object value(Object value) {
+            if (value instanceof Integer || value instanceof Double || value instanceof Boolean || value instanceof String || value instanceof BigInt ||
+                            value == Undefined.instance || value == Null.instance) {
+                return value;
+            } else if (JSRuntime.isNumber(value)) {
+                return ((Number) value).doubleValue();
+            } else if (JSRuntime.isString(value)) {
+                return JSRuntime.toString(value);
+            } else if (JSUserObject.isJSUserObject(value) || JSArray.isJSArray(value)) {
+                if (depth == MAX_DEPTH) {
+                    return UNSUPPORTED;
+                }
+                depth++;
+                Object copy = JSArray.isJSArray(value) ? array((DynamicObject) value) : object((DynamicObject) value);
+                depth--;
+                return copy;
+            } else {
+                return UNSUPPORTED;
+            }
+        }
+
+        private Object object(DynamicObject object) {
+            Object copy = copies.get(object);
+            if (copy != null) {
+                return copy;
+            }
+            ObjectLayout layout = objectLayout(object);
+            if (layout == null) {
+                return UNSUPPORTED;
+            }
+            Property[] properties = layout.properties;
+            ObjectNode node = new ObjectNode(layout.keys);
+            copies.put(object, node);
+            for (int i = 0; i < properties.length; i++) {
+                Object value = value(properties[i].get(object, false));
+                if (value == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                node.values[i] = value;
+            }
+            return node;
+        }
+
+        private ObjectLayout objectLayout(DynamicObject object) {
+            Shape shape = object.getShape();
+            if (objectLayouts.containsKey(shape)) {
+                return objectLayouts.get(shape);
+            }
+            ObjectLayout layout = null;
+            if (GraalJSAccess.internalFieldCount(object) == 0) {
+                List<String> names = JSObject.enumerableOwnNames(object);
+                Property[] properties = new Property[names.size()];
+                for (int i = 0; i < properties.length; i++) {
+                    Property property = shape.getProperty(names.get(i));
+                    if (property == null || !JSProperty.isData(property) || JSProperty.isProxy(property)) {
+                        properties = null;
+                        break;
+                    }
+                    properties[i] = property;
+                }
+                if (properties != null) {
+                    layout = new ObjectLayout(names.toArray(new String[properties.length]), properties);
+                }
+            }
+            objectLayouts.put(shape, layout);
+            return layout;
+        }
+
+        private Object array(DynamicObject array) {
+            Object copy = copies.get(array);
+            if (copy != null) {
+                return copy;
+            }
+            long length = JSAbstractArray.arrayGetLength(array);
+            ScriptArray type = JSAbstractArray.arrayGetArrayType(array);
+            if (length > Integer.MAX_VALUE || !hasOnlyElements(array) || !isDense(array, type, length)) {
+                return UNSUPPORTED;
+            }
+            int intLength = (int) length;
+            Object storage = JSAbstractArray.arrayGetArray(array);
+            if (storage instanceof int[] && (type instanceof ZeroBasedIntArray || type instanceof ConstantIntArray || type instanceof AbstractContiguousIntArray)) {
+                int offset = (type instanceof AbstractContiguousIntArray) ? JSAbstractArray.arrayGetArrayOffset(array) : 0;
+                ArrayNode node = new ArrayNode(Arrays.copyOfRange((int[]) storage, offset, offset + intLength));
+                copies.put(array, node);
+                return node;
+            }
+            if (storage instanceof double[] && (type instanceof ZeroBasedDoubleArray || type instanceof ConstantDoubleArray || type instanceof AbstractContiguousDoubleArray)) {
+                int offset = (type instanceof AbstractContiguousDoubleArray) ? JSAbstractArray.arrayGetArrayOffset(array) : 0;
+                ArrayNode node = new ArrayNode(Arrays.copyOfRange((double[]) storage, offset, offset + intLength));
+                copies.put(array, node);
+                return node;
+            }
+            Object[] elements = new Object[intLength];
+            ArrayNode node = new ArrayNode(elements);
+            copies.put(array, node);
+            for (int i = 0; i < intLength; i++) {
+                Object value = value(type.getElement(array, i));
+                if (value == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                elements[i] = value;
+            }
+            return node;
+        }
+
+        private boolean hasOnlyElements(DynamicObject array) {
+            Shape shape = array.getShape();
+            Boolean result = arrayLayouts.get(shape);
+            if (result == null) {
+                result = Boolean.TRUE;
+                for (Property property : shape.getPropertyList()) {
+                    if (property.getKey() instanceof String && JSProperty.isEnumerable(property)) {
+                        result = Boolean.FALSE;
+                        break;
+                    }
+                }
+                arrayLayouts.put(shape, result);
+            }
+            return result;
+        }
+
+        private static boolean isDense(DynamicObject array, ScriptArray type, long length) {
+            if (type.isHolesType()) {
+                return false;
+            }
+            if (type instanceof AbstractContiguousIntArray || type instanceof AbstractContiguousDoubleArray || type instanceof AbstractContiguousObjectArray ||
+                            type instanceof AbstractContiguousJSObjectArray) {
+                // contiguous arrays report holes conservatively, check the used range instead
+                return length == 0 || (type.firstElementIndex(array) == 0 && type.lastElementIndex(array) == length - 1);
+            }
+            return !type.hasHoles(array);
+        }
+    }
+
+    private static final class Materialization {
+        private final JSContext context;
+        /** Maps a node of the copied graph to the object created for it. */
+        private final Map<Object, DynamicObject> objects = new IdentityHashMap<>();
+
+        Materialization(JSContext context) {
+            this.context = context;
+        }
+
+        Object value(Object value) {
+            if (value instanceof ObjectNode) {
+                return object((ObjectNode) value);
+            } else if (value instanceof ArrayNode) {
+                return array((ArrayNode) value);
+            } else {
+                return value;
+            }
+        }
+
+        private DynamicObject object(ObjectNode node) {
+            DynamicObject object = objects.get(node);
+            if (object == null) {
+                object = JSUserObject.create(context);
+                objects.put(node, object);
+                String[] keys = node.keys;
+                for (int i = 0; i < keys.length; i++) {
+                    JSObjectUtil.putDataProperty(context, object, keys[i], value(node.values[i]), JSAttributes.getDefault());
+                }
+            }
+            return object;
+        }
+
+        private DynamicObject array(ArrayNode node) {
+            DynamicObject array = objects.get(node);
+            if (array == null) {
+                // the copied storage is owned by this message, so it can be adopted as is
+                Object elements = node.elements;
+                if (elements instanceof int[]) {
+                    array = JSArray.createZeroBasedIntArray(context, (int[]) elements);
+                    objects.put(node, array);
+                } else if (elements instanceof double[]) {
+                    array = JSArray.createZeroBasedDoubleArray(context, (double[]) elements);
+                    objects.put(node, array);
+                } else {
+                    Object[] copied = (Object[]) elements;
+                    Object[] values = new Object[copied.length];
+                    array = JSArray.createZeroBasedObjectArray(context, values);
+                    objects.put(node, array);
+                    for (int i = 0; i < copied.length; i++) {
+                        values[i] = value(copied[i]);
+                    }
+                }
+            }
+            return array;
+        }
+    }
+
+}
@@ -133,6 +133,7 @@
       'lib/internal/fs/watchers.js',
       'lib/internal/graal/buffer.js',
       'lib/internal/graal/debug.js',
+      'lib/internal/graal/jni_profiler.js',
       'lib/internal/http.js',
       'lib/internal/idna.js',
       'lib/internal/inspector_async_hook.js',
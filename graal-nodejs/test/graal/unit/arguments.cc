@@ -72,4 +72,39 @@ EXPORT_TO_JS(Identity) {
     args.GetReturnValue().Set(args[0]);
 }
 
+EXPORT_TO_JS(Nth) {
+    int n = args[0].As<Integer>()->Value();
+    args.GetReturnValue().Set(args[n]);
+}
+
+// ArrayBufferView::ByteLength
+// ArrayBufferView::ByteOffset
+// TypedArray::Length
+
+EXPORT_TO_JS(ViewInfo) {
+    Isolate* isolate = args.GetIsolate();
+    int index = args.Length() - 1; // the view is the last argument
+    Local<ArrayBufferView> view = args[index].As<ArrayBufferView>();
+    Local<Value> info[3] = {
+        Integer::New(isolate, view->ByteLength()),
+        Integer::New(isolate, view->ByteOffset()),
+        view->IsTypedArray() ? Integer::New(isolate, view.As<TypedArray>()->Length()).As<Value>() : Undefined(isolate).As<Value>()
+    };
+    args.GetReturnValue().Set(Array::New(isolate, info, 3));
+}
+
+// TypedArray::Length after ArrayBuffer::Detach
+
+EXPORT_TO_JS(LengthAfterDetach) {
+    Isolate* isolate = args.GetIsolate();
+    Local<TypedArray> array = args[0].As<TypedArray>();
+    int length_before = array->Length();
+    array->Buffer()->Detach();
+    Local<Value> lengths[2] = {
+        Integer::New(isolate, length_before),
+        Integer::New(isolate, array->Length())
+    };
+    args.GetReturnValue().Set(Array::New(isolate, lengths, 2));
+}
+
 #undef SUITE
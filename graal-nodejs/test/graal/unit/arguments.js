@@ -105,4 +105,49 @@ describe('Arguments', function () {
             });
         });
     });
+    describe('many arguments', function () {
+        it('should be passed correctly', function() {
+            var lazyString = 'aaaaaaaaaaaaaaaaaaaa';
+            lazyString += 'bbbbbbbbbbbbbbbbbbbbbbb';
+            var values = [
+                undefined,
+                null,
+                true,
+                42,
+                Math.PI,
+                lazyString,
+                Symbol.iterator,
+                { foo: 'bar'},
+                new Uint16Array(new ArrayBuffer(16), 2, 3),
+                new DataView(new ArrayBuffer(8), 4),
+                123456789012,
+                'last'
+            ];
+            for (var i = 0; i < values.length; i++) {
+                assert.strictEqual(module.Arguments_Nth.apply(null, [i + 1].concat(values)), values[i]);
+            }
+            var args = [1];
+            for (var j = 0; j < 200; j++) {
+                args.push(j);
+            }
+            assert.strictEqual(module.Arguments_Nth.apply(null, args), 0);
+            args[0] = 200;
+            assert.strictEqual(module.Arguments_Nth.apply(null, args), 199);
+        });
+    });
+    describe('ArrayBufferView', function () {
+        it('should report byte length, byte offset and length', function() {
+            var view = new Uint32Array(new ArrayBuffer(32), 8, 5);
+            assert.deepStrictEqual(module.Arguments_ViewInfo(view), [20, 8, 5]);
+            assert.deepStrictEqual(module.Arguments_ViewInfo(1, 2, 3, 4, 5, 6, 7, 8, view), [20, 8, 5]);
+            var dataView = new DataView(new ArrayBuffer(10), 3, 4);
+            assert.deepStrictEqual(module.Arguments_ViewInfo(dataView), [4, 3, undefined]);
+        });
+        it('should report length 0 after the buffer is detached', function() {
+            assert.deepStrictEqual(module.Arguments_LengthAfterDetach(new Float64Array(6)), [6, 0]);
+            var view = new Int16Array(new ArrayBuffer(32), 4, 10);
+            assert.deepStrictEqual(module.Arguments_ViewInfo(view), [20, 4, 10]);
+            assert.deepStrictEqual(module.Arguments_LengthAfterDetach(view), [10, 0]);
+        });
+    });
 });
@@ -56,4 +56,13 @@ EXPORT_TO_JS(New) {
     args.GetReturnValue().Set(Array::New(isolate, len));
 }
 
+EXPORT_TO_JS(NewFromElements) {
+    Isolate* isolate = args.GetIsolate();
+    std::vector<Local<Value>> elements;
+    for (int i = 0; i < args.Length(); i++) {
+        elements.push_back(args[i]);
+    }
+    args.GetReturnValue().Set(Array::New(isolate, elements.data(), elements.size()));
+}
+
 #undef SUITE
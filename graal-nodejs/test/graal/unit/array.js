@@ -54,6 +54,19 @@ describe('Array', function () {
             assert.strictEqual(arr instanceof Array, true);
             assert.strictEqual(arr.length, 123);
         });
+        it('should create an array with the given elements', function () {
+            var obj = {};
+            var arr = module.Array_NewFromElements(1, 'a', obj, 2.5, undefined);
+            assert.strictEqual(arr instanceof Array, true);
+            assert.deepStrictEqual(arr, [1, 'a', obj, 2.5, undefined]);
+            arr.push(42);
+            assert.strictEqual(arr.length, 6);
+        });
+        it('should create an empty array from no elements', function () {
+            var arr = module.Array_NewFromElements();
+            assert.strictEqual(arr instanceof Array, true);
+            assert.strictEqual(arr.length, 0);
+        });
     });
     describe('Length', function () {
         it('should return 0 for []', function () {
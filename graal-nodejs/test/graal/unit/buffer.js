@@ -93,6 +93,14 @@ describe('Buffer.utf8Write', function() {
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Write.length, 0);
     });
+    it('should not split surrogate pairs', function() {
+        assert.strictEqual(Buffer.alloc(10).utf8Write('a\ud83d\ude00', 0, 4), 1);
+    });
+    it('should replace lone surrogates', function() {
+        var buf = Buffer.alloc(3);
+        assert.strictEqual(buf.utf8Write('\ud800'), 3);
+        assert.deepStrictEqual(Array.from(buf), [0xef, 0xbf, 0xbd]);
+    });
 });
 
 describe('Buffer.utf8Slice', function() {
@@ -145,4 +153,192 @@ describe('Buffer.utf8Slice', function() {
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Slice.length, 0);
     });
-});
\ No newline at end of file
+    it('should decode multi-byte sequences', function() {
+        assert.strictEqual(Buffer.from([0x61, 0xc3, 0xa9, 0xe2, 0x82, 0xac, 0xf0, 0x9f, 0x98, 0x80]).utf8Slice(0, 10), 'a\u00e9\u20ac\ud83d\ude00');
+    });
+    it('should replace malformed sequences', function() {
+        assert.strictEqual(Buffer.from([0xe2, 0x82, 0x61, 0xff]).utf8Slice(0, 4), '\ufffda\ufffd');
+    });
+    it('should replace surrogates and overlong sequences', function() {
+        assert.strictEqual(Buffer.from([0xed, 0xa0, 0x80, 0xc0, 0xaf]).utf8Slice(0, 5), '\ufffd\ufffd\ufffd\ufffd\ufffd');
+    });
+    it('should replace a truncated sequence at the end', function() {
+        assert.strictEqual(Buffer.from([0x61, 0xf0, 0x9f, 0x98]).utf8Slice(0, 4), 'a\ufffd');
+    });
+});
+describe('Buffer.latin1Write/latin1Slice', function() {
+    it('should round-trip latin1 strings', function() {
+        var buf = Buffer.alloc(4);
+        assert.strictEqual(buf.latin1Write('été!'), 4);
+        assert.strictEqual(buf.latin1Slice(0, 4), 'été!');
+    });
+    it('should keep the low byte of each character', function() {
+        var buf = Buffer.alloc(2);
+        buf.latin1Write('Łÿ');
+        assert.strictEqual(buf[0], 0x41);
+        assert.strictEqual(buf[1], 0xff);
+    });
+    it('should fail with negative offset', function() {
+        assert.throws(() => {
+            Buffer.alloc(10).latin1Write('abc', -1, 1)
+        }, RangeError);
+    });
+    it('should fail if argument is not a string', function() {
+        assert.throws(() => {
+            Buffer.alloc(10).latin1Write(1)
+        }, TypeError);
+    });
+});
+
+describe('Buffer.asciiSlice', function() {
+    it('should strip the high bit', function() {
+        assert.strictEqual(Buffer.from([0xe1, 0x62]).asciiSlice(0, 2), 'ab');
+    });
+    it('should check range', function() {
+        assert.throws(() => {
+            Buffer.alloc(10).asciiSlice(0, 11)
+        }, RangeError);
+    });
+});
+
+describe('Buffer.ucs2Write/ucs2Slice', function() {
+    it('should write little-endian code units', function() {
+        var buf = Buffer.alloc(4);
+        assert.strictEqual(buf.ucs2Write('€a'), 4);
+        assert.deepStrictEqual(Array.from(buf), [0xac, 0x20, 0x61, 0x00]);
+        assert.strictEqual(buf.ucs2Slice(0, 4), '€a');
+    });
+    it('should only write complete code units', function() {
+        assert.strictEqual(Buffer.alloc(3).ucs2Write('abc'), 2);
+    });
+    it('should ignore a trailing odd byte', function() {
+        assert.strictEqual(Buffer.from([0x61, 0x00, 0x62]).ucs2Slice(0, 3), 'a');
+    });
+});
+
+describe('Buffer.hexWrite/hexSlice', function() {
+    it('should round-trip hex strings', function() {
+        var buf = Buffer.alloc(3);
+        assert.strictEqual(buf.hexWrite('00fFa0'), 3);
+        assert.strictEqual(buf.hexSlice(0, 3), '00ffa0');
+    });
+    it('should stop at the first invalid pair', function() {
+        assert.strictEqual(Buffer.alloc(4).hexWrite('abzz12'), 1);
+    });
+    it('should slice the full buffer with no arguments', function() {
+        assert.strictEqual(Buffer.from([1, 2]).hexSlice(), '0102');
+    });
+});
+
+describe('Buffer.base64Write/base64Slice', function() {
+    it('should round-trip base64 strings', function() {
+        var buf = Buffer.alloc(5);
+        assert.strictEqual(buf.base64Write('aGVsbG8='), 5);
+        assert.strictEqual(buf.base64Slice(0, 5), 'aGVsbG8=');
+    });
+    it('should accept the url-safe alphabet', function() {
+        var buf = Buffer.alloc(3);
+        assert.strictEqual(buf.base64Write('-_-_'), 3);
+        assert.strictEqual(buf.base64Slice(0, 3), '+/+/');
+    });
+    it('should skip illegal characters', function() {
+        var buf = Buffer.alloc(5);
+        assert.strictEqual(buf.base64Write('aGV s\nbG8'), 5);
+        assert.strictEqual(buf.latin1Slice(0, 5), 'hello');
+    });
+    it('should not write past the end of the buffer', function() {
+        assert.strictEqual(Buffer.alloc(2).base64Write('aGVsbG8='), 2);
+    });
+    it('should check buffer type', function() {
+        assert.throws(() => {
+            Buffer.prototype.base64Slice.call(1)
+        }, TypeError);
+    });
+});
+
+describe('Buffer.compare/equals', function() {
+    it('should compare bytes as unsigned values', function() {
+        assert.strictEqual(Buffer.compare(Buffer.from([0x01]), Buffer.from([0xff])), -1);
+        assert.strictEqual(Buffer.compare(Buffer.from([0xff]), Buffer.from([0x01])), 1);
+    });
+    it('should compare long buffers', function() {
+        var a = Buffer.alloc(100, 7);
+        var b = Buffer.alloc(100, 7);
+        assert.strictEqual(Buffer.compare(a, b), 0);
+        b[93] = 8;
+        assert.strictEqual(Buffer.compare(a, b), -1);
+        assert.strictEqual(a.equals(b), false);
+    });
+    it('should order prefixes first', function() {
+        assert.strictEqual(Buffer.compare(Buffer.from('abc'), Buffer.from('abcd')), -1);
+        assert.strictEqual(Buffer.from('abcd').compare(Buffer.from('abc')), 1);
+    });
+    it('should respect offsets of views', function() {
+        var a = Buffer.from('xxhello');
+        assert.ok(a.subarray(2).equals(Buffer.from('hello')));
+    });
+    it('should compare ranges', function() {
+        var a = Buffer.from('abcdef');
+        assert.strictEqual(a.compare(Buffer.from('xcdx'), 1, 3, 2, 4), 0);
+        assert.strictEqual(a.compare(Buffer.from('xcdx'), 1, 4, 2, 4), -1);
+    });
+});
+
+describe('Buffer.copy', function() {
+    it('should copy ranges', function() {
+        var target = Buffer.alloc(6, '.');
+        assert.strictEqual(Buffer.from('abcdef').copy(target, 1, 2, 5), 3);
+        assert.strictEqual(target.toString(), '.cde..');
+    });
+    it('should truncate to the target length', function() {
+        var target = Buffer.alloc(3);
+        assert.strictEqual(Buffer.from('abcdef').copy(target, 1), 2);
+        assert.strictEqual(target.toString('latin1', 1), 'ab');
+    });
+    it('should handle overlapping ranges', function() {
+        var buf = Buffer.from('abcdef');
+        assert.strictEqual(buf.copy(buf, 2, 0, 4), 4);
+        assert.strictEqual(buf.toString(), 'ababcd');
+    });
+});
+
+describe('Buffer.indexOf', function() {
+    var buf = Buffer.from('abc\r\nabc\r\nxyz');
+    it('should find numbers', function() {
+        assert.strictEqual(buf.indexOf(0x0a), 4);
+        assert.strictEqual(buf.lastIndexOf(0x0a), 9);
+        assert.strictEqual(buf.indexOf(0x0a + 0x100), 4);
+        assert.strictEqual(buf.indexOf(0x0a, -4), -1);
+    });
+    it('should find strings', function() {
+        assert.strictEqual(buf.indexOf('\r\n'), 3);
+        assert.strictEqual(buf.indexOf('\r\n', 4), 8);
+        assert.strictEqual(buf.lastIndexOf('abc'), 5);
+        assert.strictEqual(buf.lastIndexOf('abc', 4), 0);
+        assert.strictEqual(buf.indexOf('abcd'), -1);
+        assert.strictEqual(buf.indexOf(''), 0);
+        assert.ok(buf.includes('xyz'));
+    });
+    it('should find buffers', function() {
+        assert.strictEqual(buf.indexOf(Buffer.from('c\r\nx')), 7);
+        assert.strictEqual(buf.indexOf(Buffer.from('c\r\nx'), -6), 7);
+        assert.strictEqual(buf.lastIndexOf(Buffer.from('c\r')), 7);
+    });
+    it('should find utf8 strings', function() {
+        assert.strictEqual(Buffer.from('a€b€').indexOf('€b'), 1);
+    });
+    it('should only find aligned ucs2 strings', function() {
+        // bytes 00 61 00 00 61 00 contain 'a' (61 00) at offsets 1 and 4
+        var ucs2 = Buffer.from('\u6100\u0000a', 'ucs2');
+        assert.strictEqual(ucs2.indexOf('a', 0, 'ucs2'), 4);
+        assert.strictEqual(ucs2.lastIndexOf('a', 3, 'ucs2'), -1);
+    });
+    it('should terminate ucs2 lastIndexOf when the window shifts before the start', function() {
+        // the first byte of the haystack equals the second byte of the needle
+        assert.strictEqual(Buffer.alloc(2).lastIndexOf('a', undefined, 'ucs2'), -1);
+        assert.strictEqual(Buffer.from('\u6100\u0062', 'ucs2').lastIndexOf('a', undefined, 'ucs2'), -1);
+        assert.strictEqual(Buffer.from('\u0000a', 'ucs2').lastIndexOf('a', undefined, 'ucs2'), 2);
+        assert.strictEqual(Buffer.from('ab', 'ucs2').lastIndexOf('ab', undefined, 'ucs2'), 0);
+        assert.strictEqual(Buffer.from('b', 'ucs2').lastIndexOf('a', 0, 'ucs2'), -1);
+    });
+});
@@ -60,6 +60,30 @@ void GC_Callback2(Isolate* isolate, GCType type, GCCallbackFlags flags) {
     callback2_invocations++;
 }
 
+static int weak_callback_invocations;
+static bool weak_objects_external;
+static const int64_t weak_object_external_size = 1024 * 1024;
+
+void GC_WeakCallback(const WeakCallbackInfo<Persistent<Object>>& data) {
+    weak_callback_invocations++;
+    data.GetParameter()->Reset();
+    delete data.GetParameter();
+    if (weak_objects_external) {
+        data.GetIsolate()->AdjustAmountOfExternalAllocatedMemory(-weak_object_external_size);
+    }
+}
+
+void GC_CreateWeakObjects(Isolate* isolate, int count) {
+    for (int i = 0; i < count; i++) {
+        HandleScope scope(isolate);
+        Persistent<Object>* persistent = new Persistent<Object>(isolate, Object::New(isolate));
+        persistent->SetWeak(persistent, GC_WeakCallback, WeakCallbackType::kParameter);
+        if (weak_objects_external) {
+            isolate->AdjustAmountOfExternalAllocatedMemory(weak_object_external_size);
+        }
+    }
+}
+
 #endif
 
 EXPORT_TO_JS(AddGCPrologueCallbackTest) {
@@ -139,4 +163,27 @@ EXPORT_TO_JS(RemoveGCEpilogueCallbackTest) {
     args.GetReturnValue().Set(result);
 }
 
+EXPORT_TO_JS(WeakCallbacksTest) {
+    Isolate* isolate = args.GetIsolate();
+    int count = args[0].As<Integer>()->Value();
+    weak_callback_invocations = 0;
+    weak_objects_external = false;
+    GC_CreateWeakObjects(isolate, count);
+    GC_InvokeGC(isolate);
+    args.GetReturnValue().Set(weak_callback_invocations);
+}
+
+EXPORT_TO_JS(ExternalMemoryPressureTest) {
+    Isolate* isolate = args.GetIsolate();
+    int count = args[0].As<Integer>()->Value();
+    weak_callback_invocations = 0;
+    weak_objects_external = true;
+    GC_CreateWeakObjects(isolate, count);
+    int invocations = weak_callback_invocations;
+    // release the rest (and the external memory reported for it)
+    GC_InvokeGC(isolate);
+    weak_objects_external = false;
+    args.GetReturnValue().Set(invocations);
+}
+
 #undef SUITE
@@ -59,4 +59,13 @@ describe('GC', function () {
     it('RemoveGCEpilogueCallbackTest should remove a registered callback', function () {
         assert.strictEqual(module.GC_RemoveGCEpilogueCallbackTest(), true);
     });
+    it('gc() should invoke weak callbacks of collected objects', function () {
+        var invocations = module.GC_WeakCallbacksTest(1000);
+        assert.ok(invocations > 0 && invocations <= 1000, invocations);
+    });
+    it('growing external memory should invoke weak callbacks without gc()', function () {
+        // each object reports 1MB of external memory
+        var invocations = module.GC_ExternalMemoryPressureTest(200);
+        assert.ok(invocations > 0 && invocations <= 200, invocations);
+    });
 });
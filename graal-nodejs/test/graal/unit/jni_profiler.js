@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+var assert = require('assert');
+var perf_hooks = require('perf_hooks');
+
+describe('perf_hooks.monitorNativeBoundary', function() {
+    it('should count native calls while enabled', function() {
+        var monitor = perf_hooks.monitorNativeBoundary();
+        monitor.enable().reset();
+        for (var i = 0; i < 10; i++) {
+            Buffer.from('abc').toString('hex');
+        }
+        monitor.disable();
+        var records = monitor.sample();
+        assert.ok(Array.isArray(records));
+        for (var record of records) {
+            assert.strictEqual(typeof record.name, 'string');
+            assert.ok(record.direction === 'js->native' || record.direction === 'native->java');
+            assert.ok(record.calls > 0);
+            assert.ok(record.time >= 0);
+        }
+    });
+    it('should respect the top argument', function() {
+        var monitor = perf_hooks.monitorNativeBoundary();
+        monitor.enable();
+        Buffer.alloc(16).fill(1);
+        monitor.disable();
+        assert.ok(monitor.sample(1).length <= 1);
+    });
+    it('should clear the counters on reset', function() {
+        var monitor = perf_hooks.monitorNativeBoundary();
+        monitor.reset();
+        assert.strictEqual(monitor.sample().length, 0);
+    });
+});
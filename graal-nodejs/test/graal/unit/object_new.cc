@@ -99,4 +99,22 @@ EXPORT_TO_JS(NumberObject) {
     args.GetReturnValue().Set(numberObj);
 }
 
+// Object::New
+
+EXPORT_TO_JS(ObjectWithProperties) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Array> keys = args[1].As<Array>();
+    Local<Array> values = args[2].As<Array>();
+    uint32_t length = keys->Length();
+    std::vector<Local<Name>> names_v;
+    std::vector<Local<Value>> values_v;
+    for (uint32_t i = 0; i < length; i++) {
+        names_v.push_back(keys->Get(context, i).ToLocalChecked().As<Name>());
+        values_v.push_back(values->Get(context, i).ToLocalChecked());
+    }
+    Local<Object> obj = Object::New(isolate, args[0], names_v.data(), values_v.data(), length);
+    args.GetReturnValue().Set(obj);
+}
+
 #undef SUITE
@@ -84,4 +84,30 @@ describe('ObjectNew', function () {
             assert.strictEqual(string.valueOf(), "beer");
         });
     });
+    describe('Object::New', function () {
+        it('should return an object with the given properties', function () {
+            var sym = Symbol('sym');
+            var obj = module.ObjectNew_ObjectWithProperties(Object.prototype, ['a', 'b', sym], [1, 'x', true]);
+            assert.strictEqual(Object.getPrototypeOf(obj), Object.prototype);
+            assert.deepStrictEqual(Object.keys(obj), ['a', 'b']);
+            assert.strictEqual(obj.a, 1);
+            assert.strictEqual(obj.b, 'x');
+            assert.strictEqual(obj[sym], true);
+            var desc = Object.getOwnPropertyDescriptor(obj, 'a');
+            assert(desc.writable && desc.enumerable && desc.configurable);
+        });
+        it('should respect the given prototype', function () {
+            var proto = {inherited: 42};
+            var obj = module.ObjectNew_ObjectWithProperties(proto, ['own'], [1]);
+            assert.strictEqual(Object.getPrototypeOf(obj), proto);
+            assert.strictEqual(obj.inherited, 42);
+            var nullProtoObj = module.ObjectNew_ObjectWithProperties(null, ['own'], [1]);
+            assert.strictEqual(Object.getPrototypeOf(nullProtoObj), null);
+            assert.strictEqual(nullProtoObj.own, 1);
+        });
+        it('should use the last value of a repeated name', function () {
+            var obj = module.ObjectNew_ObjectWithProperties(Object.prototype, ['a', 'a'], [1, 2]);
+            assert.strictEqual(obj.a, 2);
+        });
+    });
 });
@@ -160,4 +160,19 @@ describe('Serialization', function () {
         assert.deepEqual(deserialized.ref1, object);
         assert.deepEqual(deserialized.ref2, object);
     })
+    it('should copy large ArrayBuffers and reuse the serialization buffer', function () {
+        var small = v8.serialize({ answer: 42 });
+        var large = new Uint8Array(3 * 1024 * 1024 + 7);
+        for (var i = 0; i < large.length; i++) {
+            large[i] = i & 0xFF;
+        }
+        for (var round = 0; round < 3; round++) {
+            var deserialized = v8.deserialize(v8.serialize(large.buffer));
+            assert.ok(deserialized instanceof ArrayBuffer);
+            assert.deepEqual(new Uint8Array(deserialized), large);
+            // a buffer released by a previous (larger) serialization
+            // must not leak into the next result
+            assert.deepEqual(v8.serialize({ answer: 42 }), small);
+        }
+    });
 });
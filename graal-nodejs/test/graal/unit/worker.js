@@ -42,11 +42,110 @@
 const assert = require('assert');
 
 const {
+    MessageChannel,
     Worker,
     isMainThread
 } = require('worker_threads');
 
 describe('Worker', function () {
+    it('should copy plain objects and arrays posted to a worker', function (done) {
+        var shared = { name: 'shared' };
+        var cyclic = { ints: [1, 2, 3], doubles: [0.5, -0, 1e300], shared: shared, other: shared };
+        cyclic.self = cyclic;
+        var messages = [
+            { a: 1, b: 'two', c: [3, 4.5, 'six', null, undefined, true], d: { e: 10n } },
+            [{ x: 1, y: 2 }, { x: 3, y: 4 }, { x: 5.5, y: -6 }],
+            { 0: 'index', length: 2, nested: [[1], [2.5], []] },
+            cyclic,
+            { get computed() { return 42; }, map: new Map([[1, 2]]) }
+        ];
+        var worker = new Worker(`
+            const { parentPort } = require('worker_threads');
+            parentPort.on('message', (m) => parentPort.postMessage(m));
+        `, { eval: true });
+        var received = 0;
+        worker.on('message', function (m) {
+            if (received < 3) {
+                assert.deepStrictEqual(m, messages[received]);
+            } else if (received === 3) {
+                assert.strictEqual(m.self, m);
+                assert.strictEqual(m.shared, m.other);
+                assert.deepStrictEqual(m.ints, [1, 2, 3]);
+                assert.deepStrictEqual(m.doubles, [0.5, -0, 1e300]);
+                m.ints.push(4.5);
+                assert.deepStrictEqual(m.ints, [1, 2, 3, 4.5]);
+            } else {
+                assert.strictEqual(Object.getOwnPropertyDescriptor(m, 'computed').value, 42);
+                assert.strictEqual(m.map.get(1), 2);
+            }
+            if (++received === messages.length) {
+                worker.terminate().then(() => done());
+            }
+        });
+        messages.forEach((m) => worker.postMessage(m));
+    }).timeout(5000);
+
+    it('should keep copied and encoded messages in order across a port transfer', function (done) {
+        var { port1, port2 } = new MessageChannel();
+        var messages = [
+            { kind: 'copied', values: [1, 2, 3] },
+            { kind: 'encoded', map: new Map([['key', 'value']]) },
+            [{ kind: 'copied' }, 2.5],
+            { kind: 'encoded', get accessor() { return 'value'; } },
+            { kind: 'copied', nested: { deeper: ['x'] } }
+        ];
+        // queued on the port before it is transferred
+        port1.postMessage(messages[0]);
+        port1.postMessage(messages[1]);
+        port1.postMessage(messages[2]);
+        var worker = new Worker(`
+            const { parentPort } = require('worker_threads');
+            parentPort.once('message', ({ port }) => {
+                port.on('message', (m) => parentPort.postMessage(m));
+            });
+        `, { eval: true });
+        worker.postMessage({ port: port2 }, [port2]);
+        port1.postMessage(messages[3]);
+        port1.postMessage(messages[4]);
+        var received = [];
+        worker.on('message', function (m) {
+            received.push(m);
+            if (received.length === messages.length) {
+                assert.deepStrictEqual(received[0], messages[0]);
+                assert.strictEqual(received[1].kind, 'encoded');
+                assert.strictEqual(received[1].map.get('key'), 'value');
+                assert.deepStrictEqual(received[2], messages[2]);
+                assert.strictEqual(received[3].kind, 'encoded');
+                assert.strictEqual(received[3].accessor, 'value');
+                assert.deepStrictEqual(received[4], messages[4]);
+                port1.close();
+                worker.terminate().then(() => done());
+            }
+        });
+    }).timeout(5000);
+
+    it('should post deeply nested objects', function (done) {
+        var depth = 1500;
+        var nested = { level: 0 };
+        for (var i = 1; i < depth; i++) {
+            nested = { level: i, next: nested };
+        }
+        var worker = new Worker(`
+            const { parentPort } = require('worker_threads');
+            parentPort.on('message', (m) => parentPort.postMessage(m));
+        `, { eval: true });
+        worker.on('message', function (m) {
+            var levels = 0;
+            for (var o = m; o !== undefined; o = o.next) {
+                assert.strictEqual(o.level, depth - 1 - levels);
+                levels++;
+            }
+            assert.strictEqual(levels, depth);
+            worker.terminate().then(() => done());
+        });
+        worker.postMessage(nested);
+    }).timeout(5000);
+
     if (typeof java !== 'undefined') {
         it('terminate should terminate Thread.sleep()', function (done) {
             var worker = new Worker('java.lang.Thread.sleep(1000000)', {eval: true});
@@ -58,51 +58,66 @@ HEADER_TEMPLATE = """\
 #ifndef node_snapshots_h
 #define node_snapshots_h
 
-#include <string>
-#include <map>
+#include <algorithm>
+#include <string.h>
 
 namespace node_snapshots {
 
-%(data_lines)s\
+  // The snapshots of all core modules, stored back to back in one blob.
+  unsigned char blob[] = { %(data)s };
 
   struct byte_buffer_t {
     unsigned char* ptr;
     size_t len;
   };
 
-  std::map<std::string, byte_buffer_t> compute_snapshots_map() {
-    std::map<std::string, byte_buffer_t> snapshots_map;
+  struct snapshot_entry_t {
+    const char* id;
+    size_t offset;
+    size_t len;
+  };
 
+  // Sorted by id so that it can be searched without building
+  // any lookup structure during the startup.
+  static const snapshot_entry_t entries[] = {
 %(record_lines)s
+    { nullptr, 0, 0 } // terminator, not counted in entries_count
+  };
 
-    return snapshots_map;
+  static const size_t entries_count = %(count)d;
+
+  inline bool find(const char* id, byte_buffer_t* result) {
+    const snapshot_entry_t* begin = entries;
+    const snapshot_entry_t* end = entries + entries_count;
+    const snapshot_entry_t* lookup = std::lower_bound(begin, end, id, [](const snapshot_entry_t& entry, const char* key) {
+      return strcmp(entry.id, key) < 0;
+    });
+    if (lookup == end || strcmp(lookup->id, id) != 0) {
+      return false;
+    }
+    result->ptr = blob + lookup->offset;
+    result->len = lookup->len;
+    return true;
   }
 
-  static const std::map<std::string, byte_buffer_t> snapshots = compute_snapshots_map();
-
 }
 #endif
 """
 
 
-SNAPSHOT_DATA_DECLARATION = """\
-  unsigned char %(escaped_id)s_snapshot[] = { %(data)s };
-"""
-
-SNAPSHOT_MAP_ENTRY = """\
-    snapshots_map.insert({ "%(id)s", { %(escaped_id)s_snapshot, sizeof(%(escaped_id)s_snapshot) } });"""
+SNAPSHOT_ENTRY = """\
+    { "%(id)s", %(offset)d, %(len)d },"""
 
 
 def JS2C(modules, target):
   # Build source code lines
-  data_lines = []
-  record_lines = []
+  data_chunks = []
+  records = []
+  offset = 0
 
   for m in modules:
     contents = ReadBinaryFile(m)
 
-    data = ','.join(str(ord(c)) for c in contents)
-
     # On Windows, "./foo.bar" in the .gyp file is passed as "foo.bar"
     # so don't assume there is always a slash in the file path.
     if '/' in m or '\\' in m:
@@ -113,16 +128,15 @@ def JS2C(modules, target):
     if id.endswith('.bin'):
       id = id[:-4]
 
-    escaped_id = id.replace('.', '_').replace('-', '_').replace('/', '_')
+    records.append((id, offset, len(contents)))
+    data_chunks.append(','.join(str(ord(c)) for c in contents))
+    offset += len(contents)
 
-    data_lines.append(SNAPSHOT_DATA_DECLARATION % {
-      'escaped_id': escaped_id,
-      'data': data
-    })
-    record_lines.append(SNAPSHOT_MAP_ENTRY % {
-      'id': id,
-      'escaped_id': escaped_id
-    })
+  record_lines = [SNAPSHOT_ENTRY % {
+    'id': id,
+    'offset': entry_offset,
+    'len': entry_len
+  } for (id, entry_offset, entry_len) in sorted(records)]
 
   # Emit result
   if os.path.exists(target):
@@ -132,8 +146,9 @@ def JS2C(modules, target):
     old_content = ''
 
   new_content = HEADER_TEMPLATE % {
-    'data_lines': "\n".join(data_lines),
-    'record_lines': "\n".join(record_lines)
+    'data': ','.join(chunk for chunk in data_chunks if chunk) or '0',
+    'record_lines': "\n".join(record_lines),
+    'count': len(record_lines)
   }
 
   if new_content != old_content: